@@ -1,9 +1,24 @@
 package ru.practicum.explorewithme.config;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.RestTemplate;
+import ru.practicum.client.BufferedStatsClient;
+import ru.practicum.client.HitJournal;
+import ru.practicum.client.OverflowPolicy;
 import ru.practicum.client.StatsClient;
+import ru.practicum.client.StatsHttpTransport;
+import ru.practicum.client.WireFormat;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ThreadFactory;
 
 
 @Configuration
@@ -11,8 +26,85 @@ public class StatsClientConfig {
     @Value("${stats.server.url}")
     private String serverUrl;
 
+    @Value("${stats.client.buffered:false}")
+    private boolean buffered;
+
+    @Value("${stats.client.buffer-capacity:10000}")
+    private int bufferCapacity;
+
+    @Value("${stats.client.batch-size:100}")
+    private int batchSize;
+
+    @Value("${stats.client.flush-interval:1s}")
+    private Duration flushInterval;
+
+    @Value("${stats.client.overflow-policy:DROP_OLDEST}")
+    private OverflowPolicy overflowPolicy;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${stats.client.connect-timeout:2s}")
+    private Duration connectTimeout;
+
+    @Value("${stats.client.read-timeout:5s}")
+    private Duration readTimeout;
+
+    @Value("${stats.client.http-version:HTTP_2}")
+    private HttpClient.Version httpVersion;
+
+    @Value("${stats.client.wire-format:JSON}")
+    private WireFormat wireFormat;
+
+    @Value("${stats.client.journal.directory:}")
+    private String journalDirectory;
+
+    @Value("${stats.client.journal.segment-size:16MB}")
+    private DataSize journalSegmentSize;
+
+    @Value("${stats.client.journal.max-segments:8}")
+    private int journalMaxSegments;
+
     @Bean
     public StatsClient statsClient() {
-        return new StatsClient(serverUrl);
+        RestTemplate restTemplate = StatsHttpTransport.restTemplate(connectTimeout, readTimeout, httpVersion);
+        if (!buffered) {
+            return new StatsClient(serverUrl, restTemplate, wireFormat);
+        }
+        ThreadFactory senderThreads = virtualThreads
+                ? Thread.ofVirtual().name("stats-client-sender").factory()
+                : Thread.ofPlatform().name("stats-client-sender").daemon().factory();
+        HitJournal journal = journalDirectory.isBlank()
+                ? null
+                : new HitJournal(Path.of(journalDirectory), Math.toIntExact(journalSegmentSize.toBytes()),
+                        journalMaxSegments);
+        return new BufferedStatsClient(serverUrl, restTemplate, bufferCapacity, batchSize, flushInterval,
+                overflowPolicy, senderThreads, journal, wireFormat);
+    }
+
+    @Bean
+    public MeterBinder statsClientMetrics(StatsClient statsClient) {
+        return registry -> {
+            if (statsClient instanceof BufferedStatsClient client) {
+                FunctionCounter.builder("stats.client.hits.sent", client, BufferedStatsClient::getSentCount)
+                        .register(registry);
+                FunctionCounter.builder("stats.client.hits.failed", client, BufferedStatsClient::getFailedCount)
+                        .register(registry);
+                FunctionCounter.builder("stats.client.hits.rejected", client,
+                                BufferedStatsClient::getRejectedCount)
+                        .register(registry);
+                FunctionCounter.builder("stats.client.hits.dropped", client, BufferedStatsClient::getDroppedCount)
+                        .register(registry);
+                FunctionCounter.builder("stats.client.hits.spilled", client, BufferedStatsClient::getSpilledCount)
+                        .register(registry);
+                FunctionCounter.builder("stats.client.hits.journaled", client,
+                                BufferedStatsClient::getJournaledCount)
+                        .register(registry);
+                Gauge.builder("stats.client.queue.size", client, BufferedStatsClient::getQueueSize)
+                        .register(registry);
+                Gauge.builder("stats.client.journal.size", client, BufferedStatsClient::getJournalSize)
+                        .register(registry);
+            }
+        };
     }
 }
@@ -0,0 +1,43 @@
+package ru.practicum.explorewithme.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+public class TextSearchFunctionContributor implements FunctionContributor {
+    public static final String TEXT_MATCH = "text_match";
+
+    public static final String TEXT_RANK = "text_rank";
+
+    private static final String PG_QUERY = "to_tsquery('simple', replace(?3, ' ', ':* & ') || ':*')";
+
+    private static final String PG_MATCH = "(to_tsvector('simple', coalesce(?1, '') || ' ' || coalesce(?2, '')) @@ "
+            + PG_QUERY + ")";
+
+    private static final String PG_RANK = "ts_rank(setweight(to_tsvector('simple', coalesce(?1, '')), 'A') || "
+            + "setweight(to_tsvector('simple', coalesce(?2, '')), 'B'), " + PG_QUERY + ")";
+
+    private static final String LIKE_PATTERN = "('%' || replace(?3, ' ', '%') || '%')";
+
+    private static final String FALLBACK_MATCH = "(lower(coalesce(?1, '') || ' ' || coalesce(?2, '')) like "
+            + LIKE_PATTERN + ")";
+
+    private static final String FALLBACK_RANK = "(case when lower(coalesce(?1, '')) like " + LIKE_PATTERN
+            + " then 2.0 else 0.0 end + case when lower(coalesce(?2, '')) like " + LIKE_PATTERN
+            + " then 1.0 else 0.0 end)";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicTypeRegistry types = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+        boolean postgres = functionContributions.getDialect() instanceof PostgreSQLDialect;
+
+        functionContributions.getFunctionRegistry().registerPattern(TEXT_MATCH,
+                postgres ? PG_MATCH : FALLBACK_MATCH,
+                types.resolve(StandardBasicTypes.BOOLEAN));
+        functionContributions.getFunctionRegistry().registerPattern(TEXT_RANK,
+                postgres ? PG_RANK : FALLBACK_RANK,
+                types.resolve(StandardBasicTypes.DOUBLE));
+    }
+}
@@ -1,6 +1,8 @@
 package ru.practicum.explorewithme.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,6 +13,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.explorewithme.dto.CommentDto;
+import ru.practicum.explorewithme.dto.PageCursor;
 import ru.practicum.explorewithme.service.CommentService;
 
 import java.util.List;
@@ -36,7 +39,13 @@ public class AdminCommentController {
 
     @GetMapping("/pending")
     public List<CommentDto> getPendingComments(@RequestParam(defaultValue = "0") Integer from,
-                                               @RequestParam(defaultValue = "10") Integer size) {
-        return commentService.getPendingComments(from, size);
+                                               @RequestParam(defaultValue = "10") Integer size,
+                                               @RequestParam(required = false) String after,
+                                               HttpServletResponse response) {
+        Slice<CommentDto> comments = after == null
+                ? commentService.getPendingComments(from, size)
+                : commentService.getPendingCommentsAfter(PageCursor.decode(after), size);
+        return PageCursors.withNextCursor(comments,
+                comment -> PageCursor.of(comment.getCreatedOn(), comment.getId()), response);
     }
 }
\ No newline at end of file
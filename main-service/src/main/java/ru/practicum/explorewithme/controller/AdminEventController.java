@@ -1,7 +1,9 @@
 package ru.practicum.explorewithme.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -11,6 +13,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.explorewithme.dto.EventFullDto;
+import ru.practicum.explorewithme.dto.PageCursor;
 import ru.practicum.explorewithme.dto.UpdateEventAdminRequest;
 import ru.practicum.explorewithme.service.EventService;
 
@@ -31,9 +34,16 @@ public class AdminEventController {
             @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime rangeStart,
             @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime rangeEnd,
             @RequestParam(defaultValue = "0") Integer from,
-            @RequestParam(defaultValue = "10") Integer size) {
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String after,
+            HttpServletResponse response) {
 
-        return eventService.searchEvents(users, states, categories, rangeStart, rangeEnd, from, size);
+        Slice<EventFullDto> events = after == null
+                ? eventService.searchEvents(users, states, categories, rangeStart, rangeEnd, from, size)
+                : eventService.searchEventsAfter(users, states, categories, rangeStart, rangeEnd,
+                        PageCursor.decode(after), size);
+        return PageCursors.withNextCursor(events,
+                event -> PageCursor.of(event.getEventDate(), event.getId()), response);
     }
 
     @PatchMapping("/{eventId}")
@@ -1,7 +1,9 @@
 package ru.practicum.explorewithme.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,6 +14,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.explorewithme.dto.PageCursor;
 import ru.practicum.explorewithme.dto.UserDto;
 import ru.practicum.explorewithme.dto.NewUserRequest;
 import ru.practicum.explorewithme.service.UserService;
@@ -28,8 +31,13 @@ public class AdminUserController {
     public List<UserDto> getUsers(
             @RequestParam(required = false) List<Long> ids,
             @RequestParam(defaultValue = "0") Integer from,
-            @RequestParam(defaultValue = "10") Integer size) {
-        return userService.getUsers(ids, from, size);
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String after,
+            HttpServletResponse response) {
+        Slice<UserDto> users = after == null
+                ? userService.getUsers(ids, from, size)
+                : userService.getUsersAfter(ids, PageCursor.decode(after), size);
+        return PageCursors.withNextCursor(users, user -> PageCursor.of(user.getId()), response);
     }
 
     @PostMapping
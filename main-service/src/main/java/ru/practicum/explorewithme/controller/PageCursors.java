@@ -0,0 +1,24 @@
+package ru.practicum.explorewithme.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.data.domain.Slice;
+import ru.practicum.explorewithme.dto.PageCursor;
+
+import java.util.List;
+import java.util.function.Function;
+
+final class PageCursors {
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private PageCursors() {
+    }
+
+    // the slice has probed one row past the page, so the header is only sent when another page exists
+    static <T> List<T> withNextCursor(Slice<T> page, Function<T, PageCursor> cursorOf, HttpServletResponse response) {
+        if (page.hasNext() && page.hasContent()) {
+            List<T> content = page.getContent();
+            response.setHeader(NEXT_CURSOR_HEADER, cursorOf.apply(content.get(content.size() - 1)).encode());
+        }
+        return page.getContent();
+    }
+}
@@ -1,7 +1,9 @@
 package ru.practicum.explorewithme.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,6 +17,7 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.explorewithme.dto.CommentDto;
 import ru.practicum.explorewithme.dto.NewCommentDto;
+import ru.practicum.explorewithme.dto.PageCursor;
 import ru.practicum.explorewithme.dto.UpdateCommentRequest;
 import ru.practicum.explorewithme.service.CommentService;
 
@@ -50,7 +53,13 @@ public class PrivateCommentController {
     @GetMapping
     public List<CommentDto> getUserComments(@PathVariable Long userId,
                                             @RequestParam(defaultValue = "0") Integer from,
-                                            @RequestParam(defaultValue = "10") Integer size) {
-        return commentService.getUserComments(userId, from, size);
+                                            @RequestParam(defaultValue = "10") Integer size,
+                                            @RequestParam(required = false) String after,
+                                            HttpServletResponse response) {
+        Slice<CommentDto> comments = after == null
+                ? commentService.getUserComments(userId, from, size)
+                : commentService.getUserCommentsAfter(userId, PageCursor.decode(after), size);
+        return PageCursors.withNextCursor(comments,
+                comment -> PageCursor.of(comment.getCreatedOn(), comment.getId()), response);
     }
 }
\ No newline at end of file
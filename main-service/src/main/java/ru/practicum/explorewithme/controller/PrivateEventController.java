@@ -1,7 +1,9 @@
 package ru.practicum.explorewithme.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -17,6 +19,7 @@ import ru.practicum.explorewithme.dto.EventRequestStatusUpdateRequest;
 import ru.practicum.explorewithme.dto.EventRequestStatusUpdateResult;
 import ru.practicum.explorewithme.dto.EventShortDto;
 import ru.practicum.explorewithme.dto.NewEventDto;
+import ru.practicum.explorewithme.dto.PageCursor;
 import ru.practicum.explorewithme.dto.ParticipationRequestDto;
 import ru.practicum.explorewithme.dto.UpdateEventUserRequest;
 import ru.practicum.explorewithme.service.EventService;
@@ -36,8 +39,13 @@ public class PrivateEventController {
     public List<EventShortDto> getUserEvents(
             @PathVariable Long userId,
             @RequestParam(defaultValue = "0") Integer from,
-            @RequestParam(defaultValue = "10") Integer size) {
-        return eventService.getUserEvents(userId, from, size);
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String after,
+            HttpServletResponse response) {
+        Slice<EventShortDto> events = after == null
+                ? eventService.getUserEvents(userId, from, size)
+                : eventService.getUserEventsAfter(userId, PageCursor.decode(after), size);
+        return PageCursors.withNextCursor(events, event -> PageCursor.of(event.getId()), response);
     }
 
     @PostMapping
@@ -1,14 +1,17 @@
 package ru.practicum.explorewithme.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.explorewithme.dto.CategoryDto;
+import ru.practicum.explorewithme.dto.PageCursor;
 import ru.practicum.explorewithme.service.CategoryService;
 
 import java.util.List;
@@ -23,8 +26,13 @@ public class PublicCategoryController {
     @GetMapping
     public List<CategoryDto> getCategories(
             @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
-            @RequestParam(defaultValue = "10") @Positive Integer size) {
-        return categoryService.getCategories(from, size);
+            @RequestParam(defaultValue = "10") @Positive Integer size,
+            @RequestParam(required = false) String after,
+            HttpServletResponse response) {
+        Slice<CategoryDto> categories = after == null
+                ? categoryService.getCategories(from, size)
+                : categoryService.getCategoriesAfter(PageCursor.decode(after), size);
+        return PageCursors.withNextCursor(categories, category -> PageCursor.of(category.getId()), response);
     }
 
 
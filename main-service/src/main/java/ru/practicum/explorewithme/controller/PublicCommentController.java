@@ -1,12 +1,15 @@
 package ru.practicum.explorewithme.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.explorewithme.dto.CommentDto;
+import ru.practicum.explorewithme.dto.PageCursor;
 import ru.practicum.explorewithme.service.CommentService;
 
 import java.util.List;
@@ -21,8 +24,14 @@ public class PublicCommentController {
     @GetMapping
     public List<CommentDto> getEventComments(@PathVariable Long eventId,
                                              @RequestParam(defaultValue = "0") Integer from,
-                                             @RequestParam(defaultValue = "10") Integer size) {
-        return commentService.getEventComments(eventId, from, size);
+                                             @RequestParam(defaultValue = "10") Integer size,
+                                             @RequestParam(required = false) String after,
+                                             HttpServletResponse response) {
+        Slice<CommentDto> comments = after == null
+                ? commentService.getEventComments(eventId, from, size)
+                : commentService.getEventCommentsAfter(eventId, PageCursor.decode(after), size);
+        return PageCursors.withNextCursor(comments,
+                comment -> PageCursor.of(comment.getCreatedOn(), comment.getId()), response);
     }
 
     @GetMapping("/{commentId}")
@@ -1,32 +1,34 @@
 package ru.practicum.explorewithme.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import ru.practicum.explorewithme.dto.CompilationDto;
+import ru.practicum.explorewithme.service.CompilationJsonCache;
 import ru.practicum.explorewithme.service.CompilationService;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/compilations")
 @RequiredArgsConstructor
 public class PublicCompilationController {
     private final CompilationService compilationService;
 
-    @GetMapping
-    public List<CompilationDto> getCompilations(
+    private final CompilationJsonCache compilationJsonCache;
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public byte[] getCompilations(
             @RequestParam(required = false) Boolean pinned,
             @RequestParam(defaultValue = "0") Integer from,
             @RequestParam(defaultValue = "10") Integer size) {
-        return compilationService.getCompilations(pinned, from, size);
+        return compilationJsonCache.getPage(pinned, from, size,
+                () -> compilationService.getCompilations(pinned, from, size));
     }
 
-    @GetMapping("/{compId}")
-    public CompilationDto getCompilation(@PathVariable Long compId) {
-        return compilationService.getCompilation(compId);
+    @GetMapping(path = "/{compId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public byte[] getCompilation(@PathVariable Long compId) {
+        return compilationJsonCache.get(compId, () -> compilationService.getCompilation(compId));
     }
 }
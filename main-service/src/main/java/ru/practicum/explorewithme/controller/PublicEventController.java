@@ -1,7 +1,9 @@
 package ru.practicum.explorewithme.controller;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -10,10 +12,12 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.explorewithme.dto.EventFullDto;
 import ru.practicum.explorewithme.dto.EventShortDto;
+import ru.practicum.explorewithme.dto.PageCursor;
 import ru.practicum.explorewithme.service.EventService;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/events")
@@ -32,10 +36,22 @@ public class PublicEventController {
             @RequestParam(required = false) String sort,
             @RequestParam(defaultValue = "0") Integer from,
             @RequestParam(defaultValue = "10") Integer size,
-            HttpServletRequest request) {
+            @RequestParam(required = false) String after,
+            HttpServletRequest request,
+            HttpServletResponse response) {
 
-        return eventService.searchPublishedEvents(text, categories, paid, rangeStart, rangeEnd,
-                onlyAvailable, sort, from, size, request);
+        Slice<EventShortDto> events = after == null
+                ? eventService.searchPublishedEvents(text, categories, paid, rangeStart, rangeEnd,
+                        onlyAvailable, sort, from, size, request)
+                : eventService.searchPublishedEventsAfter(text, categories, paid, rangeStart, rangeEnd,
+                        onlyAvailable, sort, PageCursor.decode(after), size, request);
+        if ("VIEWS".equalsIgnoreCase(sort) || "RELEVANCE".equalsIgnoreCase(sort)) {
+            return events.getContent();
+        }
+        Function<EventShortDto, PageCursor> cursorOf = "EVENT_DATE".equalsIgnoreCase(sort)
+                ? event -> PageCursor.of(event.getEventDate(), event.getId())
+                : event -> PageCursor.of(event.getId());
+        return PageCursors.withNextCursor(events, cursorOf, response);
     }
 
     @GetMapping("/{id}")
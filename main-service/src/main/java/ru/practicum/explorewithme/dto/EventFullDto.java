@@ -3,6 +3,7 @@ package ru.practicum.explorewithme.dto;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import jakarta.validation.constraints.Min;
 import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import ru.practicum.explorewithme.model.Location;
@@ -10,6 +11,7 @@ import ru.practicum.explorewithme.model.Location;
 import java.time.LocalDateTime;
 
 @Data
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class EventFullDto {
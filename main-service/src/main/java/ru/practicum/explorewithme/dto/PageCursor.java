@@ -0,0 +1,47 @@
+package ru.practicum.explorewithme.dto;
+
+import ru.practicum.explorewithme.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+public record PageCursor(String key, Long id) {
+    private static final char SEPARATOR = '|';
+
+    public static PageCursor of(Long id) {
+        return new PageCursor(null, id);
+    }
+
+    public static PageCursor of(LocalDateTime key, Long id) {
+        return new PageCursor(key.toString(), id);
+    }
+
+    public static PageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            String key = separator < 0 ? null : raw.substring(0, separator);
+            return new PageCursor(key, Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid page cursor: " + token);
+        }
+    }
+
+    public String encode() {
+        String raw = key == null ? String.valueOf(id) : key + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime dateKey() {
+        if (key == null) {
+            throw new ValidationException("Page cursor does not match the requested sort");
+        }
+        try {
+            return LocalDateTime.parse(key);
+        } catch (DateTimeParseException e) {
+            throw new ValidationException("Page cursor does not match the requested sort");
+        }
+    }
+}
@@ -53,9 +53,7 @@ public class CompilationMapper {
         dto.setPinned(compilation.getPinned());
 
         if (compilation.getEvents() != null) {
-            dto.setEvents(compilation.getEvents().stream()
-                    .map(eventMapper::toEventShortDto)
-                    .collect(Collectors.toList()));
+            dto.setEvents(eventMapper.toEventShortDtos(compilation.getEvents()));
         }
 
         return dto;
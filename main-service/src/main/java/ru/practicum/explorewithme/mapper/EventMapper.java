@@ -1,6 +1,7 @@
 package ru.practicum.explorewithme.mapper;
 
 import org.springframework.stereotype.Component;
+import ru.practicum.explorewithme.dto.CategoryDto;
 import ru.practicum.explorewithme.dto.EventFullDto;
 import ru.practicum.explorewithme.dto.EventShortDto;
 import ru.practicum.explorewithme.dto.NewEventDto;
@@ -8,10 +9,17 @@ import ru.practicum.explorewithme.dto.UpdateEventAdminRequest;
 import ru.practicum.explorewithme.dto.UpdateEventUserRequest;
 import ru.practicum.explorewithme.exception.ConflictException;
 import ru.practicum.explorewithme.exception.ValidationException;
+import ru.practicum.explorewithme.model.Category;
 import ru.practicum.explorewithme.model.Event;
 import ru.practicum.explorewithme.model.EventState;
+import ru.practicum.explorewithme.service.CategoryRegistry;
+import ru.practicum.explorewithme.service.EventViewsProvider;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Component
 public class EventMapper {
@@ -20,20 +28,52 @@ public class EventMapper {
 
     private final UserMapper userMapper;
 
-    public EventMapper(CategoryMapper categoryMapper, UserMapper userMapper) {
+    private final CategoryRegistry categoryRegistry;
+
+    private final EventViewsProvider eventViewsProvider;
+
+    public EventMapper(CategoryMapper categoryMapper, UserMapper userMapper, CategoryRegistry categoryRegistry,
+                       EventViewsProvider eventViewsProvider) {
         this.categoryMapper = categoryMapper;
         this.userMapper = userMapper;
+        this.categoryRegistry = categoryRegistry;
+        this.eventViewsProvider = eventViewsProvider;
     }
 
     public EventFullDto toEventFullDto(Event event) {
         if (event == null) {
             return null;
         }
+        return toEventFullDto(event, getViews(List.of(event)));
+    }
+
+    public List<EventFullDto> toEventFullDtos(Collection<Event> events) {
+        Map<Long, Long> views = getViews(events);
+        return events.stream()
+                .map(event -> toEventFullDto(event, views))
+                .collect(Collectors.toList());
+    }
+
+    public EventShortDto toEventShortDto(Event event) {
+        if (event == null) {
+            return null;
+        }
+        return toEventShortDto(event, getViews(List.of(event)));
+    }
+
+    public List<EventShortDto> toEventShortDtos(Collection<Event> events) {
+        Map<Long, Long> views = getViews(events);
+        return events.stream()
+                .map(event -> toEventShortDto(event, views))
+                .collect(Collectors.toList());
+    }
+
+    private EventFullDto toEventFullDto(Event event, Map<Long, Long> views) {
 
         EventFullDto dto = new EventFullDto();
         dto.setId(event.getId());
         dto.setAnnotation(event.getAnnotation() != null ? event.getAnnotation() : "");
-        dto.setCategory(categoryMapper.toCategoryDto(event.getCategory()));
+        dto.setCategory(toCategoryDto(event.getCategory()));
         dto.setConfirmedRequests(event.getConfirmedRequests() != null ? event.getConfirmedRequests() : 0);
         dto.setCreatedOn(event.getCreatedOn());
         dto.setDescription(event.getDescription() != null ? event.getDescription() : "");
@@ -46,26 +86,22 @@ public class EventMapper {
         dto.setRequestModeration(event.getRequestModeration() != null ? event.getRequestModeration() : true);
         dto.setState(event.getState() != null ? event.getState().name() : "PENDING");
         dto.setTitle(event.getTitle() != null ? event.getTitle() : "");
-        dto.setViews(event.getViews() != null ? event.getViews() : 0L);
+        dto.setViews(getViews(event, views));
 
         return dto;
     }
 
-    public EventShortDto toEventShortDto(Event event) {
-        if (event == null) {
-            return null;
-        }
-
+    private EventShortDto toEventShortDto(Event event, Map<Long, Long> views) {
         EventShortDto dto = new EventShortDto();
         dto.setId(event.getId());
         dto.setAnnotation(event.getAnnotation() != null ? event.getAnnotation() : "");
-        dto.setCategory(categoryMapper.toCategoryDto(event.getCategory()));
+        dto.setCategory(toCategoryDto(event.getCategory()));
         dto.setConfirmedRequests(event.getConfirmedRequests() != null ? event.getConfirmedRequests() : 0);
         dto.setEventDate(event.getEventDate());
         dto.setInitiator(userMapper.toUserShortDto(event.getInitiator()));
         dto.setPaid(event.getPaid() != null ? event.getPaid() : false);
         dto.setTitle(event.getTitle() != null ? event.getTitle() : "");
-        dto.setViews(event.getViews() != null ? event.getViews() : 0L);
+        dto.setViews(getViews(event, views));
 
         return dto;
     }
@@ -203,4 +239,26 @@ public class EventMapper {
             }
         }
     }
-}
\ No newline at end of file
+
+    // only published events are visited, so only they are looked up in stats-service
+    private Map<Long, Long> getViews(Collection<Event> events) {
+        List<Long> published = events.stream()
+                .filter(event -> event.getState() == EventState.PUBLISHED && event.getId() != null)
+                .map(Event::getId)
+                .toList();
+        return published.isEmpty() ? Map.of() : eventViewsProvider.getViews(published);
+    }
+
+    private static long getViews(Event event, Map<Long, Long> views) {
+        Long stats = views.get(event.getId());
+        if (stats != null) {
+            return stats;
+        }
+        return event.getViews() != null ? event.getViews() : 0L;
+    }
+
+    private CategoryDto toCategoryDto(Category category) {
+        return categoryRegistry.find(category.getId())
+                .orElseGet(() -> categoryMapper.toCategoryDto(category));
+    }
+}
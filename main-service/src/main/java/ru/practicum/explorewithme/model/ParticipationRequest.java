@@ -8,6 +8,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -24,7 +25,10 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "participation_requests",
-        uniqueConstraints = @UniqueConstraint(columnNames = {"event_id", "requester_id"}))
+        uniqueConstraints = @UniqueConstraint(columnNames = {"event_id", "requester_id"}),
+        indexes = {
+                @Index(name = "ix_requests_event_id_status", columnList = "event_id, status"),
+                @Index(name = "ix_requests_requester_id", columnList = "requester_id")})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -1,24 +1,49 @@
 package ru.practicum.explorewithme.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.explorewithme.model.Comment;
 import ru.practicum.explorewithme.model.CommentStatus;
 
-import java.util.List;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findAllByEventIdAndStatus(Long eventId, CommentStatus status, Pageable pageable);
+    Slice<Comment> findAllByEventIdAndStatus(Long eventId, CommentStatus status, Pageable pageable);
 
-    List<Comment> findAllByAuthorId(Long userId, Pageable pageable);
+    Slice<Comment> findAllByAuthorId(Long userId, Pageable pageable);
 
     Optional<Comment> findByIdAndAuthorId(Long commentId, Long userId);
 
     boolean existsByIdAndAuthorId(Long commentId, Long userId);
 
     @Query("SELECT c FROM Comment c WHERE c.status = 'PENDING'")
-    Page<Comment> findPendingComments(Pageable pageable);
+    Slice<Comment> findPendingComments(Pageable pageable);
+
+    @Query("SELECT c FROM Comment c WHERE c.event.id = :eventId AND c.status = :status " +
+            "AND (c.createdOn < :createdOn OR (c.createdOn = :createdOn AND c.id < :id)) " +
+            "ORDER BY c.createdOn DESC, c.id DESC")
+    Slice<Comment> findEventCommentsAfter(@Param("eventId") Long eventId,
+                                          @Param("status") CommentStatus status,
+                                          @Param("createdOn") LocalDateTime createdOn,
+                                          @Param("id") Long id,
+                                          Pageable pageable);
+
+    @Query("SELECT c FROM Comment c WHERE c.author.id = :userId " +
+            "AND (c.createdOn < :createdOn OR (c.createdOn = :createdOn AND c.id < :id)) " +
+            "ORDER BY c.createdOn DESC, c.id DESC")
+    Slice<Comment> findUserCommentsAfter(@Param("userId") Long userId,
+                                         @Param("createdOn") LocalDateTime createdOn,
+                                         @Param("id") Long id,
+                                         Pageable pageable);
+
+    @Query("SELECT c FROM Comment c WHERE c.status = 'PENDING' " +
+            "AND (c.createdOn > :createdOn OR (c.createdOn = :createdOn AND c.id > :id)) " +
+            "ORDER BY c.createdOn, c.id")
+    Slice<Comment> findPendingCommentsAfter(@Param("createdOn") LocalDateTime createdOn,
+                                            @Param("id") Long id,
+                                            Pageable pageable);
 }
\ No newline at end of file
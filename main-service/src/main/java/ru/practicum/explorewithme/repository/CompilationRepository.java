@@ -2,10 +2,26 @@ package ru.practicum.explorewithme.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.explorewithme.model.Compilation;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CompilationRepository extends JpaRepository<Compilation, Long> {
     List<Compilation> findAllByPinned(Boolean pinned, Pageable pageable);
+
+    @Query("SELECT c.id FROM Compilation c ORDER BY c.id")
+    List<Long> findPageIds(Pageable pageable);
+
+    @Query("SELECT c.id FROM Compilation c WHERE c.pinned = :pinned ORDER BY c.id")
+    List<Long> findPageIdsByPinned(@Param("pinned") Boolean pinned, Pageable pageable);
+
+    @Query("SELECT DISTINCT c FROM Compilation c " +
+            "LEFT JOIN FETCH c.events e " +
+            "LEFT JOIN FETCH e.category " +
+            "LEFT JOIN FETCH e.initiator " +
+            "WHERE c.id IN :ids")
+    List<Compilation> findAllWithEventsByIdIn(@Param("ids") Collection<Long> ids);
 }
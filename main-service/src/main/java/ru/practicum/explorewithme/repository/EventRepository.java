@@ -1,9 +1,9 @@
 package ru.practicum.explorewithme.repository;
 
-import jakarta.transaction.Transactional;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,33 +14,47 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
-public interface EventRepository extends JpaRepository<Event, Long> {
-    @Modifying
-    @Query("UPDATE Event e SET e.views = COALESCE(e.views, 0) + 1 WHERE e.id = :id")
-    @Transactional
-    void incrementViews(@Param("id") Long id);
+public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event>,
+        EventViewsRepository, EventSearchRepository {
+    Slice<Event> findAllByInitiatorId(Long userId, Pageable pageable);
 
-    List<Event> findAllByInitiatorId(Long userId, Pageable pageable);
+    Slice<Event> findAllByInitiatorIdAndIdLessThan(Long userId, Long id, Pageable pageable);
 
     Optional<Event> findByIdAndInitiatorId(Long eventId, Long userId);
 
     boolean existsByCategoryId(Long categoryId);
 
-    Page<Event> findByState(EventState state, Pageable pageable);
-
-    Page<Event> findByStateAndCategoryIdIn(EventState state, List<Long> categoryIds, Pageable pageable);
-
     boolean existsByIdAndInitiatorId(Long eventId, Long userId);
 
     @Query("SELECT e FROM Event e LEFT JOIN FETCH e.category LEFT JOIN FETCH e.initiator WHERE e.id = :id")
     Optional<Event> findByIdWithCategoryAndInitiator(@Param("id") Long id);
 
+    @Query("SELECT e FROM Event e LEFT JOIN FETCH e.category LEFT JOIN FETCH e.initiator " +
+            "WHERE e.id = :id AND e.state = 'PUBLISHED'")
+    Optional<Event> findPublishedById(@Param("id") Long id);
+
+    @Query("SELECT e.id FROM Event e WHERE e.state = 'PUBLISHED' AND e.id > :afterId ORDER BY e.id")
+    List<Long> findPublishedIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Event e SET e.confirmedRequests = COALESCE(e.confirmedRequests, 0) + :delta WHERE e.id = :id")
+    int addConfirmedRequests(@Param("id") Long id, @Param("delta") int delta);
+
+    @Modifying
+    @Query("UPDATE Event e SET e.confirmedRequests = COALESCE(e.confirmedRequests, 0) + :seats " +
+            "WHERE e.id = :id AND (e.participantLimit = 0 " +
+            "OR COALESCE(e.confirmedRequests, 0) + :seats <= e.participantLimit)")
+    int reserveSeats(@Param("id") Long id, @Param("seats") int seats);
+
+    @Query("SELECT e.participantLimit - COALESCE(e.confirmedRequests, 0) FROM Event e WHERE e.id = :id")
+    int findAvailableSeats(@Param("id") Long id);
+
     @Query("SELECT e FROM Event e " +
             "WHERE (:userIds IS NULL OR e.initiator.id IN :userIds) " +
             "AND (:states IS NULL OR e.state IN :states) " +
             "AND (:categoryIds IS NULL OR e.category.id IN :categoryIds) " +
             "AND e.eventDate BETWEEN COALESCE(:rangeStart, e.eventDate) AND COALESCE(:rangeEnd, e.eventDate)")
-    Page<Event> findByInitiatorIdInAndStateInAndCategoryIdInAndEventDateBetween(
+    Slice<Event> findByInitiatorIdInAndStateInAndCategoryIdInAndEventDateBetween(
             @Param("userIds") List<Long> userIds,
             @Param("states") List<EventState> states,
             @Param("categoryIds") List<Long> categoryIds,
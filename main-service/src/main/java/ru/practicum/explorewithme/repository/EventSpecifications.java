@@ -0,0 +1,122 @@
+package ru.practicum.explorewithme.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.explorewithme.config.TextSearchFunctionContributor;
+import ru.practicum.explorewithme.model.Event;
+import ru.practicum.explorewithme.model.EventState;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public final class EventSpecifications {
+    private static final char LIKE_ESCAPE = '\\';
+
+    private EventSpecifications() {
+    }
+
+    public static Specification<Event> hasState(EventState state) {
+        return (root, query, cb) -> cb.equal(root.get("state"), state);
+    }
+
+    public static Specification<Event> initiatorIn(List<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return null;
+        }
+        return (root, query, cb) -> root.get("initiator").get("id").in(userIds);
+    }
+
+    public static Specification<Event> stateIn(List<EventState> states) {
+        if (states == null || states.isEmpty()) {
+            return null;
+        }
+        return (root, query, cb) -> root.get("state").in(states);
+    }
+
+    public static Specification<Event> textContains(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        String pattern = "%" + escapeLike(text.toLowerCase()) + "%";
+        return (root, query, cb) -> cb.or(
+                cb.like(cb.lower(root.get("annotation")), pattern, LIKE_ESCAPE),
+                cb.like(cb.lower(root.get("description")), pattern, LIKE_ESCAPE));
+    }
+
+    public static Specification<Event> textMatches(String searchQuery) {
+        return (root, query, cb) -> cb.isTrue(cb.function(TextSearchFunctionContributor.TEXT_MATCH, Boolean.class,
+                root.get("annotation"), root.get("description"), cb.literal(searchQuery)));
+    }
+
+    public static Specification<Event> orderByRelevance(String searchQuery) {
+        return (root, query, cb) -> {
+            if (query.getResultType() != Long.class) {
+                query.orderBy(
+                        cb.desc(cb.function(TextSearchFunctionContributor.TEXT_RANK, Double.class,
+                                root.get("annotation"), root.get("description"), cb.literal(searchQuery))),
+                        cb.asc(root.get("id")));
+            }
+            return null;
+        };
+    }
+
+    public static String toSearchQuery(String text) {
+        if (text == null) {
+            return "";
+        }
+        return Arrays.stream(text.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .collect(Collectors.joining(" "));
+    }
+
+    public static Specification<Event> categoryIn(List<Long> categoryIds) {
+        if (categoryIds == null || categoryIds.isEmpty()) {
+            return null;
+        }
+        return (root, query, cb) -> root.get("category").get("id").in(categoryIds);
+    }
+
+    public static Specification<Event> isPaid(Boolean paid) {
+        if (paid == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("paid"), paid);
+    }
+
+    public static Specification<Event> eventDateFrom(LocalDateTime rangeStart) {
+        if (rangeStart == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("eventDate"), rangeStart);
+    }
+
+    public static Specification<Event> eventDateTo(LocalDateTime rangeEnd) {
+        if (rangeEnd == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("eventDate"), rangeEnd);
+    }
+
+    public static Specification<Event> hasAvailableSlots() {
+        return (root, query, cb) -> cb.or(
+                cb.equal(root.get("participantLimit"), 0),
+                cb.lessThan(cb.coalesce(root.get("confirmedRequests"), 0), root.get("participantLimit")));
+    }
+
+    public static Specification<Event> afterId(Long id) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), id);
+    }
+
+    public static Specification<Event> afterEventDate(LocalDateTime eventDate, Long id) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("eventDate"), eventDate),
+                cb.and(cb.equal(root.get("eventDate"), eventDate), cb.greaterThan(root.get("id"), id)));
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
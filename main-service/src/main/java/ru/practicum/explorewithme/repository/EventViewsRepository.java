@@ -0,0 +1,9 @@
+package ru.practicum.explorewithme.repository;
+
+import java.util.Map;
+
+public interface EventViewsRepository {
+    void addViews(Map<Long, Long> viewsByEventId);
+
+    void setViews(Map<Long, Long> viewsByEventId);
+}
@@ -0,0 +1,36 @@
+package ru.practicum.explorewithme.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class EventViewsRepositoryImpl implements EventViewsRepository {
+    private static final String ADD_VIEWS_SQL = "UPDATE events SET views = COALESCE(views, 0) + ? WHERE id = ?";
+
+    private static final String SET_VIEWS_SQL = "UPDATE events SET views = ? WHERE id = ?";
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void addViews(Map<Long, Long> viewsByEventId) {
+        update(ADD_VIEWS_SQL, viewsByEventId);
+    }
+
+    @Override
+    public void setViews(Map<Long, Long> viewsByEventId) {
+        update(SET_VIEWS_SQL, viewsByEventId);
+    }
+
+    private void update(String sql, Map<Long, Long> viewsByEventId) {
+        jdbcTemplate.batchUpdate(sql, new ArrayList<>(viewsByEventId.entrySet()), BATCH_SIZE,
+                (ps, entry) -> {
+                    ps.setLong(1, entry.getValue());
+                    ps.setLong(2, entry.getKey());
+                });
+    }
+}
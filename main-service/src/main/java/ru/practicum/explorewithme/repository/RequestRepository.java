@@ -1,8 +1,6 @@
 package ru.practicum.explorewithme.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 import ru.practicum.explorewithme.model.ParticipationRequest;
 
 import java.util.List;
@@ -15,11 +13,7 @@ public interface RequestRepository extends JpaRepository<ParticipationRequest, L
 
     List<ParticipationRequest> findAllByIdIn(List<Long> requestIds);
 
-    @Query("SELECT COUNT(r) FROM ParticipationRequest r " +
-            "WHERE r.event.id = :eventId AND r.status = 'CONFIRMED'")
-    Long countConfirmedRequestsByEventId(@Param("eventId") Long eventId);
-
     boolean existsByRequesterIdAndEventId(Long userId, Long eventId);
 
     Optional<ParticipationRequest> findByIdAndRequesterId(Long requestId, Long userId);
-}
\ No newline at end of file
+}
@@ -1,6 +1,7 @@
 package ru.practicum.explorewithme.repository;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.explorewithme.model.User;
 
@@ -9,5 +10,11 @@ import java.util.List;
 public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
 
-    List<User> findAllByIdIn(List<Long> ids, Pageable pageable);
+    Slice<User> findAllBy(Pageable pageable);
+
+    Slice<User> findAllByIdIn(List<Long> ids, Pageable pageable);
+
+    Slice<User> findAllByIdGreaterThan(Long id, Pageable pageable);
+
+    Slice<User> findAllByIdInAndIdGreaterThan(List<Long> ids, Long id, Pageable pageable);
 }
\ No newline at end of file
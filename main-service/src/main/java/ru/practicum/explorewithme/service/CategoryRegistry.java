@@ -0,0 +1,121 @@
+package ru.practicum.explorewithme.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.explorewithme.dto.CategoryDto;
+import ru.practicum.explorewithme.model.Category;
+import ru.practicum.explorewithme.repository.CategoryRepository;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Component
+@RequiredArgsConstructor
+public class CategoryRegistry {
+    private final CategoryRepository categoryRepository;
+
+    // a monitor held across the JDBC call would pin the carrier of a virtual thread
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile NavigableMap<Long, String> categories;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${category-registry.refresh-interval:PT5M}",
+            initialDelayString = "${category-registry.refresh-interval:PT5M}")
+    public void reload() {
+        lock.lock();
+        try {
+            NavigableMap<Long, String> loaded = new TreeMap<>();
+            for (Category category : categoryRepository.findAll()) {
+                loaded.put(category.getId(), category.getName());
+            }
+            categories = Collections.unmodifiableNavigableMap(loaded);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Optional<CategoryDto> find(Long categoryId) {
+        String name = snapshot().get(categoryId);
+        return name == null ? Optional.empty() : Optional.of(new CategoryDto(categoryId, name));
+    }
+
+    public boolean contains(Long categoryId) {
+        return snapshot().containsKey(categoryId);
+    }
+
+    public Slice<CategoryDto> getPage(int from, int size) {
+        return toSlice(snapshot().descendingMap().entrySet().stream().skip((long) from / size * size),
+                PageRequest.of(from / size, size));
+    }
+
+    public Slice<CategoryDto> getPageAfter(Long afterId, int size) {
+        return toSlice(snapshot().headMap(afterId, false).descendingMap().entrySet().stream(),
+                PageRequest.of(0, size));
+    }
+
+    public void put(Long categoryId, String name) {
+        afterCommit(map -> map.put(categoryId, name));
+    }
+
+    public void remove(Long categoryId) {
+        afterCommit(map -> map.remove(categoryId));
+    }
+
+    private Slice<CategoryDto> toSlice(Stream<Map.Entry<Long, String>> entries, Pageable pageable) {
+        List<CategoryDto> page = entries
+                .limit(pageable.getPageSize() + 1L)
+                .map(entry -> new CategoryDto(entry.getKey(), entry.getValue()))
+                .toList();
+        boolean hasNext = page.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? page.subList(0, pageable.getPageSize()) : page, pageable, hasNext);
+    }
+
+    private NavigableMap<Long, String> snapshot() {
+        NavigableMap<Long, String> current = categories;
+        if (current == null) {
+            reload();
+            current = categories;
+        }
+        return current;
+    }
+
+    private void afterCommit(Consumer<NavigableMap<Long, String>> change) {
+        Runnable update = () -> {
+            lock.lock();
+            try {
+                NavigableMap<Long, String> copy = new TreeMap<>(snapshot());
+                change.accept(copy);
+                categories = Collections.unmodifiableNavigableMap(copy);
+            } finally {
+                lock.unlock();
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+}
@@ -1,8 +1,9 @@
 package ru.practicum.explorewithme.service;
 
+import org.springframework.data.domain.Slice;
 import ru.practicum.explorewithme.dto.CategoryDto;
 import ru.practicum.explorewithme.dto.NewCategoryDto;
-import java.util.List;
+import ru.practicum.explorewithme.dto.PageCursor;
 
 public interface CategoryService {
     CategoryDto addCategory(NewCategoryDto newCategoryDto);
@@ -11,7 +12,9 @@ public interface CategoryService {
 
     CategoryDto updateCategory(Long catId, CategoryDto categoryDto);
 
-    List<CategoryDto> getCategories(Integer from, Integer size);
+    Slice<CategoryDto> getCategories(Integer from, Integer size);
+
+    Slice<CategoryDto> getCategoriesAfter(PageCursor after, Integer size);
 
     CategoryDto getCategory(Long catId);
 }
@@ -1,12 +1,13 @@
 package ru.practicum.explorewithme.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.explorewithme.dto.CategoryDto;
 import ru.practicum.explorewithme.dto.NewCategoryDto;
+import ru.practicum.explorewithme.dto.PageCursor;
 import ru.practicum.explorewithme.exception.ConflictException;
 import ru.practicum.explorewithme.exception.NotFoundException;
 import ru.practicum.explorewithme.mapper.CategoryMapper;
@@ -14,8 +15,6 @@ import ru.practicum.explorewithme.model.Category;
 import ru.practicum.explorewithme.repository.CategoryRepository;
 import ru.practicum.explorewithme.repository.EventRepository;
 
-import java.util.List;
-
 @Service
 @RequiredArgsConstructor
 @Transactional
@@ -26,6 +25,12 @@ public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryMapper categoryMapper;
 
+    private final EventDetailsCache eventDetailsCache;
+
+    private final CompilationJsonCache compilationJsonCache;
+
+    private final CategoryRegistry categoryRegistry;
+
 
     @Override
     @Transactional(rollbackFor = {ConflictException.class})
@@ -33,8 +38,9 @@ public class CategoryServiceImpl implements CategoryService {
         if (categoryRepository.existsByName(newCategoryDto.getName())) {
             throw new ConflictException("Category name must be unique");
         }
-        Category category = categoryMapper.toCategory(newCategoryDto);
-        return categoryMapper.toCategoryDto(categoryRepository.save(category));
+        Category category = categoryRepository.save(categoryMapper.toCategory(newCategoryDto));
+        categoryRegistry.put(category.getId(), category.getName());
+        return categoryMapper.toCategoryDto(category);
     }
 
     @Override
@@ -44,6 +50,7 @@ public class CategoryServiceImpl implements CategoryService {
             throw new ConflictException("The category is not empty");
         }
         categoryRepository.deleteById(catId);
+        categoryRegistry.remove(catId);
     }
 
     @Override
@@ -57,23 +64,29 @@ public class CategoryServiceImpl implements CategoryService {
         }
 
         category.setName(categoryDto.getName());
-        return categoryMapper.toCategoryDto(categoryRepository.save(category));
+        Category savedCategory = categoryRepository.save(category);
+        eventDetailsCache.invalidateCategory(catId);
+        compilationJsonCache.invalidateAll();
+        categoryRegistry.put(catId, savedCategory.getName());
+        return categoryMapper.toCategoryDto(savedCategory);
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     @Override
-    public List<CategoryDto> getCategories(Integer from, Integer size) {
-        PageRequest pageRequest = PageRequest.of(from / size, size, Sort.by("id").descending());
-        return categoryRepository.findAll(pageRequest)
-                .map(categoryMapper::toCategoryDto)
-                .getContent();
+    public Slice<CategoryDto> getCategories(Integer from, Integer size) {
+        return categoryRegistry.getPage(from, size);
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
+    @Override
+    public Slice<CategoryDto> getCategoriesAfter(PageCursor after, Integer size) {
+        return categoryRegistry.getPageAfter(after.id(), size);
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
     @Override
     public CategoryDto getCategory(Long catId) {
-        Category category = categoryRepository.findById(catId)
+        return categoryRegistry.find(catId)
                 .orElseThrow(() -> new NotFoundException("Category not found"));
-        return categoryMapper.toCategoryDto(category);
     }
 }
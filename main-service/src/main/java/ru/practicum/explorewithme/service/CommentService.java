@@ -1,11 +1,11 @@
 package ru.practicum.explorewithme.service;
 
+import org.springframework.data.domain.Slice;
 import ru.practicum.explorewithme.dto.CommentDto;
 import ru.practicum.explorewithme.dto.NewCommentDto;
+import ru.practicum.explorewithme.dto.PageCursor;
 import ru.practicum.explorewithme.dto.UpdateCommentRequest;
 
-import java.util.List;
-
 public interface CommentService {
     CommentDto addComment(Long userId, NewCommentDto newCommentDto);
 
@@ -13,9 +13,13 @@ public interface CommentService {
 
     void deleteComment(Long userId, Long commentId);
 
-    List<CommentDto> getUserComments(Long userId, Integer from, Integer size);
+    Slice<CommentDto> getUserComments(Long userId, Integer from, Integer size);
+
+    Slice<CommentDto> getUserCommentsAfter(Long userId, PageCursor after, Integer size);
 
-    List<CommentDto> getEventComments(Long eventId, Integer from, Integer size);
+    Slice<CommentDto> getEventComments(Long eventId, Integer from, Integer size);
+
+    Slice<CommentDto> getEventCommentsAfter(Long eventId, PageCursor after, Integer size);
 
     CommentDto getComment(Long commentId);
 
@@ -23,5 +27,7 @@ public interface CommentService {
 
     CommentDto moderateComment(Long commentId, Boolean approve);
 
-    List<CommentDto> getPendingComments(Integer from, Integer size);
+    Slice<CommentDto> getPendingComments(Integer from, Integer size);
+
+    Slice<CommentDto> getPendingCommentsAfter(PageCursor after, Integer size);
 }
\ No newline at end of file
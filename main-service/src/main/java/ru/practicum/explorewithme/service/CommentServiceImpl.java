@@ -2,11 +2,13 @@ package ru.practicum.explorewithme.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.explorewithme.dto.CommentDto;
 import ru.practicum.explorewithme.dto.NewCommentDto;
+import ru.practicum.explorewithme.dto.PageCursor;
 import ru.practicum.explorewithme.dto.UpdateCommentRequest;
 import ru.practicum.explorewithme.exception.ConflictException;
 import ru.practicum.explorewithme.exception.NotFoundException;
@@ -21,8 +23,6 @@ import ru.practicum.explorewithme.repository.EventRepository;
 import ru.practicum.explorewithme.repository.UserRepository;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -90,7 +90,7 @@ public class CommentServiceImpl implements CommentService {
     }
 
     @Override
-    public List<CommentDto> getUserComments(Long userId, Integer from, Integer size) {
+    public Slice<CommentDto> getUserComments(Long userId, Integer from, Integer size) {
         if (!userRepository.existsById(userId)) {
             throw new NotFoundException("User with id=" + userId + " was not found");
         }
@@ -100,13 +100,21 @@ public class CommentServiceImpl implements CommentService {
                 size,
                 Sort.by("createdOn").descending()
         );
-        return commentRepository.findAllByAuthorId(userId, pageRequest).stream()
-                .map(commentMapper::toCommentDto)
-                .collect(Collectors.toList());
+        return commentRepository.findAllByAuthorId(userId, pageRequest).map(commentMapper::toCommentDto);
     }
 
     @Override
-    public List<CommentDto> getEventComments(Long eventId, Integer from, Integer size) {
+    public Slice<CommentDto> getUserCommentsAfter(Long userId, PageCursor after, Integer size) {
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException("User with id=" + userId + " was not found");
+        }
+
+        return commentRepository.findUserCommentsAfter(userId, after.dateKey(), after.id(), PageRequest.of(0, size))
+                .map(commentMapper::toCommentDto);
+    }
+
+    @Override
+    public Slice<CommentDto> getEventComments(Long eventId, Integer from, Integer size) {
         if (!eventRepository.existsById(eventId)) {
             throw new NotFoundException("Event with id=" + eventId + " was not found");
         }
@@ -116,9 +124,19 @@ public class CommentServiceImpl implements CommentService {
                 size,
                 Sort.by("createdOn").descending()
         );
-        return commentRepository.findAllByEventIdAndStatus(eventId, CommentStatus.PUBLISHED, pageRequest).stream()
-                .map(commentMapper::toCommentDto)
-                .collect(Collectors.toList());
+        return commentRepository.findAllByEventIdAndStatus(eventId, CommentStatus.PUBLISHED, pageRequest)
+                .map(commentMapper::toCommentDto);
+    }
+
+    @Override
+    public Slice<CommentDto> getEventCommentsAfter(Long eventId, PageCursor after, Integer size) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new NotFoundException("Event with id=" + eventId + " was not found");
+        }
+
+        return commentRepository.findEventCommentsAfter(eventId, CommentStatus.PUBLISHED, after.dateKey(), after.id(),
+                        PageRequest.of(0, size))
+                .map(commentMapper::toCommentDto);
     }
 
     @Override
@@ -162,14 +180,18 @@ public class CommentServiceImpl implements CommentService {
     }
 
     @Override
-    public List<CommentDto> getPendingComments(Integer from, Integer size) {
+    public Slice<CommentDto> getPendingComments(Integer from, Integer size) {
         PageRequest pageRequest = PageRequest.of(
                 from / size,
                 size,
                 Sort.by("createdOn").ascending()
         );
-        return commentRepository.findPendingComments(pageRequest).stream()
-                .map(commentMapper::toCommentDto)
-                .collect(Collectors.toList());
+        return commentRepository.findPendingComments(pageRequest).map(commentMapper::toCommentDto);
+    }
+
+    @Override
+    public Slice<CommentDto> getPendingCommentsAfter(PageCursor after, Integer size) {
+        return commentRepository.findPendingCommentsAfter(after.dateKey(), after.id(), PageRequest.of(0, size))
+                .map(commentMapper::toCommentDto);
     }
 }
\ No newline at end of file
@@ -0,0 +1,168 @@
+package ru.practicum.explorewithme.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.explorewithme.dto.CompilationDto;
+import ru.practicum.explorewithme.dto.EventShortDto;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Component
+public class CompilationJsonCache implements MeterBinder {
+    private final ObjectMapper objectMapper;
+
+    private final Cache<Long, Entry> compilations;
+
+    private final Cache<PageKey, List<Long>> pages;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    public CompilationJsonCache(ObjectMapper objectMapper,
+                                @Value("${compilation-cache.maximum-size:1000}") long maximumSize,
+                                @Value("${compilation-cache.expire-after-write:1m}") Duration expireAfterWrite) {
+        this.objectMapper = objectMapper;
+        this.compilations = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    public byte[] get(Long compId, Supplier<CompilationDto> loader) {
+        Entry entry = compilations.getIfPresent(compId);
+        if (entry != null) {
+            return entry.json();
+        }
+        long loadedAt = generation.get();
+        entry = toEntry(loader.get());
+        if (generation.get() == loadedAt) {
+            compilations.put(compId, entry);
+        }
+        return entry.json();
+    }
+
+    public byte[] getPage(Boolean pinned, int from, int size, Supplier<List<CompilationDto>> loader) {
+        PageKey key = new PageKey(pinned, from, size);
+        List<Long> ids = pages.getIfPresent(key);
+        if (ids != null) {
+            List<byte[]> parts = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                Entry entry = compilations.getIfPresent(id);
+                if (entry == null) {
+                    parts = null;
+                    break;
+                }
+                parts.add(entry.json());
+            }
+            if (parts != null) {
+                return toJsonArray(parts);
+            }
+        }
+
+        long loadedAt = generation.get();
+        List<CompilationDto> dtos = loader.get();
+        List<Entry> entries = dtos.stream().map(this::toEntry).toList();
+        if (generation.get() == loadedAt) {
+            for (int i = 0; i < dtos.size(); i++) {
+                compilations.put(dtos.get(i).getId(), entries.get(i));
+            }
+            pages.put(key, dtos.stream().map(CompilationDto::getId).toList());
+        }
+        return toJsonArray(entries.stream().map(Entry::json).toList());
+    }
+
+    public void invalidate(Long compId) {
+        runNowAndAfterCommit(() -> {
+            generation.incrementAndGet();
+            compilations.invalidate(compId);
+            pages.invalidateAll();
+        });
+    }
+
+    public void invalidateEvent(Long eventId) {
+        runNowAndAfterCommit(() -> {
+            generation.incrementAndGet();
+            compilations.asMap().values().removeIf(entry -> entry.eventIds().contains(eventId));
+        });
+    }
+
+    public void invalidateAll() {
+        runNowAndAfterCommit(() -> {
+            generation.incrementAndGet();
+            compilations.invalidateAll();
+            pages.invalidateAll();
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, compilations, "compilation.json");
+    }
+
+    private Entry toEntry(CompilationDto dto) {
+        Set<Long> eventIds = dto.getEvents() == null ? Set.of() : dto.getEvents().stream()
+                .map(EventShortDto::getId)
+                .collect(Collectors.toUnmodifiableSet());
+        try {
+            return new Entry(objectMapper.writeValueAsBytes(dto), eventIds);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize compilation with id=" + dto.getId(), e);
+        }
+    }
+
+    private static byte[] toJsonArray(List<byte[]> parts) {
+        int length = 2 + Math.max(0, parts.size() - 1);
+        for (byte[] part : parts) {
+            length += part.length;
+        }
+        byte[] json = new byte[length];
+        int position = 0;
+        json[position++] = '[';
+        for (byte[] part : parts) {
+            if (position > 1) {
+                json[position++] = ',';
+            }
+            System.arraycopy(part, 0, json, position, part.length);
+            position += part.length;
+        }
+        json[position] = ']';
+        return json;
+    }
+
+    private static void runNowAndAfterCommit(Runnable action) {
+        action.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+
+    private record Entry(byte[] json, Set<Long> eventIds) {
+    }
+
+    private record PageKey(Boolean pinned, int from, int size) {
+    }
+}
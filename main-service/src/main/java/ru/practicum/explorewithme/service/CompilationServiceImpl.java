@@ -16,7 +16,10 @@ import ru.practicum.explorewithme.repository.EventRepository;
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,6 +32,8 @@ public class CompilationServiceImpl implements CompilationService {
 
     private final CompilationMapper compilationMapper;
 
+    private final CompilationJsonCache compilationJsonCache;
+
     @Override
     @Transactional
     public CompilationDto addCompilation(NewCompilationDto newCompilationDto) {
@@ -39,7 +44,9 @@ public class CompilationServiceImpl implements CompilationService {
             compilation.setEvents(events);
         }
 
-        return compilationMapper.toCompilationDto(compilationRepository.save(compilation));
+        Compilation savedCompilation = compilationRepository.save(compilation);
+        compilationJsonCache.invalidate(savedCompilation.getId());
+        return toCompilationDtos(List.of(savedCompilation)).get(0);
     }
 
     @Override
@@ -49,6 +56,7 @@ public class CompilationServiceImpl implements CompilationService {
             throw new NotFoundException("Compilation with id=" + compId + " was not found");
         }
         compilationRepository.deleteById(compId);
+        compilationJsonCache.invalidate(compId);
     }
 
     @Override
@@ -64,25 +72,45 @@ public class CompilationServiceImpl implements CompilationService {
             compilation.setEvents(events);
         }
 
-        return compilationMapper.toCompilationDto(compilationRepository.save(compilation));
+        Compilation savedCompilation = compilationRepository.save(compilation);
+        compilationJsonCache.invalidate(compId);
+        return toCompilationDtos(List.of(savedCompilation)).get(0);
     }
 
     @Override
     public List<CompilationDto> getCompilations(Boolean pinned, Integer from, Integer size) {
-        if (pinned == null) {
-            return compilationRepository.findAll(PageRequest.of(from / size, size)).stream()
-                    .map(compilationMapper::toCompilationDto)
-                    .collect(Collectors.toList());
-        } else {
-            return compilationRepository.findAllByPinned(pinned, PageRequest.of(from / size, size)).stream()
-                    .map(compilationMapper::toCompilationDto)
-                    .collect(Collectors.toList());
-        }
+        PageRequest pageRequest = PageRequest.of(from / size, size);
+        List<Long> ids = pinned == null
+                ? compilationRepository.findPageIds(pageRequest)
+                : compilationRepository.findPageIdsByPinned(pinned, pageRequest);
+        return toCompilationDtos(findAllWithEvents(ids));
     }
 
     @Override
     public CompilationDto getCompilation(Long compId) {
-        return compilationMapper.toCompilationDto(compilationRepository.findById(compId)
-                .orElseThrow(() -> new NotFoundException("Compilation with id=" + compId + " was not found")));
+        List<Compilation> compilations = findAllWithEvents(List.of(compId));
+        if (compilations.isEmpty()) {
+            throw new NotFoundException("Compilation with id=" + compId + " was not found");
+        }
+        return toCompilationDtos(compilations).get(0);
+    }
+
+    private List<Compilation> findAllWithEvents(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Compilation> compilations = compilationRepository.findAllWithEventsByIdIn(ids).stream()
+                .collect(Collectors.toMap(Compilation::getId, Function.identity()));
+        return ids.stream()
+                .map(compilations::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    // event views come from stats-service through the mapper, which already counts every recorded visit
+    private List<CompilationDto> toCompilationDtos(List<Compilation> compilations) {
+        return compilations.stream()
+                .map(compilationMapper::toCompilationDto)
+                .collect(Collectors.toList());
     }
 }
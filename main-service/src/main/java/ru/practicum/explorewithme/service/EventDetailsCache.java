@@ -0,0 +1,86 @@
+package ru.practicum.explorewithme.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.explorewithme.dto.EventFullDto;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+@Component
+public class EventDetailsCache implements MeterBinder {
+    private final AsyncCache<Long, Entry> cache;
+
+    public EventDetailsCache(@Value("${event-cache.maximum-size:10000}") long maximumSize,
+                             @Value("${event-cache.expire-after-write:5m}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .buildAsync();
+    }
+
+    // the loader runs outside Caffeine's compute so a virtual thread waiting on JDBC does not pin its carrier,
+    // concurrent callers for the same event wait on the pending future instead of loading it again
+    public Entry get(Long eventId, Function<Long, Entry> loader) {
+        CompletableFuture<Entry> created = new CompletableFuture<>();
+        CompletableFuture<Entry> future = cache.get(eventId, (key, executor) -> created);
+        if (future == created) {
+            try {
+                created.complete(loader.apply(eventId));
+            } catch (RuntimeException e) {
+                created.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public void invalidate(Long eventId) {
+        cache.synchronous().invalidate(eventId);
+        afterCommit(() -> cache.synchronous().invalidate(eventId));
+    }
+
+    public void invalidateCategory(Long categoryId) {
+        Runnable invalidation = () -> cache.synchronous().asMap().values()
+                .removeIf(entry -> entry.event().getCategory() != null
+                        && categoryId.equals(entry.event().getCategory().getId()));
+        invalidation.run();
+        afterCommit(invalidation);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "event.details");
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+
+    public record Entry(EventFullDto event, long recordedViews) {
+    }
+}
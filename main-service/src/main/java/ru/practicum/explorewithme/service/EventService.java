@@ -1,9 +1,11 @@
 package ru.practicum.explorewithme.service;
 
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.data.domain.Slice;
 import ru.practicum.explorewithme.dto.EventFullDto;
 import ru.practicum.explorewithme.dto.EventShortDto;
 import ru.practicum.explorewithme.dto.NewEventDto;
+import ru.practicum.explorewithme.dto.PageCursor;
 import ru.practicum.explorewithme.dto.UpdateEventAdminRequest;
 import ru.practicum.explorewithme.dto.UpdateEventUserRequest;
 
@@ -13,21 +15,32 @@ import java.util.List;
 public interface EventService {
     EventFullDto addEvent(Long userId, NewEventDto newEventDto);
 
-    List<EventShortDto> getUserEvents(Long userId, Integer from, Integer size);
+    Slice<EventShortDto> getUserEvents(Long userId, Integer from, Integer size);
+
+    Slice<EventShortDto> getUserEventsAfter(Long userId, PageCursor after, Integer size);
 
     EventFullDto getUserEvent(Long userId, Long eventId);
 
     EventFullDto updateEventByUser(Long userId, Long eventId, UpdateEventUserRequest updateEventUserRequest);
 
-    List<EventFullDto> searchEvents(List<Long> users, List<String> states, List<Long> categories,
-                                    LocalDateTime rangeStart, LocalDateTime rangeEnd, Integer from, Integer size);
+    Slice<EventFullDto> searchEvents(List<Long> users, List<String> states, List<Long> categories,
+                                     LocalDateTime rangeStart, LocalDateTime rangeEnd, Integer from, Integer size);
+
+    Slice<EventFullDto> searchEventsAfter(List<Long> users, List<String> states, List<Long> categories,
+                                          LocalDateTime rangeStart, LocalDateTime rangeEnd, PageCursor after,
+                                          Integer size);
 
     EventFullDto updateEventByAdmin(Long eventId, UpdateEventAdminRequest updateEventAdminRequest);
 
-    List<EventShortDto> searchPublishedEvents(String text, List<Long> categories, Boolean paid,
-                                              LocalDateTime rangeStart, LocalDateTime rangeEnd,
-                                              Boolean onlyAvailable, String sort, Integer from, Integer size,
-                                              HttpServletRequest request);
+    Slice<EventShortDto> searchPublishedEvents(String text, List<Long> categories, Boolean paid,
+                                               LocalDateTime rangeStart, LocalDateTime rangeEnd,
+                                               Boolean onlyAvailable, String sort, Integer from, Integer size,
+                                               HttpServletRequest request);
+
+    Slice<EventShortDto> searchPublishedEventsAfter(String text, List<Long> categories, Boolean paid,
+                                                    LocalDateTime rangeStart, LocalDateTime rangeEnd,
+                                                    Boolean onlyAvailable, String sort, PageCursor after,
+                                                    Integer size, HttpServletRequest request);
 
     EventFullDto getPublishedEvent(Long id, HttpServletRequest request);
 }
\ No newline at end of file
@@ -2,17 +2,21 @@ package ru.practicum.explorewithme.service;
 
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.client.StatsClient;
 import ru.practicum.dto.EndpointHit;
 import ru.practicum.explorewithme.dto.EventFullDto;
 import ru.practicum.explorewithme.dto.EventShortDto;
 import ru.practicum.explorewithme.dto.NewEventDto;
+import ru.practicum.explorewithme.dto.PageCursor;
 import ru.practicum.explorewithme.dto.UpdateEventAdminRequest;
 import ru.practicum.explorewithme.dto.UpdateEventUserRequest;
 import ru.practicum.explorewithme.exception.ConflictException;
@@ -25,17 +29,14 @@ import ru.practicum.explorewithme.model.EventState;
 import ru.practicum.explorewithme.model.User;
 import ru.practicum.explorewithme.repository.CategoryRepository;
 import ru.practicum.explorewithme.repository.EventRepository;
-import ru.practicum.explorewithme.repository.RequestRepository;
+import ru.practicum.explorewithme.repository.EventSpecifications;
 import ru.practicum.explorewithme.repository.UserRepository;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
@@ -46,15 +47,23 @@ public class EventServiceImpl implements EventService {
 
     private final CategoryRepository categoryRepository;
 
-    private final RequestRepository requestRepository;
-
     private final EventMapper eventMapper;
 
     private final StatsClient statsClient;
 
-    private static final String APP_NAME = "explore-with-me";
+    private final UniqueViewTracker uniqueViewTracker;
+
+    private final ViewCounter viewCounter;
+
+    private final EventViewsProvider eventViewsProvider;
+
+    private final EventDetailsCache eventDetailsCache;
+
+    private final CompilationJsonCache compilationJsonCache;
 
-    private final Map<Long, Set<String>> viewedIps = new ConcurrentHashMap<>();
+    private final CategoryRegistry categoryRegistry;
+
+    private static final String APP_NAME = "explore-with-me";
 
     @Override
     @Transactional
@@ -64,8 +73,7 @@ public class EventServiceImpl implements EventService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("User with id=" + userId + " was not found"));
 
-        Category category = categoryRepository.findById(newEventDto.getCategory())
-                .orElseThrow(() -> new NotFoundException("Category with id=" + newEventDto.getCategory() + " was not found"));
+        Category category = getCategoryReference(newEventDto.getCategory());
 
         Event event = eventMapper.toEvent(newEventDto);
         event.setCategory(category);
@@ -80,15 +88,24 @@ public class EventServiceImpl implements EventService {
     }
 
     @Override
-    public List<EventShortDto> getUserEvents(Long userId, Integer from, Integer size) {
+    public Slice<EventShortDto> getUserEvents(Long userId, Integer from, Integer size) {
         if (!userRepository.existsById(userId)) {
             throw new NotFoundException("User with id=" + userId + " was not found");
         }
 
         PageRequest pageRequest = PageRequest.of(from / size, size, Sort.by("id").descending());
-        return eventRepository.findAllByInitiatorId(userId, pageRequest).stream()
-                .map(eventMapper::toEventShortDto)
-                .collect(Collectors.toList());
+        return toEventShortDtos(eventRepository.findAllByInitiatorId(userId, pageRequest));
+    }
+
+    @Override
+    public Slice<EventShortDto> getUserEventsAfter(Long userId, PageCursor after, Integer size) {
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException("User with id=" + userId + " was not found");
+        }
+
+        PageRequest pageRequest = PageRequest.of(0, size, Sort.by("id").descending());
+        return toEventShortDtos(
+                eventRepository.findAllByInitiatorIdAndIdLessThan(userId, after.id(), pageRequest));
     }
 
     @Override
@@ -116,35 +133,49 @@ public class EventServiceImpl implements EventService {
         eventMapper.updateEventFromUserRequest(updateEventUserRequest, event);
 
         if (updateEventUserRequest.getCategory() != null) {
-            Category category = categoryRepository.findById(updateEventUserRequest.getCategory())
-                    .orElseThrow(() -> new NotFoundException("Category with id=" + updateEventUserRequest.getCategory() + " was not found"));
-            event.setCategory(category);
+            event.setCategory(getCategoryReference(updateEventUserRequest.getCategory()));
         }
 
         Event updatedEvent = eventRepository.save(event);
+        eventDetailsCache.invalidate(eventId);
+        compilationJsonCache.invalidateEvent(eventId);
         return eventMapper.toEventFullDto(updatedEvent);
     }
 
     @Override
-    public List<EventFullDto> searchEvents(List<Long> users, List<String> states, List<Long> categories,
-                                           LocalDateTime rangeStart, LocalDateTime rangeEnd, Integer from, Integer size) {
+    public Slice<EventFullDto> searchEvents(List<Long> users, List<String> states, List<Long> categories,
+                                            LocalDateTime rangeStart, LocalDateTime rangeEnd, Integer from, Integer size) {
         try {
             List<EventState> eventStates = parseEventStates(states);
 
             PageRequest pageRequest = PageRequest.of(from / size, size, Sort.by("eventDate").descending());
 
-            Page<Event> eventPage = eventRepository.findByInitiatorIdInAndStateInAndCategoryIdInAndEventDateBetween(
+            Slice<Event> events = eventRepository.findByInitiatorIdInAndStateInAndCategoryIdInAndEventDateBetween(
                     users, eventStates, categories, rangeStart, rangeEnd, pageRequest);
 
-            return eventPage.getContent().stream()
-                    .map(eventMapper::toEventFullDto)
-                    .collect(Collectors.toList());
+            return toEventFullDtos(events);
 
         } catch (IllegalArgumentException e) {
             throw new ValidationException("Invalid state value");
         }
     }
 
+    @Override
+    public Slice<EventFullDto> searchEventsAfter(List<Long> users, List<String> states, List<Long> categories,
+                                                 LocalDateTime rangeStart, LocalDateTime rangeEnd, PageCursor after,
+                                                 Integer size) {
+        Specification<Event> spec = Specification.where(EventSpecifications.initiatorIn(users))
+                .and(EventSpecifications.stateIn(parseEventStates(states)))
+                .and(EventSpecifications.categoryIn(categories))
+                .and(EventSpecifications.eventDateFrom(rangeStart))
+                .and(EventSpecifications.eventDateTo(rangeEnd))
+                .and(EventSpecifications.afterEventDate(after.dateKey(), after.id()));
+
+        Slice<Event> events = findEvents(spec, Sort.by("eventDate").descending().and(Sort.by("id")), size);
+
+        return toEventFullDtos(events);
+    }
+
     @Override
     @Transactional
     public EventFullDto updateEventByAdmin(Long eventId, UpdateEventAdminRequest updateEventAdminRequest) {
@@ -158,88 +189,147 @@ public class EventServiceImpl implements EventService {
         eventMapper.updateEventFromAdminRequest(updateEventAdminRequest, event);
 
         if (updateEventAdminRequest.getCategory() != null) {
-            Category category = categoryRepository.findById(updateEventAdminRequest.getCategory())
-                    .orElseThrow(() -> new NotFoundException("Category with id=" + updateEventAdminRequest.getCategory() + " was not found"));
-            event.setCategory(category);
+            event.setCategory(getCategoryReference(updateEventAdminRequest.getCategory()));
         }
 
         Event updatedEvent = eventRepository.save(event);
+        eventDetailsCache.invalidate(eventId);
+        compilationJsonCache.invalidateEvent(eventId);
         return eventMapper.toEventFullDto(updatedEvent);
     }
 
     @Override
-    public List<EventShortDto> searchPublishedEvents(String text, List<Long> categories, Boolean paid,
-                                                     LocalDateTime rangeStart, LocalDateTime rangeEnd,
-                                                     Boolean onlyAvailable, String sort, Integer from, Integer size,
-                                                     HttpServletRequest request) {
+    public Slice<EventShortDto> searchPublishedEvents(String text, List<Long> categories, Boolean paid,
+                                                      LocalDateTime rangeStart, LocalDateTime rangeEnd,
+                                                      Boolean onlyAvailable, String sort, Integer from, Integer size,
+                                                      HttpServletRequest request) {
 
         validateDateRange(rangeStart, rangeEnd);
 
         if (from == null) from = 0;
         if (size == null) size = 10;
 
-        PageRequest pageRequest = PageRequest.of(from / size, size, getSort(sort));
+        String searchQuery = EventSpecifications.toSearchQuery(text);
+        boolean byRelevance = "RELEVANCE".equalsIgnoreCase(sort) && !searchQuery.isEmpty();
+
+        Specification<Event> spec = publishedEventsSpec(text, categories, paid, rangeStart, rangeEnd, onlyAvailable);
+        spec = byRelevance
+                ? spec.and(EventSpecifications.textMatches(searchQuery))
+                        .and(EventSpecifications.orderByRelevance(searchQuery))
+                : spec.and(EventSpecifications.textContains(text));
 
-        Page<Event> eventPage;
-        if (categories != null && !categories.isEmpty()) {
-            eventPage = eventRepository.findByStateAndCategoryIdIn(EventState.PUBLISHED, categories, pageRequest);
+        Slice<Event> events;
+        if ("VIEWS".equalsIgnoreCase(sort)) {
+            events = findPageByViews(spec, from, size);
         } else {
-            eventPage = eventRepository.findByState(EventState.PUBLISHED, pageRequest);
+            PageRequest pageRequest = PageRequest.of(from / size, size, byRelevance ? Sort.unsorted() : getSort(sort));
+            events = eventRepository.findSlice(spec, pageRequest);
         }
 
-        List<Event> events = eventPage.getContent();
+        sendStats(request);
 
-        if (text != null && !text.isEmpty()) {
-            events = filterByText(events, text);
-        }
-        if (paid != null) {
-            events = filterByPaid(events, paid);
-        }
-        if (rangeStart != null) {
-            events = filterByStartDate(events, rangeStart);
-        }
-        if (rangeEnd != null) {
-            events = filterByEndDate(events, rangeEnd);
-        }
-        if (Boolean.TRUE.equals(onlyAvailable)) {
-            events = filterByAvailability(events);
+        return toEventShortDtos(events);
+    }
+
+    @Override
+    public Slice<EventShortDto> searchPublishedEventsAfter(String text, List<Long> categories, Boolean paid,
+                                                           LocalDateTime rangeStart, LocalDateTime rangeEnd,
+                                                           Boolean onlyAvailable, String sort, PageCursor after,
+                                                           Integer size, HttpServletRequest request) {
+
+        validateDateRange(rangeStart, rangeEnd);
+
+        Specification<Event> spec = publishedEventsSpec(text, categories, paid, rangeStart, rangeEnd, onlyAvailable)
+                .and(EventSpecifications.textContains(text));
+        if ("VIEWS".equalsIgnoreCase(sort) || "RELEVANCE".equalsIgnoreCase(sort)) {
+            throw new ValidationException("Cursor pagination is not supported for sort " + sort);
         }
+        spec = spec.and("EVENT_DATE".equalsIgnoreCase(sort)
+                ? EventSpecifications.afterEventDate(after.dateKey(), after.id())
+                : EventSpecifications.afterId(after.id()));
+
+        Slice<Event> events = findEvents(spec, getSort(sort), size);
 
         sendStats(request);
 
-        return events.stream()
-                .map(eventMapper::toEventShortDto)
-                .collect(Collectors.toList());
+        return toEventShortDtos(events);
     }
 
-
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public EventFullDto getPublishedEvent(Long id, HttpServletRequest request) {
-        Event event = eventRepository.findByIdWithCategoryAndInitiator(id)
-                .filter(e -> e.getState() == EventState.PUBLISHED)
-                .orElseThrow(() -> new NotFoundException("Event with id=" + id + " was not found"));
+        EventDetailsCache.Entry entry = eventDetailsCache.get(id, this::loadPublishedEvent);
 
-        String ip = request.getRemoteAddr();
-
-        viewedIps.putIfAbsent(id, ConcurrentHashMap.newKeySet());
-        Set<String> ips = viewedIps.get(id);
-
-        if (ips.add(ip)) {
-            eventRepository.incrementViews(id);
+        if (uniqueViewTracker.registerView(id, request.getRemoteAddr())) {
+            viewCounter.increment(id);
         }
 
         sendStats(request);
 
-        Event updatedEvent = eventRepository.findByIdWithCategoryAndInitiator(id)
+        EventFullDto cached = entry.event();
+        long localViews = cached.getViews() + viewCounter.getRecordedViews(id) - entry.recordedViews();
+        return cached.toBuilder()
+                .views(eventViewsProvider.getViews(List.of(id)).getOrDefault(id, localViews))
+                .build();
+    }
+
+    // the cached views come from the local counter and only back the response while stats-service is unreachable
+    private EventDetailsCache.Entry loadPublishedEvent(Long id) {
+        Event event = eventRepository.findPublishedById(id)
                 .orElseThrow(() -> new NotFoundException("Event with id=" + id + " was not found"));
 
-        updateConfirmedRequests(updatedEvent);
-        return eventMapper.toEventFullDto(updatedEvent);
+        EventFullDto dto = eventMapper.toEventFullDto(event);
+        long recordedViews = viewCounter.getRecordedViews(id);
+        dto.setViews(viewCounter.withPendingViews(id, event.getViews()));
+        return new EventDetailsCache.Entry(dto, recordedViews);
+    }
+
+    // the views column is kept close to stats-service by ViewsReconciler, so the ranking is one indexed page query
+    // and stats-service is only asked about the events on that page
+    private Slice<Event> findPageByViews(Specification<Event> spec, int from, int size) {
+        Sort byViews = Sort.by("views").descending().and(Sort.by("id"));
+        return eventRepository.findSlice(spec, PageRequest.of(from / size, size, byViews));
+    }
+
+    private Specification<Event> publishedEventsSpec(String text, List<Long> categories, Boolean paid,
+                                                     LocalDateTime rangeStart, LocalDateTime rangeEnd,
+                                                     Boolean onlyAvailable) {
+        Specification<Event> spec = Specification.where(EventSpecifications.hasState(EventState.PUBLISHED))
+                .and(EventSpecifications.categoryIn(categories))
+                .and(EventSpecifications.isPaid(paid))
+                .and(EventSpecifications.eventDateFrom(rangeStart))
+                .and(EventSpecifications.eventDateTo(rangeEnd));
+        if (Boolean.TRUE.equals(onlyAvailable)) {
+            spec = spec.and(EventSpecifications.hasAvailableSlots());
+        }
+        return spec;
+    }
+
+    private Slice<Event> findEvents(Specification<Event> spec, Sort sort, int limit) {
+        return eventRepository.findSlice(spec, PageRequest.of(0, limit, sort));
     }
 
+    // the mapper asks stats-service about the whole page at once, so the content is mapped in one call
+    private Slice<EventShortDto> toEventShortDtos(Slice<Event> events) {
+        return new SliceImpl<>(eventMapper.toEventShortDtos(events.getContent()), events.getPageable(),
+                events.hasNext());
+    }
 
+    private Slice<EventFullDto> toEventFullDtos(Slice<Event> events) {
+        return new SliceImpl<>(eventMapper.toEventFullDtos(events.getContent()), events.getPageable(),
+                events.hasNext());
+    }
 
+    // the registry may lag behind a category added on another instance, so a miss is checked in the database
+    private Category getCategoryReference(Long categoryId) {
+        if (categoryRegistry.contains(categoryId)) {
+            return categoryRepository.getReferenceById(categoryId);
+        }
+        Category category = categoryRepository.findById(categoryId)
+                .orElseThrow(() -> new NotFoundException("Category with id=" + categoryId + " was not found"));
+        categoryRegistry.put(category.getId(), category.getName());
+        return category;
+    }
 
     private void validateEventDate(LocalDateTime eventDate, int hours) {
         if (eventDate.isBefore(LocalDateTime.now().plusHours(hours))) {
@@ -263,83 +353,6 @@ public class EventServiceImpl implements EventService {
                 .collect(Collectors.toList());
     }
 
-    private Page<Event> getFilteredEvents(List<Long> categories, Pageable pageable) {
-        if (categories != null && !categories.isEmpty()) {
-            return eventRepository.findByStateAndCategoryIdIn(EventState.PUBLISHED, categories, pageable);
-        } else {
-            return eventRepository.findByState(EventState.PUBLISHED, pageable);
-        }
-    }
-
-    private List<Event> applyAdditionalFilters(List<Event> events, String text, Boolean paid,
-                                               LocalDateTime rangeStart, LocalDateTime rangeEnd,
-                                               Boolean onlyAvailable) {
-        List<Event> filteredEvents = new ArrayList<>(events);
-
-        if (text != null && !text.isEmpty()) {
-            filteredEvents = filterByText(filteredEvents, text);
-        }
-
-        if (paid != null) {
-            filteredEvents = filterByPaid(filteredEvents, paid);
-        }
-
-        if (rangeStart != null) {
-            filteredEvents = filterByStartDate(filteredEvents, rangeStart);
-        }
-
-        if (rangeEnd != null) {
-            filteredEvents = filterByEndDate(filteredEvents, rangeEnd);
-        }
-
-        if (Boolean.TRUE.equals(onlyAvailable)) {
-            filteredEvents = filterByAvailability(filteredEvents);
-        }
-
-        return filteredEvents;
-    }
-
-    private List<Event> filterByText(List<Event> events, String text) {
-        String searchText = text.toLowerCase();
-        return events.stream()
-                .filter(event -> (event.getAnnotation() != null && event.getAnnotation().toLowerCase().contains(searchText)) ||
-                        (event.getDescription() != null && event.getDescription().toLowerCase().contains(searchText)))
-                .collect(Collectors.toList());
-    }
-
-    private List<Event> filterByPaid(List<Event> events, Boolean paid) {
-        return events.stream()
-                .filter(event -> event.getPaid().equals(paid))
-                .collect(Collectors.toList());
-    }
-
-    private List<Event> filterByStartDate(List<Event> events, LocalDateTime rangeStart) {
-        return events.stream()
-                .filter(event -> event.getEventDate() != null && !event.getEventDate().isBefore(rangeStart))
-                .collect(Collectors.toList());
-    }
-
-    private List<Event> filterByEndDate(List<Event> events, LocalDateTime rangeEnd) {
-        return events.stream()
-                .filter(event -> event.getEventDate() != null && !event.getEventDate().isAfter(rangeEnd))
-                .collect(Collectors.toList());
-    }
-
-    private List<Event> filterByAvailability(List<Event> events) {
-        return events.stream()
-                .filter(event -> {
-                    Long confirmedCount = requestRepository.countConfirmedRequestsByEventId(event.getId());
-                    int confirmed = confirmedCount != null ? confirmedCount.intValue() : 0;
-                    return event.getParticipantLimit() == 0 || confirmed < event.getParticipantLimit();
-                })
-                .collect(Collectors.toList());
-    }
-
-    private void updateConfirmedRequests(Event event) {
-        Long confirmedCount = requestRepository.countConfirmedRequestsByEventId(event.getId());
-        event.setConfirmedRequests(confirmedCount != null ? confirmedCount.intValue() : 0);
-    }
-
     private void validateDateRange(LocalDateTime rangeStart, LocalDateTime rangeEnd) {
         if (rangeStart != null && rangeEnd != null && rangeStart.isAfter(rangeEnd)) {
             throw new ValidationException("Start date must be before end date");
@@ -348,15 +361,13 @@ public class EventServiceImpl implements EventService {
 
     private Sort getSort(String sort) {
         if (sort == null) {
-            return Sort.unsorted();
+            return Sort.by("id");
         }
         switch (sort.toUpperCase()) {
             case "EVENT_DATE":
-                return Sort.by("eventDate").descending();
-            case "VIEWS":
-                return Sort.by("views").descending();
+                return Sort.by("eventDate").descending().and(Sort.by("id"));
             default:
-                return Sort.unsorted();
+                return Sort.by("id");
         }
     }
 
@@ -371,7 +382,7 @@ public class EventServiceImpl implements EventService {
 
             statsClient.addHit(endpointHit);
         } catch (Exception e) {
-            System.err.println("Failed to send stats: " + e.getMessage());
+            log.warn("Failed to send stats: {}", e.getMessage());
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,173 @@
+package ru.practicum.explorewithme.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.stereotype.Component;
+import ru.practicum.client.StatsClient;
+import ru.practicum.dto.ViewStats;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+@Component
+public class EventViewsProvider {
+    private static final LocalDateTime STATS_START = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    private static final String EVENT_URI_PREFIX = "/events/";
+
+    private static final int BATCH_SIZE = 200;
+
+    private final StatsClient statsClient;
+
+    private final Executor refreshExecutor;
+
+    private final Duration expireAfterWrite;
+
+    private final Duration refreshAfterWrite;
+
+    private final Duration failureBackoff;
+
+    private final Clock clock;
+
+    private final Cache<Long, Views> cache;
+
+    private final Set<Long> refreshing = ConcurrentHashMap.newKeySet();
+
+    private volatile Instant unavailableUntil = Instant.MIN;
+
+    @Autowired
+    public EventViewsProvider(StatsClient statsClient,
+                              @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                              Executor refreshExecutor,
+                              @Value("${views-cache.maximum-size:100000}") long maximumSize,
+                              @Value("${views-cache.expire-after-write:30s}") Duration expireAfterWrite,
+                              @Value("${views-cache.refresh-after-write:10s}") Duration refreshAfterWrite,
+                              @Value("${views-cache.failure-backoff:5s}") Duration failureBackoff) {
+        this(statsClient, refreshExecutor, maximumSize, expireAfterWrite, refreshAfterWrite, failureBackoff,
+                Clock.systemUTC());
+    }
+
+    EventViewsProvider(StatsClient statsClient, Executor refreshExecutor, long maximumSize,
+                       Duration expireAfterWrite, Duration refreshAfterWrite, Duration failureBackoff, Clock clock) {
+        this.statsClient = statsClient;
+        this.refreshExecutor = refreshExecutor;
+        this.expireAfterWrite = expireAfterWrite;
+        this.refreshAfterWrite = refreshAfterWrite;
+        this.failureBackoff = failureBackoff;
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    // ids stats-service could not be asked about are absent from the result, callers fall back to local counts
+    public Map<Long, Long> getViews(Collection<Long> eventIds) {
+        Instant now = clock.instant();
+        Map<Long, Long> views = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        List<Long> stale = new ArrayList<>();
+        for (Long eventId : new LinkedHashSet<>(eventIds)) {
+            Views cached = cache.getIfPresent(eventId);
+            if (cached == null || !now.isBefore(cached.loadedAt().plus(expireAfterWrite))) {
+                missing.add(eventId);
+                continue;
+            }
+            views.put(eventId, cached.count());
+            if (!now.isBefore(cached.loadedAt().plus(refreshAfterWrite)) && refreshing.add(eventId)) {
+                stale.add(eventId);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            views.putAll(load(missing));
+        }
+        if (!stale.isEmpty()) {
+            refreshAhead(stale);
+        }
+        return views;
+    }
+
+    // bypasses the cache and refreshes it, ids stats-service could not be asked about are absent from the result
+    public Map<Long, Long> reload(Collection<Long> eventIds) {
+        return load(new ArrayList<>(new LinkedHashSet<>(eventIds)));
+    }
+
+    private void refreshAhead(List<Long> eventIds) {
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    load(eventIds);
+                } finally {
+                    eventIds.forEach(refreshing::remove);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            eventIds.forEach(refreshing::remove);
+        }
+    }
+
+    // after a failed lookup stats-service is left alone for failureBackoff instead of being asked on every request
+    private Map<Long, Long> load(List<Long> eventIds) {
+        Instant loadedAt = clock.instant();
+        if (loadedAt.isBefore(unavailableUntil)) {
+            return Map.of();
+        }
+
+        LocalDateTime end = LocalDateTime.now(clock);
+        List<List<Long>> batches = new ArrayList<>();
+        List<CompletableFuture<List<ViewStats>>> requests = new ArrayList<>();
+        for (int from = 0; from < eventIds.size(); from += BATCH_SIZE) {
+            List<Long> batch = eventIds.subList(from, Math.min(from + BATCH_SIZE, eventIds.size()));
+            batches.add(batch);
+            requests.add(statsClient.getStatsAsync(STATS_START, end,
+                    batch.stream().map(id -> EVENT_URI_PREFIX + id).toList(), true, true));
+        }
+
+        Map<Long, Long> loaded = new HashMap<>();
+        for (int i = 0; i < batches.size(); i++) {
+            List<Long> batch = batches.get(i);
+            List<ViewStats> stats;
+            try {
+                stats = requests.get(i).join();
+            } catch (CompletionException | CancellationException e) {
+                unavailableUntil = clock.instant().plus(failureBackoff);
+                continue;
+            }
+
+            Map<String, Long> hitsByUri = new HashMap<>();
+            for (ViewStats viewStats : stats) {
+                long hits = viewStats.getHits() == null ? 0L : viewStats.getHits();
+                hitsByUri.merge(viewStats.getUri(), hits, Long::sum);
+            }
+            for (Long eventId : batch) {
+                long count = hitsByUri.getOrDefault(EVENT_URI_PREFIX + eventId, 0L);
+                cache.put(eventId, new Views(count, loadedAt));
+                loaded.put(eventId, count);
+            }
+        }
+        return loaded;
+    }
+
+    private record Views(long count, Instant loadedAt) {
+    }
+}
@@ -35,6 +35,10 @@ public class RequestServiceImpl implements RequestService {
 
     private final RequestMapper requestMapper;
 
+    private final EventDetailsCache eventDetailsCache;
+
+    private final CompilationJsonCache compilationJsonCache;
+
     @Override
     @Transactional
     public ParticipationRequestDto addRequest(Long userId, Long eventId) {
@@ -49,6 +53,10 @@ public class RequestServiceImpl implements RequestService {
         ParticipationRequest request = createRequest(user, event);
         ParticipationRequest savedRequest = requestRepository.save(request);
 
+        if (savedRequest.getStatus() == RequestStatus.CONFIRMED && reserveSeats(event, 1) == 0) {
+            throw new ConflictException("Participant limit reached");
+        }
+
         return requestMapper.toParticipationRequestDto(savedRequest);
     }
 
@@ -68,7 +76,7 @@ public class RequestServiceImpl implements RequestService {
                 .orElseThrow(() -> new NotFoundException("Request with id=" + requestId + " was not found"));
 
         if (request.getStatus() == RequestStatus.CONFIRMED) {
-            updateConfirmedRequests(request.getEvent(), -1);
+            releaseSeat(request.getEvent());
         }
 
         request.setStatus(RequestStatus.CANCELED);
@@ -111,10 +119,6 @@ public class RequestServiceImpl implements RequestService {
         request.setRequester(user);
         request.setStatus(determineRequestStatus(event));
 
-        if (request.getStatus() == RequestStatus.CONFIRMED) {
-            updateConfirmedRequests(event, 1);
-        }
-
         return request;
     }
 
@@ -136,8 +140,7 @@ public class RequestServiceImpl implements RequestService {
         }
 
         if (event.getParticipantLimit() > 0) {
-            Long confirmedCount = requestRepository.countConfirmedRequestsByEventId(event.getId());
-            if (confirmedCount >= event.getParticipantLimit()) {
+            if (confirmedRequests(event) >= event.getParticipantLimit()) {
                 throw new ConflictException("Participant limit reached");
             }
         }
@@ -150,9 +153,30 @@ public class RequestServiceImpl implements RequestService {
         return RequestStatus.PENDING;
     }
 
-    private void updateConfirmedRequests(Event event, int delta) {
-        event.setConfirmedRequests(event.getConfirmedRequests() + delta);
-        eventRepository.save(event);
+    private int confirmedRequests(Event event) {
+        return event.getConfirmedRequests() == null ? 0 : event.getConfirmedRequests();
+    }
+
+    // the conditional UPDATE is the only arbiter of capacity, a lost race is retried with the seats still free
+    private int reserveSeats(Event event, int requested) {
+        int seats = event.getParticipantLimit() == 0
+                ? requested
+                : Math.min(requested, event.getParticipantLimit() - confirmedRequests(event));
+        while (seats > 0) {
+            if (eventRepository.reserveSeats(event.getId(), seats) == 1) {
+                eventDetailsCache.invalidate(event.getId());
+                compilationJsonCache.invalidateEvent(event.getId());
+                return seats;
+            }
+            seats = Math.min(seats - 1, eventRepository.findAvailableSeats(event.getId()));
+        }
+        return 0;
+    }
+
+    private void releaseSeat(Event event) {
+        eventRepository.addConfirmedRequests(event.getId(), -1);
+        eventDetailsCache.invalidate(event.getId());
+        compilationJsonCache.invalidateEvent(event.getId());
     }
 
     private void validateUserExists(Long userId) {
@@ -206,8 +230,7 @@ public class RequestServiceImpl implements RequestService {
     }
 
     private EventRequestStatusUpdateResult confirmRequests(Event event, List<ParticipationRequest> requests) {
-        Long confirmedCount = requestRepository.countConfirmedRequestsByEventId(event.getId());
-        int availableSlots = event.getParticipantLimit() - confirmedCount.intValue();
+        int availableSlots = reserveSeats(event, requests.size());
 
         if (availableSlots <= 0) {
             throw new ConflictException("Participant limit reached");
@@ -227,8 +250,6 @@ public class RequestServiceImpl implements RequestService {
         requestRepository.saveAll(toConfirm);
         requestRepository.saveAll(toReject);
 
-        updateConfirmedRequests(event, toConfirm.size());
-
         return createStatusUpdateResult(toConfirm, toReject);
     }
 
@@ -0,0 +1,174 @@
+package ru.practicum.explorewithme.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class UniqueViewTracker implements MeterBinder {
+    private final Clock clock;
+
+    private final Duration window;
+
+    private final long expectedViews;
+
+    private final int bitCount;
+
+    private final int hashCount;
+
+    private final AtomicReference<Generations> generations;
+
+    private final LongAdder rotations = new LongAdder();
+
+    @Autowired
+    public UniqueViewTracker(@Value("${views.unique-tracker.expected-views:1000000}") long expectedViews,
+                             @Value("${views.unique-tracker.false-positive-rate:0.01}") double falsePositiveRate,
+                             @Value("${views.unique-tracker.window:24h}") Duration window) {
+        this(expectedViews, falsePositiveRate, window, Clock.systemUTC());
+    }
+
+    UniqueViewTracker(long expectedViews, double falsePositiveRate, Duration window, Clock clock) {
+        if (expectedViews <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Unique view tracker requires positive capacity and 0 < fpp < 1");
+        }
+        double bits = -expectedViews * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        this.bitCount = (int) Math.min(Integer.MAX_VALUE - Long.SIZE, Math.max(Long.SIZE, Math.ceil(bits)));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedViews * Math.log(2)));
+        this.expectedViews = expectedViews;
+        this.window = window;
+        this.clock = clock;
+        this.generations = new AtomicReference<>(
+                new Generations(new BloomFilter(bitCount), new BloomFilter(bitCount), clock.instant()));
+    }
+
+    public boolean registerView(long eventId, String ip) {
+        Generations current = rotateIfNeeded();
+        long hash1 = hash(eventId, ip, 0x9e3779b97f4a7c15L);
+        long hash2 = hash(eventId, ip, 0xc2b2ae3d27d4eb4fL) | 1;
+        boolean seenBefore = current.previous().mightContain(hash1, hash2, hashCount);
+        boolean added = current.current().put(hash1, hash2, hashCount);
+        return added && !seenBefore;
+    }
+
+    public long getFootprintBytes() {
+        return 2L * ((bitCount + Long.SIZE - 1) / Long.SIZE) * Long.BYTES;
+    }
+
+    public long getCurrentViews() {
+        return generations.get().current().insertions();
+    }
+
+    public double getExpectedFalsePositiveRate() {
+        double fillRatio = (double) generations.get().current().insertions() * hashCount / bitCount;
+        return Math.pow(1 - Math.exp(-fillRatio), hashCount);
+    }
+
+    public long getRotationCount() {
+        return rotations.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("views.unique-tracker.footprint", this, UniqueViewTracker::getFootprintBytes)
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("views.unique-tracker.views", this, UniqueViewTracker::getCurrentViews)
+                .register(registry);
+        Gauge.builder("views.unique-tracker.false-positive-rate", this,
+                        UniqueViewTracker::getExpectedFalsePositiveRate)
+                .register(registry);
+        FunctionCounter.builder("views.unique-tracker.rotations", this, UniqueViewTracker::getRotationCount)
+                .register(registry);
+    }
+
+    private Generations rotateIfNeeded() {
+        Generations current = generations.get();
+        Instant now = clock.instant();
+        boolean expired = !now.isBefore(current.startedAt().plus(window));
+        boolean saturated = current.current().insertions() >= expectedViews;
+        if (!expired && !saturated) {
+            return current;
+        }
+        boolean idle = !now.isBefore(current.startedAt().plus(window.multipliedBy(2)));
+        BloomFilter previous = idle ? new BloomFilter(bitCount) : current.current();
+        Generations rotated = new Generations(new BloomFilter(bitCount), previous, now);
+        if (generations.compareAndSet(current, rotated)) {
+            rotations.increment();
+            return rotated;
+        }
+        return generations.get();
+    }
+
+    private static long hash(long eventId, String ip, long seed) {
+        long hash = seed ^ eventId * 0xff51afd7ed558ccdL;
+        for (byte b : ip.getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ b) * 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private record Generations(BloomFilter current, BloomFilter previous, Instant startedAt) {
+    }
+
+    private static final class BloomFilter {
+        private final AtomicLongArray words;
+
+        private final int bitCount;
+
+        private final LongAdder insertions = new LongAdder();
+
+        private BloomFilter(int bitCount) {
+            this.bitCount = bitCount;
+            this.words = new AtomicLongArray((bitCount + Long.SIZE - 1) / Long.SIZE);
+        }
+
+        private boolean put(long hash1, long hash2, int hashCount) {
+            boolean changed = false;
+            for (int i = 0; i < hashCount; i++) {
+                int bit = index(hash1, hash2, i);
+                long mask = 1L << bit;
+                long previous = words.getAndAccumulate(bit >>> 6, mask, (word, m) -> word | m);
+                changed |= (previous & mask) == 0;
+            }
+            if (changed) {
+                insertions.increment();
+            }
+            return changed;
+        }
+
+        private boolean mightContain(long hash1, long hash2, int hashCount) {
+            for (int i = 0; i < hashCount; i++) {
+                int bit = index(hash1, hash2, i);
+                if ((words.get(bit >>> 6) & 1L << bit) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private long insertions() {
+            return insertions.sum();
+        }
+
+        private int index(long hash1, long hash2, int i) {
+            return (int) Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+        }
+    }
+}
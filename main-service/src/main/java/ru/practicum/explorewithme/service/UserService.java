@@ -1,5 +1,7 @@
 package ru.practicum.explorewithme.service;
 
+import org.springframework.data.domain.Slice;
+import ru.practicum.explorewithme.dto.PageCursor;
 import ru.practicum.explorewithme.dto.UserDto;
 import ru.practicum.explorewithme.dto.NewUserRequest;
 import java.util.List;
@@ -9,5 +11,7 @@ public interface UserService {
 
     void deleteUser(Long userId);
 
-    List<UserDto> getUsers(List<Long> ids, Integer from, Integer size);
+    Slice<UserDto> getUsers(List<Long> ids, Integer from, Integer size);
+
+    Slice<UserDto> getUsersAfter(List<Long> ids, PageCursor after, Integer size);
 }
\ No newline at end of file
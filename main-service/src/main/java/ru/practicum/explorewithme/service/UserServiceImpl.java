@@ -2,9 +2,11 @@ package ru.practicum.explorewithme.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.explorewithme.dto.PageCursor;
 import ru.practicum.explorewithme.dto.UserDto;
 import ru.practicum.explorewithme.dto.NewUserRequest;
 import ru.practicum.explorewithme.exception.ConflictException;
@@ -14,7 +16,6 @@ import ru.practicum.explorewithme.model.User;
 import ru.practicum.explorewithme.repository.UserRepository;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -44,21 +45,27 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public List<UserDto> getUsers(List<Long> ids, Integer from, Integer size) {
+    public Slice<UserDto> getUsers(List<Long> ids, Integer from, Integer size) {
         if (from == null) from = 0;
         if (size == null) size = 10;
 
         PageRequest pageRequest = PageRequest.of(from / size, size, Sort.by("id").ascending());
 
         if (ids == null || ids.isEmpty()) {
-            return userRepository.findAll(pageRequest).stream()
-                    .map(userMapper::toUserDto)
-                    .collect(Collectors.toList());
+            return userRepository.findAllBy(pageRequest).map(userMapper::toUserDto);
         } else {
-            return userRepository.findAllByIdIn(ids, pageRequest).stream()
-                    .map(userMapper::toUserDto)
-                    .collect(Collectors.toList());
+            return userRepository.findAllByIdIn(ids, pageRequest).map(userMapper::toUserDto);
         }
     }
 
+    @Override
+    public Slice<UserDto> getUsersAfter(List<Long> ids, PageCursor after, Integer size) {
+        PageRequest pageRequest = PageRequest.of(0, size, Sort.by("id").ascending());
+
+        Slice<User> users = ids == null || ids.isEmpty()
+                ? userRepository.findAllByIdGreaterThan(after.id(), pageRequest)
+                : userRepository.findAllByIdInAndIdGreaterThan(ids, after.id(), pageRequest);
+        return users.map(userMapper::toUserDto);
+    }
+
 }
@@ -0,0 +1,89 @@
+package ru.practicum.explorewithme.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.explorewithme.repository.EventRepository;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+@RequiredArgsConstructor
+public class ViewCounter {
+    private final EventRepository eventRepository;
+
+    private final Map<Long, EventViews> views = new ConcurrentHashMap<>();
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public void increment(Long eventId) {
+        views.computeIfAbsent(eventId, id -> new EventViews()).recorded.increment();
+    }
+
+    public long getRecordedViews(Long eventId) {
+        EventViews eventViews = views.get(eventId);
+        return eventViews == null ? 0L : eventViews.recorded.sum();
+    }
+
+    public long getPendingViews(Long eventId) {
+        EventViews eventViews = views.get(eventId);
+        return eventViews == null ? 0L : eventViews.pending();
+    }
+
+    public long withPendingViews(Long eventId, Long persistedViews) {
+        return (persistedViews == null ? 0L : persistedViews) + getPendingViews(eventId);
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${views.flush-interval:PT5S}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            Map<Long, Long> deltas = new HashMap<>();
+            views.forEach((eventId, eventViews) -> {
+                long delta = eventViews.pending();
+                if (delta > 0) {
+                    deltas.put(eventId, delta);
+                }
+            });
+            if (deltas.isEmpty()) {
+                return;
+            }
+            eventRepository.addViews(deltas);
+            deltas.forEach((eventId, delta) -> views.get(eventId).flushed.addAndGet(delta));
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // stats-service already counts the views still pending here, so they are left out of the stored total
+    public void reconcile(Map<Long, Long> statsViews) {
+        flushLock.lock();
+        try {
+            Map<Long, Long> stored = new HashMap<>();
+            statsViews.forEach((eventId, count) ->
+                    stored.put(eventId, Math.max(count - getPendingViews(eventId), 0L)));
+            if (!stored.isEmpty()) {
+                eventRepository.setViews(stored);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private static final class EventViews {
+        private final LongAdder recorded = new LongAdder();
+
+        private final AtomicLong flushed = new AtomicLong();
+
+        private long pending() {
+            return recorded.sum() - flushed.get();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package ru.practicum.explorewithme.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.explorewithme.repository.EventRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+// copies the view counts of stats-service into events.views, the column the VIEWS sort reads
+@Slf4j
+@Component
+public class ViewsReconciler {
+    private final EventRepository eventRepository;
+
+    private final EventViewsProvider eventViewsProvider;
+
+    private final ViewCounter viewCounter;
+
+    private final int batchSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public ViewsReconciler(EventRepository eventRepository, EventViewsProvider eventViewsProvider,
+                           ViewCounter viewCounter, @Value("${views.reconcile-batch-size:1000}") int batchSize) {
+        this.eventRepository = eventRepository;
+        this.eventViewsProvider = eventViewsProvider;
+        this.viewCounter = viewCounter;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${views.reconcile-interval:PT10M}",
+            initialDelayString = "${views.reconcile-interval:PT10M}")
+    public void reconcile() {
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            long afterId = 0L;
+            List<Long> ids;
+            do {
+                ids = eventRepository.findPublishedIdsAfter(afterId, PageRequest.of(0, batchSize));
+                if (ids.isEmpty()) {
+                    return;
+                }
+                Map<Long, Long> views = eventViewsProvider.reload(ids);
+                viewCounter.reconcile(views);
+                if (views.size() < ids.size()) {
+                    log.warn("Stats-service is unavailable, views reconciliation stopped after event id {}", afterId);
+                    return;
+                }
+                afterId = ids.get(ids.size() - 1);
+            } while (ids.size() == batchSize);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
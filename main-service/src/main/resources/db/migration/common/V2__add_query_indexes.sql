@@ -0,0 +1,9 @@
+CREATE INDEX IF NOT EXISTS ix_events_state_event_date ON events (state, event_date);
+CREATE INDEX IF NOT EXISTS ix_events_category_id ON events (category_id);
+CREATE INDEX IF NOT EXISTS ix_events_initiator_id ON events (initiator_id);
+
+CREATE INDEX IF NOT EXISTS ix_requests_event_id_status ON participation_requests (event_id, status);
+CREATE INDEX IF NOT EXISTS ix_requests_requester_id ON participation_requests (requester_id);
+
+CREATE INDEX IF NOT EXISTS ix_comments_event_id_status_created_on ON comments (event_id, status, created_on);
+CREATE INDEX IF NOT EXISTS ix_comments_status_created_on ON comments (status, created_on);
@@ -0,0 +1,6 @@
+UPDATE events
+SET confirmed_requests = (SELECT COUNT(*)
+                          FROM participation_requests r
+                          WHERE r.event_id = events.id AND r.status = 'CONFIRMED');
+
+ALTER TABLE events ALTER COLUMN confirmed_requests SET DEFAULT 0;
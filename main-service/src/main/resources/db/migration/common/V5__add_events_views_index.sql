@@ -0,0 +1,5 @@
+UPDATE events SET views = 0 WHERE views IS NULL;
+
+ALTER TABLE events ALTER COLUMN views SET DEFAULT 0;
+
+CREATE INDEX IF NOT EXISTS ix_events_state_views ON events (state, views DESC, id);
@@ -0,0 +1,2 @@
+CREATE INDEX IF NOT EXISTS ix_events_text_search ON events
+    USING GIN (to_tsvector('simple', coalesce(annotation, '') || ' ' || coalesce(description, '')));
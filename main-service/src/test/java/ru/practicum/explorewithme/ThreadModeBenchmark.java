@@ -0,0 +1,167 @@
+package ru.practicum.explorewithme;
+
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.explorewithme.model.Category;
+import ru.practicum.explorewithme.model.Event;
+import ru.practicum.explorewithme.model.EventState;
+import ru.practicum.explorewithme.model.Location;
+import ru.practicum.explorewithme.model.User;
+import ru.practicum.explorewithme.repository.CategoryRepository;
+import ru.practicum.explorewithme.repository.EventRepository;
+import ru.practicum.explorewithme.repository.UserRepository;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * launched by ThreadModeBenchmarkTest; every request reads the event through JDBC (the details cache is disabled)
+ * and then blocks on a synchronous call to a stub stats server, with the same Hikari pool in both thread modes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ThreadModeBenchmark {
+    private static final int PLATFORM_THREADS = 200;
+
+    private static final int EVENTS = 50;
+
+    private static final byte[] STATS_BODY = "[]".getBytes(StandardCharsets.UTF_8);
+
+    @Param({"platform", "virtual"})
+    private String threadMode;
+
+    @Param("10")
+    private int poolSize;
+
+    @Param("50")
+    private int statsLatencyMillis;
+
+    private HttpServer statsServer;
+
+    private ConfigurableApplicationContext context;
+
+    private ExecutorService clientExecutor;
+
+    private HttpClient http;
+
+    private List<URI> eventUris;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        statsServer = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        statsServer.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        statsServer.createContext("/", exchange -> {
+            try (exchange) {
+                exchange.getRequestBody().readAllBytes();
+                Thread.sleep(statsLatencyMillis);
+                if (exchange.getRequestURI().getPath().startsWith("/stats")) {
+                    exchange.getResponseHeaders().add("Content-Type", "application/json");
+                    exchange.sendResponseHeaders(200, STATS_BODY.length);
+                    exchange.getResponseBody().write(STATS_BODY);
+                } else {
+                    exchange.sendResponseHeaders(201, -1);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        statsServer.start();
+
+        context = new SpringApplicationBuilder(ExploreWithMeApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--spring.main.banner-mode=off",
+                        "--spring.threads.virtual.enabled=" + "virtual".equals(threadMode),
+                        "--server.tomcat.threads.max=" + PLATFORM_THREADS,
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark-" + threadMode + ";DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                        "--spring.datasource.hikari.minimum-idle=" + poolSize,
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework.web=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "--logging.level.com.zaxxer.hikari=WARN",
+                        "--stats.server.url=http://localhost:" + statsServer.getAddress().getPort(),
+                        "--stats.client.buffered=false",
+                        "--event-cache.expire-after-write=0s",
+                        "--views.flush-interval=PT1H");
+
+        String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort()
+                + "/events/";
+        eventUris = seed().stream().map(id -> URI.create(baseUrl + id)).toList();
+        clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        http = HttpClient.newBuilder().executor(clientExecutor).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        http.close();
+        clientExecutor.close();
+        context.close();
+        statsServer.stop(0);
+    }
+
+    @Benchmark
+    public int getPublishedEvent() throws IOException, InterruptedException {
+        URI uri = eventUris.get(ThreadLocalRandom.current().nextInt(eventUris.size()));
+        int status = http.send(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.discarding())
+                .statusCode();
+        if (status != 200) {
+            throw new IllegalStateException("GET " + uri + " answered " + status);
+        }
+        return status;
+    }
+
+    private List<Long> seed() {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        CategoryRepository categoryRepository = context.getBean(CategoryRepository.class);
+        EventRepository eventRepository = context.getBean(EventRepository.class);
+
+        User initiator = userRepository.save(User.builder().name("Host").email("benchmark@email.com").build());
+        Category category = categoryRepository.save(Category.builder().name("Benchmark").build());
+        List<Long> ids = new ArrayList<>(EVENTS);
+        for (int i = 0; i < EVENTS; i++) {
+            ids.add(eventRepository.save(Event.builder()
+                    .title("Event " + i)
+                    .annotation("Annotation of the benchmark event " + i)
+                    .description("Description of the benchmark event " + i)
+                    .eventDate(LocalDateTime.now().plusDays(1))
+                    .location(new Location(55.75f, 37.61f))
+                    .paid(false)
+                    .participantLimit(0)
+                    .confirmedRequests(0)
+                    .requestModeration(false)
+                    .state(EventState.PUBLISHED)
+                    .category(category)
+                    .initiator(initiator)
+                    .build()).getId());
+        }
+        return ids;
+    }
+}
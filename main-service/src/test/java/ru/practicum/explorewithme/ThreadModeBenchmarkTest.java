@@ -0,0 +1,51 @@
+package ru.practicum.explorewithme;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/*
+ * Runs ThreadModeBenchmark, platform against virtual threads at the same Hikari pool size; JMH prints throughput
+ * and the latency percentiles. Run with: mvn -pl main-service test -Dtest=ThreadModeBenchmarkTest -Dbenchmark=true
+ * and tune it with -Dbenchmark.pool-size, -Dbenchmark.clients, -Dbenchmark.stats-latency-millis,
+ * -Dbenchmark.forks and -Dbenchmark.iterations.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ThreadModeBenchmarkTest {
+    private static final int POOL_SIZE = Integer.getInteger("benchmark.pool-size", 10);
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 400);
+
+    private static final int STATS_LATENCY_MILLIS = Integer.getInteger("benchmark.stats-latency-millis", 50);
+
+    private static final int FORKS = Integer.getInteger("benchmark.forks", 1);
+
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 5);
+
+    @Test
+    void compareThreadModesAtMatchedPoolSize() throws Exception {
+        Options options = new OptionsBuilder()
+                .include(ThreadModeBenchmark.class.getSimpleName())
+                .param("poolSize", String.valueOf(POOL_SIZE))
+                .param("statsLatencyMillis", String.valueOf(STATS_LATENCY_MILLIS))
+                .threads(CLIENTS)
+                .forks(FORKS)
+                .warmupIterations(ITERATIONS)
+                .warmupTime(TimeValue.seconds(2))
+                .measurementIterations(ITERATIONS)
+                .measurementTime(TimeValue.seconds(2))
+                .shouldFailOnError(true)
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        assertEquals(4, results.size());
+    }
+}
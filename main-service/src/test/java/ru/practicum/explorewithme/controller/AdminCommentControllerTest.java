@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.explorewithme.dto.CommentDto;
 import ru.practicum.explorewithme.service.CommentService;
@@ -82,7 +83,7 @@ class AdminCommentControllerTest {
     @Test
     void getPendingComments_shouldReturnList() throws Exception {
         CommentDto commentDto = createCommentDto(1L);
-        when(commentService.getPendingComments(anyInt(), anyInt())).thenReturn(List.of(commentDto));
+        when(commentService.getPendingComments(anyInt(), anyInt())).thenReturn(new SliceImpl<>(List.of(commentDto)));
 
         mockMvc.perform(get("/admin/comments/pending")
                         .param("from", "0")
@@ -97,7 +98,7 @@ class AdminCommentControllerTest {
     @Test
     void getPendingComments_withDefaultParams_shouldUseDefaults() throws Exception {
         CommentDto commentDto = createCommentDto(1L);
-        when(commentService.getPendingComments(anyInt(), anyInt())).thenReturn(List.of(commentDto));
+        when(commentService.getPendingComments(anyInt(), anyInt())).thenReturn(new SliceImpl<>(List.of(commentDto)));
 
         mockMvc.perform(get("/admin/comments/pending"))
                 .andExpect(status().isOk())
@@ -6,6 +6,7 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.explorewithme.dto.EventFullDto;
@@ -48,7 +49,7 @@ class AdminEventControllerTest {
 
         Mockito.when(eventService.searchEvents(anyList(), anyList(), anyList(),
                         any(LocalDateTime.class), any(LocalDateTime.class), anyInt(), anyInt()))
-                .thenReturn(events);
+                .thenReturn(new SliceImpl<>(events));
 
         mockMvc.perform(get("/admin/events")
                         .param("users", "1,2")
@@ -69,7 +70,7 @@ class AdminEventControllerTest {
 
         Mockito.when(eventService.searchEvents(isNull(), isNull(), isNull(),
                         isNull(), isNull(), anyInt(), anyInt()))
-                .thenReturn(events);
+                .thenReturn(new SliceImpl<>(events));
 
         mockMvc.perform(get("/admin/events")
                         .param("from", "0")
@@ -6,9 +6,12 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.explorewithme.dto.NewUserRequest;
+import ru.practicum.explorewithme.dto.PageCursor;
 import ru.practicum.explorewithme.dto.UserDto;
 import ru.practicum.explorewithme.service.UserService;
 
@@ -19,10 +22,12 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -43,7 +48,7 @@ class AdminUserControllerTest {
         UserDto userDto = new UserDto(1L, "Test User", "test@example.com");
         List<UserDto> users = List.of(userDto);
 
-        Mockito.when(userService.getUsers(anyList(), anyInt(), anyInt())).thenReturn(users);
+        Mockito.when(userService.getUsers(anyList(), anyInt(), anyInt())).thenReturn(new SliceImpl<>(users));
 
         mockMvc.perform(get("/admin/users")
                         .param("ids", "1,2")
@@ -55,11 +60,60 @@ class AdminUserControllerTest {
                 .andExpect(jsonPath("$[0].email").value("test@example.com"));
     }
 
+    @Test
+    void getUsers_WhenMorePagesExist_ShouldReturnNextCursor() throws Exception {
+        List<UserDto> users = List.of(new UserDto(1L, "First", "first@example.com"),
+                new UserDto(2L, "Second", "second@example.com"));
+
+        Mockito.when(userService.getUsers(isNull(), eq(0), eq(2)))
+                .thenReturn(new SliceImpl<>(users, PageRequest.of(0, 2), true));
+
+        mockMvc.perform(get("/admin/users")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", PageCursor.of(2L).encode()));
+    }
+
+    @Test
+    void getUsers_FullLastPage_ShouldNotReturnNextCursor() throws Exception {
+        List<UserDto> users = List.of(new UserDto(1L, "First", "first@example.com"),
+                new UserDto(2L, "Second", "second@example.com"));
+
+        Mockito.when(userService.getUsers(isNull(), eq(0), eq(2)))
+                .thenReturn(new SliceImpl<>(users, PageRequest.of(0, 2), false));
+
+        mockMvc.perform(get("/admin/users")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    void getUsers_WithCursor_ShouldSeekAfterIt() throws Exception {
+        Mockito.when(userService.getUsersAfter(isNull(), eq(PageCursor.of(2L)), eq(2)))
+                .thenReturn(new SliceImpl<>(List.of(new UserDto(3L, "Third", "third@example.com"))));
+
+        mockMvc.perform(get("/admin/users")
+                        .param("after", PageCursor.of(2L).encode())
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(3L))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    void getUsers_WithInvalidCursor_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/admin/users")
+                        .param("after", "???"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getUsers_WithoutIds_ShouldReturnOk() throws Exception {
         List<UserDto> users = Collections.emptyList();
 
-        Mockito.when(userService.getUsers(isNull(), anyInt(), anyInt())).thenReturn(users);
+        Mockito.when(userService.getUsers(isNull(), anyInt(), anyInt())).thenReturn(new SliceImpl<>(users));
 
         mockMvc.perform(get("/admin/users")
                         .param("from", "0")
@@ -118,7 +172,7 @@ class AdminUserControllerTest {
         UserDto userDto = new UserDto(1L, "Test User", "test@example.com");
         List<UserDto> users = List.of(userDto);
 
-        Mockito.when(userService.getUsers(isNull(), anyInt(), anyInt())).thenReturn(users);
+        Mockito.when(userService.getUsers(isNull(), anyInt(), anyInt())).thenReturn(new SliceImpl<>(users));
 
         mockMvc.perform(get("/admin/users"))
                 .andExpect(status().isOk())
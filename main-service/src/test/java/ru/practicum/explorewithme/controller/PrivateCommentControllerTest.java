@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.explorewithme.dto.CommentDto;
@@ -104,7 +105,8 @@ class PrivateCommentControllerTest {
     @Test
     void getUserComments_shouldReturnList() throws Exception {
         CommentDto commentDto = createCommentDto(1L);
-        when(commentService.getUserComments(anyLong(), anyInt(), anyInt())).thenReturn(List.of(commentDto));
+        when(commentService.getUserComments(anyLong(), anyInt(), anyInt()))
+                .thenReturn(new SliceImpl<>(List.of(commentDto)));
 
         mockMvc.perform(get("/users/1/comments")
                         .param("from", "0")
@@ -118,7 +120,8 @@ class PrivateCommentControllerTest {
     @Test
     void getUserComments_withDefaultParams_shouldUseDefaults() throws Exception {
         CommentDto commentDto = createCommentDto(1L);
-        when(commentService.getUserComments(anyLong(), anyInt(), anyInt())).thenReturn(List.of(commentDto));
+        when(commentService.getUserComments(anyLong(), anyInt(), anyInt()))
+                .thenReturn(new SliceImpl<>(List.of(commentDto)));
 
         mockMvc.perform(get("/users/1/comments"))
                 .andExpect(status().isOk())
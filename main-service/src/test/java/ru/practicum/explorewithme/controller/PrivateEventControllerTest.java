@@ -7,6 +7,7 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.explorewithme.dto.CategoryDto;
@@ -128,7 +129,7 @@ class PrivateEventControllerTest {
     @Test
     void getUserEvents_ShouldReturnList() throws Exception {
         Mockito.when(eventService.getUserEvents(eq(1L), eq(0), eq(10)))
-                .thenReturn(List.of(eventShortDto));
+                .thenReturn(new SliceImpl<>(List.of(eventShortDto)));
 
         mockMvc.perform(get("/users/1/events")
                         .param("from", "0")
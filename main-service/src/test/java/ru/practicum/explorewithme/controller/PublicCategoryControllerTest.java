@@ -6,6 +6,7 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.explorewithme.dto.CategoryDto;
 import ru.practicum.explorewithme.service.CategoryService;
@@ -36,7 +37,7 @@ class PublicCategoryControllerTest {
     @Test
     void getCategories_ShouldReturnList() throws Exception {
         Mockito.when(categoryService.getCategories(eq(0), eq(10)))
-                .thenReturn(List.of(categoryDto));
+                .thenReturn(new SliceImpl<>(List.of(categoryDto)));
 
         mockMvc.perform(get("/categories")
                         .param("from", "0")
@@ -49,7 +50,7 @@ class PublicCategoryControllerTest {
     @Test
     void getCategories_WithDefaultParams_ShouldReturnList() throws Exception {
         Mockito.when(categoryService.getCategories(eq(0), eq(10)))
-                .thenReturn(List.of(categoryDto));
+                .thenReturn(new SliceImpl<>(List.of(categoryDto)));
 
         mockMvc.perform(get("/categories"))
                 .andExpect(status().isOk())
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.explorewithme.dto.CommentDto;
 import ru.practicum.explorewithme.service.CommentService;
@@ -41,7 +42,8 @@ class PublicCommentControllerTest {
     @Test
     void getEventComments_shouldReturnList() throws Exception {
         CommentDto commentDto = createCommentDto(1L);
-        when(commentService.getEventComments(anyLong(), anyInt(), anyInt())).thenReturn(List.of(commentDto));
+        when(commentService.getEventComments(anyLong(), anyInt(), anyInt()))
+                .thenReturn(new SliceImpl<>(List.of(commentDto)));
 
         mockMvc.perform(get("/events/1/comments")
                         .param("from", "0")
@@ -56,7 +58,8 @@ class PublicCommentControllerTest {
     @Test
     void getEventComments_withDefaultParams_shouldUseDefaults() throws Exception {
         CommentDto commentDto = createCommentDto(1L);
-        when(commentService.getEventComments(anyLong(), anyInt(), anyInt())).thenReturn(List.of(commentDto));
+        when(commentService.getEventComments(anyLong(), anyInt(), anyInt()))
+                .thenReturn(new SliceImpl<>(List.of(commentDto)));
 
         mockMvc.perform(get("/events/1/comments"))
                 .andExpect(status().isOk())
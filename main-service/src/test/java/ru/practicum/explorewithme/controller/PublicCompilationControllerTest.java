@@ -6,9 +6,11 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.explorewithme.dto.CompilationDto;
 import ru.practicum.explorewithme.dto.EventShortDto;
+import ru.practicum.explorewithme.service.CompilationJsonCache;
 import ru.practicum.explorewithme.service.CompilationService;
 
 import java.time.LocalDateTime;
@@ -20,6 +22,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(PublicCompilationController.class)
+@Import(CompilationJsonCache.class)
 class PublicCompilationControllerTest {
 
     @Autowired
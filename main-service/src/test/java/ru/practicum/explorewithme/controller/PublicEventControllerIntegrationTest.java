@@ -0,0 +1,244 @@
+package ru.practicum.explorewithme.controller;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.client.StatsClient;
+import ru.practicum.dto.ViewStats;
+import ru.practicum.explorewithme.dto.CategoryDto;
+import ru.practicum.explorewithme.model.Category;
+import ru.practicum.explorewithme.model.Event;
+import ru.practicum.explorewithme.model.EventState;
+import ru.practicum.explorewithme.model.Location;
+import ru.practicum.explorewithme.model.ParticipationRequest;
+import ru.practicum.explorewithme.model.RequestStatus;
+import ru.practicum.explorewithme.model.User;
+import ru.practicum.explorewithme.repository.CategoryRepository;
+import ru.practicum.explorewithme.repository.EventRepository;
+import ru.practicum.explorewithme.repository.EventSpecifications;
+import ru.practicum.explorewithme.repository.RequestRepository;
+import ru.practicum.explorewithme.repository.UserRepository;
+import ru.practicum.explorewithme.service.CategoryService;
+import ru.practicum.explorewithme.service.ViewsReconciler;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "views.flush-interval=PT1H"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PublicEventControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ViewsReconciler viewsReconciler;
+
+    @MockBean
+    private StatsClient statsClient;
+
+    @Test
+    void getEvent_shouldServeRepeatedRequestsFromCacheWhileStatsServiceIsDown() throws Exception {
+        when(statsClient.getStatsAsync(any(), any(), anyList(), anyBoolean(), anyBoolean()))
+                .thenReturn(CompletableFuture.failedFuture(new ResourceAccessException("Connection refused")));
+        User initiator = userRepository.save(User.builder().name("Initiator").email("initiator@email.com").build());
+        User requester = userRepository.save(User.builder().name("Requester").email("requester@email.com").build());
+        Category category = categoryRepository.save(Category.builder().name("Concerts").build());
+        Event event = eventRepository.save(Event.builder()
+                .title("Event")
+                .annotation("Annotation of the event")
+                .description("Description of the event")
+                .eventDate(LocalDateTime.now().plusDays(1))
+                .location(new Location(55.75f, 37.61f))
+                .paid(false)
+                .participantLimit(10)
+                .confirmedRequests(1)
+                .requestModeration(true)
+                .state(EventState.PUBLISHED)
+                .views(5L)
+                .category(category)
+                .initiator(initiator)
+                .build());
+        requestRepository.save(ParticipationRequest.builder()
+                .event(event)
+                .requester(requester)
+                .status(RequestStatus.CONFIRMED)
+                .created(LocalDateTime.now())
+                .build());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.confirmedRequests").value(1))
+                .andExpect(jsonPath("$.views").value(6))
+                .andExpect(jsonPath("$.category.name").value("Concerts"))
+                .andExpect(jsonPath("$.initiator.name").value("Initiator"));
+
+        assertEquals(1L, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+
+        mockMvc.perform(get("/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.views").value(6));
+
+        assertEquals(0L, statistics.getPrepareStatementCount());
+
+        categoryService.updateCategory(category.getId(), new CategoryDto(category.getId(), "Festivals"));
+        statistics.clear();
+
+        mockMvc.perform(get("/events/{id}", event.getId()).with(request -> {
+                    request.setRemoteAddr("10.0.0.2");
+                    return request;
+                }))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.views").value(7))
+                .andExpect(jsonPath("$.category.name").value("Festivals"));
+
+        assertEquals(1L, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void searchPublishedEvents_shouldFetchPageWithoutCountQuery() throws Exception {
+        when(statsClient.getStatsAsync(any(), any(), anyList(), anyBoolean(), anyBoolean()))
+                .thenReturn(CompletableFuture.completedFuture(List.of()));
+        User initiator = userRepository.save(User.builder().name("Organizer").email("organizer@email.com").build());
+        Category category = categoryRepository.save(Category.builder().name("Exhibitions").build());
+        for (int i = 0; i < 3; i++) {
+            eventRepository.save(Event.builder()
+                    .title("Exhibition " + i)
+                    .annotation("Annotation of the exhibition " + i)
+                    .description("Description of the exhibition " + i)
+                    .eventDate(LocalDateTime.now().plusDays(2))
+                    .location(new Location(55.75f, 37.61f))
+                    .paid(false)
+                    .participantLimit(0)
+                    .requestModeration(false)
+                    .state(EventState.PUBLISHED)
+                    .views(0L)
+                    .category(category)
+                    .initiator(initiator)
+                    .build());
+        }
+        Specification<Event> published = EventSpecifications.hasState(EventState.PUBLISHED);
+        PageRequest pageRequest = PageRequest.of(0, 2, Sort.by("id"));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        eventRepository.findAll(published, pageRequest);
+        long pageStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        eventRepository.findSlice(published, pageRequest);
+        long sliceStatements = statistics.getPrepareStatementCount();
+
+        assertEquals(2L, pageStatements);
+        assertEquals(1L, sliceStatements);
+
+        statistics.clear();
+
+        mockMvc.perform(get("/events").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(header().exists("X-Next-Cursor"));
+
+        assertEquals(1L, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void searchPublishedEvents_shouldSortByViewsReconciledFromStatsService() throws Exception {
+        User initiator = userRepository.save(User.builder().name("Curator").email("curator@email.com").build());
+        Category category = categoryRepository.save(Category.builder().name("Lectures").build());
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(eventRepository.save(Event.builder()
+                    .title("Lecture " + i)
+                    .annotation("Annotation of the lecture " + i)
+                    .description("Description of the lecture " + i)
+                    .eventDate(LocalDateTime.now().plusDays(3))
+                    .location(new Location(55.75f, 37.61f))
+                    .paid(false)
+                    .participantLimit(0)
+                    .requestModeration(false)
+                    .state(EventState.PUBLISHED)
+                    .views(100L - i)
+                    .category(category)
+                    .initiator(initiator)
+                    .build()).getId());
+        }
+        when(statsClient.getStatsAsync(any(), any(), anyList(), eq(true), eq(true)))
+                .thenReturn(CompletableFuture.completedFuture(List.of(
+                        new ViewStats("explore-with-me", "/events/" + ids.get(2), 30L),
+                        new ViewStats("explore-with-me", "/events/" + ids.get(1), 20L))));
+        viewsReconciler.reconcile();
+        clearInvocations(statsClient);
+
+        mockMvc.perform(get("/events")
+                        .param("categories", category.getId().toString())
+                        .param("sort", "VIEWS")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(ids.get(2)))
+                .andExpect(jsonPath("$[0].views").value(30))
+                .andExpect(jsonPath("$[1].id").value(ids.get(1)))
+                .andExpect(jsonPath("$[1].views").value(20));
+
+        mockMvc.perform(get("/events/{id}", ids.get(0)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.views").value(0));
+
+        verify(statsClient, atMost(1)).getStatsAsync(any(), any(), anyList(), eq(true), eq(true));
+    }
+}
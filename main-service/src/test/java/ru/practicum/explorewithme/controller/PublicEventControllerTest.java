@@ -7,6 +7,7 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.explorewithme.dto.EventFullDto;
 import ru.practicum.explorewithme.dto.EventShortDto;
@@ -70,7 +71,7 @@ class PublicEventControllerTest {
         Mockito.when(eventService.searchPublishedEvents(
                         anyString(), anyList(), anyBoolean(), any(), any(),
                         anyBoolean(), anyString(), anyInt(), anyInt(), any(HttpServletRequest.class)))
-                .thenReturn(List.of(eventShortDto));
+                .thenReturn(new SliceImpl<>(List.of(eventShortDto)));
 
         mockMvc.perform(get("/events")
                         .param("text", "test")
@@ -92,7 +93,7 @@ class PublicEventControllerTest {
         Mockito.when(eventService.searchPublishedEvents(
                         isNull(), isNull(), isNull(), isNull(), isNull(),
                         isNull(), isNull(), eq(0), eq(10), any(HttpServletRequest.class)))
-                .thenReturn(List.of(eventShortDto));
+                .thenReturn(new SliceImpl<>(List.of(eventShortDto)));
 
         mockMvc.perform(get("/events"))
                 .andExpect(status().isOk())
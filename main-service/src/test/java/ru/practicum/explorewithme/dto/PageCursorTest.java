@@ -0,0 +1,37 @@
+package ru.practicum.explorewithme.dto;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.explorewithme.exception.ValidationException;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PageCursorTest {
+
+    @Test
+    void testEncodeDecodeId() {
+        PageCursor cursor = PageCursor.decode(PageCursor.of(42L).encode());
+
+        assertEquals(42L, cursor.id());
+        assertThrows(ValidationException.class, cursor::dateKey);
+    }
+
+    @Test
+    void testEncodeDecodeDate() {
+        LocalDateTime date = LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123456000);
+
+        PageCursor cursor = PageCursor.decode(PageCursor.of(date, 7L).encode());
+
+        assertEquals(7L, cursor.id());
+        assertEquals(date, cursor.dateKey());
+    }
+
+    @Test
+    void testDecodeInvalidToken() {
+        assertThrows(ValidationException.class, () -> PageCursor.decode("not a cursor!"));
+        assertThrows(ValidationException.class, () -> PageCursor.decode(new PageCursor("key", 1L).encode()
+                .substring(0, 6)));
+    }
+}
@@ -8,7 +8,10 @@ import ru.practicum.explorewithme.dto.NewCompilationDto;
 import ru.practicum.explorewithme.dto.UpdateCompilationRequest;
 import ru.practicum.explorewithme.model.Compilation;
 import ru.practicum.explorewithme.model.Event;
+import ru.practicum.explorewithme.service.CategoryRegistry;
+import ru.practicum.explorewithme.service.EventViewsProvider;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -16,6 +19,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
 
 class CompilationMapperTest {
 
@@ -23,7 +27,8 @@ class CompilationMapperTest {
 
     @BeforeEach
     void setUp() {
-        EventMapper stubEventMapper = new EventMapper(new CategoryMapper(), new UserMapper());
+        EventMapper stubEventMapper = new EventMapper(new CategoryMapper(), new UserMapper(),
+                mock(CategoryRegistry.class), mock(EventViewsProvider.class));
         mapper = new CompilationMapper(stubEventMapper);
     }
 
@@ -52,12 +57,15 @@ class CompilationMapperTest {
 
         compilation.setEvents(Set.of(event1, event2));
 
-        EventMapper stubEventMapper = new EventMapper(new CategoryMapper(), new UserMapper()) {
+        EventMapper stubEventMapper = new EventMapper(new CategoryMapper(), new UserMapper(),
+                mock(CategoryRegistry.class), mock(EventViewsProvider.class)) {
             @Override
-            public EventShortDto toEventShortDto(Event event) {
-                EventShortDto dto = new EventShortDto();
-                dto.setId(event.getId());
-                return dto;
+            public List<EventShortDto> toEventShortDtos(Collection<Event> events) {
+                return events.stream().map(event -> {
+                    EventShortDto dto = new EventShortDto();
+                    dto.setId(event.getId());
+                    return dto;
+                }).toList();
             }
         };
         CompilationMapper mapper = new CompilationMapper(stubEventMapper);
@@ -2,6 +2,7 @@ package ru.practicum.explorewithme.mapper;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import ru.practicum.explorewithme.dto.EventShortDto;
 import ru.practicum.explorewithme.dto.NewEventDto;
 import ru.practicum.explorewithme.dto.UpdateEventAdminRequest;
 import ru.practicum.explorewithme.dto.UpdateEventUserRequest;
@@ -9,18 +10,30 @@ import ru.practicum.explorewithme.exception.ValidationException;
 import ru.practicum.explorewithme.model.Category;
 import ru.practicum.explorewithme.model.Event;
 import ru.practicum.explorewithme.model.EventState;
+import ru.practicum.explorewithme.service.CategoryRegistry;
+import ru.practicum.explorewithme.service.EventViewsProvider;
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 class EventMapperTest {
 
+    private final EventViewsProvider eventViewsProvider = mock(EventViewsProvider.class);
+
     private EventMapper mapper;
 
     @BeforeEach
     void setUp() {
-        mapper = new EventMapper(new CategoryMapper(), new UserMapper());
+        mapper = new EventMapper(new CategoryMapper(), new UserMapper(), mock(CategoryRegistry.class),
+                eventViewsProvider);
     }
 
     @Test
@@ -61,6 +74,26 @@ class EventMapperTest {
         assertEquals(101L, dto.getCategory().getId());
     }
 
+    @Test
+    void toEventShortDtos_shouldLookUpViewsOfPublishedEventsInOneCall() {
+        Event published = event(1L, EventState.PUBLISHED, 3L);
+        Event unreachable = event(2L, EventState.PUBLISHED, 4L);
+        Event pending = event(3L, EventState.PENDING, 5L);
+        when(eventViewsProvider.getViews(List.of(1L, 2L))).thenReturn(Map.of(1L, 10L));
+
+        List<EventShortDto> dtos = mapper.toEventShortDtos(List.of(published, unreachable, pending));
+
+        assertEquals(List.of(10L, 4L, 5L), dtos.stream().map(EventShortDto::getViews).toList());
+        verify(eventViewsProvider, times(1)).getViews(any());
+    }
+
+    @Test
+    void toEventFullDto_shouldTakeViewsFromStats() {
+        when(eventViewsProvider.getViews(List.of(1L))).thenReturn(Map.of(1L, 42L));
+
+        assertEquals(42L, mapper.toEventFullDto(event(1L, EventState.PUBLISHED, 0L)).getViews());
+    }
+
     @Test
     void toEvent_shouldMapNewEventDto() {
         NewEventDto dto = new NewEventDto();
@@ -79,6 +112,15 @@ class EventMapperTest {
         assertThrows(ValidationException.class, () -> mapper.toEvent(dto));
     }
 
+    private static Event event(Long id, EventState state, Long storedViews) {
+        Event event = new Event();
+        event.setId(id);
+        event.setState(state);
+        event.setViews(storedViews);
+        event.setCategory(new Category(100L, "Music"));
+        return event;
+    }
+
     @Test
     void updateEventFromAdminRequest_shouldUpdateFieldsAndChangeState() {
         Event event = new Event();
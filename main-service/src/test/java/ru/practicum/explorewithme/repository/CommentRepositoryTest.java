@@ -74,7 +74,7 @@ class CommentRepositoryTest {
         Pageable pageable = PageRequest.of(0, 10, Sort.by("createdOn").descending());
         List<Comment> comments = commentRepository.findAllByEventIdAndStatus(
                 event.getId(), CommentStatus.PENDING, pageable
-        );
+        ).getContent();
 
         assertNotNull(comments);
         assertEquals(1, comments.size());
@@ -86,7 +86,7 @@ class CommentRepositoryTest {
         Pageable pageable = PageRequest.of(0, 10);
         List<Comment> comments = commentRepository.findAllByEventIdAndStatus(
                 999L, CommentStatus.PENDING, pageable
-        );
+        ).getContent();
 
         assertNotNull(comments);
         assertTrue(comments.isEmpty());
@@ -95,7 +95,7 @@ class CommentRepositoryTest {
     @Test
     void findAllByAuthorId_shouldReturnCommentsForUser() {
         Pageable pageable = PageRequest.of(0, 10, Sort.by("createdOn").descending());
-        List<Comment> comments = commentRepository.findAllByAuthorId(user.getId(), pageable);
+        List<Comment> comments = commentRepository.findAllByAuthorId(user.getId(), pageable).getContent();
 
         assertNotNull(comments);
         assertEquals(1, comments.size());
@@ -105,7 +105,7 @@ class CommentRepositoryTest {
     @Test
     void findAllByAuthorId_shouldReturnEmptyListForNonExistingUser() {
         Pageable pageable = PageRequest.of(0, 10);
-        List<Comment> comments = commentRepository.findAllByAuthorId(999L, pageable);
+        List<Comment> comments = commentRepository.findAllByAuthorId(999L, pageable).getContent();
 
         assertNotNull(comments);
         assertTrue(comments.isEmpty());
@@ -189,4 +189,46 @@ class CommentRepositoryTest {
         Optional<Comment> deletedComment = commentRepository.findById(comment.getId());
         assertFalse(deletedComment.isPresent());
     }
-}
\ No newline at end of file
+
+    @Test
+    void findPendingCommentsAfter_shouldContinueFromCursor() {
+        persistComment(CommentStatus.PENDING);
+        persistComment(CommentStatus.PENDING);
+        persistComment(CommentStatus.PUBLISHED);
+        entityManager.flush();
+
+        List<Comment> pending = commentRepository.findPendingComments(
+                PageRequest.of(0, 10, Sort.by("createdOn").and(Sort.by("id")))).getContent();
+        Comment first = pending.get(0);
+
+        List<Comment> result = commentRepository.findPendingCommentsAfter(first.getCreatedOn(), first.getId(),
+                PageRequest.of(0, 10)).getContent();
+
+        assertEquals(pending.subList(1, 3).stream().map(Comment::getId).toList(),
+                result.stream().map(Comment::getId).toList());
+    }
+
+    @Test
+    void findUserCommentsAfter_shouldReturnOlderComments() {
+        persistComment(CommentStatus.PUBLISHED);
+        entityManager.flush();
+
+        List<Comment> all = commentRepository.findAllByAuthorId(user.getId(), PageRequest.of(0, 10,
+                Sort.by("createdOn").descending().and(Sort.by("id").descending()))).getContent();
+        Comment newest = all.get(0);
+
+        List<Comment> result = commentRepository.findUserCommentsAfter(user.getId(), newest.getCreatedOn(),
+                newest.getId(), PageRequest.of(0, 10)).getContent();
+
+        assertEquals(List.of(all.get(1).getId()), result.stream().map(Comment::getId).toList());
+    }
+
+    private Comment persistComment(CommentStatus status) {
+        Comment newComment = new Comment();
+        newComment.setText("Another comment");
+        newComment.setEvent(event);
+        newComment.setAuthor(user);
+        newComment.setStatus(status);
+        return entityManager.persist(newComment);
+    }
+}
@@ -44,6 +44,18 @@ class CompilationRepositoryTest {
         assertEquals("Not Pinned Compilation", notPinned.get(0).getTitle());
     }
 
+    @Test
+    void testFindPageIdsByPinned() {
+        Compilation first = compilationRepository.save(Compilation.builder().pinned(true).title("First").build());
+        compilationRepository.save(Compilation.builder().pinned(false).title("Not Pinned").build());
+        Compilation second = compilationRepository.save(Compilation.builder().pinned(true).title("Second").build());
+
+        assertEquals(List.of(first.getId(), second.getId()),
+                compilationRepository.findPageIdsByPinned(true, PageRequest.of(0, 10)));
+        assertEquals(List.of(second.getId()), compilationRepository.findPageIdsByPinned(true, PageRequest.of(1, 1)));
+        assertEquals(3, compilationRepository.findPageIds(PageRequest.of(0, 10)).size());
+    }
+
     @Test
     void testSaveAndFindById() {
         Compilation compilation = new Compilation();
@@ -6,6 +6,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import ru.practicum.explorewithme.model.Category;
 import ru.practicum.explorewithme.model.Event;
 import ru.practicum.explorewithme.model.EventState;
@@ -14,6 +17,7 @@ import ru.practicum.explorewithme.model.User;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -37,7 +41,7 @@ class EventRepositoryTest {
     private CategoryRepository categoryRepository;
 
     @Test
-    void testIncrementViews() {
+    void testAddViews() {
         User user = createUser();
         Category category = createCategory();
         Event event = createEvent(user, category, EventState.PUBLISHED);
@@ -47,14 +51,46 @@ class EventRepositoryTest {
         entityManager.flush();
         entityManager.clear();
 
-        eventRepository.incrementViews(saved.getId());
+        eventRepository.addViews(Map.of(saved.getId(), 3L));
 
         entityManager.flush();
         entityManager.clear();
         Event updated = eventRepository.findById(saved.getId()).orElse(null);
 
         assertNotNull(updated);
-        assertEquals(6L, updated.getViews());
+        assertEquals(8L, updated.getViews());
+    }
+
+    @Test
+    void testSetViews() {
+        User user = createUser();
+        Category category = createCategory();
+        Event event = createEvent(user, category, EventState.PUBLISHED);
+        event.setViews(5L);
+        Event saved = eventRepository.save(event);
+        entityManager.flush();
+        entityManager.clear();
+
+        eventRepository.setViews(Map.of(saved.getId(), 3L));
+
+        entityManager.flush();
+        entityManager.clear();
+        assertEquals(3L, eventRepository.findById(saved.getId()).map(Event::getViews).orElse(null));
+    }
+
+    @Test
+    void testFindPublishedIdsAfter() {
+        User user = createUser();
+        Category category = createCategory();
+        Event first = eventRepository.save(createEvent(user, category, EventState.PUBLISHED));
+        eventRepository.save(createEvent(user, category, EventState.PENDING));
+        Event second = eventRepository.save(createEvent(user, category, EventState.PUBLISHED));
+        Event third = eventRepository.save(createEvent(user, category, EventState.PUBLISHED));
+
+        assertEquals(List.of(first.getId(), second.getId()),
+                eventRepository.findPublishedIdsAfter(0L, PageRequest.of(0, 2)));
+        assertEquals(List.of(third.getId()),
+                eventRepository.findPublishedIdsAfter(second.getId(), PageRequest.of(0, 2)));
     }
 
     @Test
@@ -68,7 +104,7 @@ class EventRepositoryTest {
 
         Pageable pageable = PageRequest.of(0, 10);
 
-        List<Event> result = eventRepository.findAllByInitiatorId(user.getId(), pageable);
+        List<Event> result = eventRepository.findAllByInitiatorId(user.getId(), pageable).getContent();
 
         assertEquals(2, result.size());
     }
@@ -102,46 +138,6 @@ class EventRepositoryTest {
         assertFalse(notExists);
     }
 
-    @Test
-    void testFindByState() {
-        User user = createUser();
-        Category category = createCategory();
-
-        Event event1 = createEvent(user, category, EventState.PUBLISHED);
-        Event event2 = createEvent(user, category, EventState.CANCELED);
-        eventRepository.saveAll(List.of(event1, event2));
-
-        Pageable pageable = PageRequest.of(0, 10);
-
-        var published = eventRepository.findByState(EventState.PUBLISHED, pageable);
-        var canceled = eventRepository.findByState(EventState.CANCELED, pageable);
-
-        assertEquals(1, published.getTotalElements());
-        assertEquals(1, canceled.getTotalElements());
-    }
-
-    @Test
-    void testFindByStateAndCategoryIdIn() {
-        User user = createUser();
-        Category category1 = createCategory("Category 1");
-        Category category2 = createCategory("Category 2");
-
-        Event event1 = createEvent(user, category1, EventState.PUBLISHED);
-        Event event2 = createEvent(user, category2, EventState.PUBLISHED);
-        eventRepository.saveAll(List.of(event1, event2));
-
-        Pageable pageable = PageRequest.of(0, 10);
-
-        var result = eventRepository.findByStateAndCategoryIdIn(
-                EventState.PUBLISHED,
-                List.of(category1.getId()),
-                pageable
-        );
-
-        assertEquals(1, result.getTotalElements());
-        assertEquals(event1.getId(), result.getContent().get(0).getId());
-    }
-
     @Test
     void testExistsByIdAndInitiatorId() {
         User user = createUser();
@@ -199,10 +195,212 @@ class EventRepositoryTest {
                 pageable
         );
 
-        assertEquals(1, result.getTotalElements());
+        assertEquals(1, result.getNumberOfElements());
         assertEquals(event1.getId(), result.getContent().get(0).getId());
     }
 
+    @Test
+    void testFindSliceBySpecificationFiltersBeforePaging() {
+        User user = createUser();
+        Category category = createCategory();
+
+        Event free = createEvent(user, category, EventState.PUBLISHED);
+        Event paid1 = createEvent(user, category, EventState.PUBLISHED);
+        paid1.setPaid(true);
+        Event paid2 = createEvent(user, category, EventState.PUBLISHED);
+        paid2.setPaid(true);
+        Event pendingPaid = createEvent(user, category, EventState.PENDING);
+        pendingPaid.setPaid(true);
+        eventRepository.saveAll(List.of(free, paid1, paid2, pendingPaid));
+
+        Specification<Event> spec = Specification.where(EventSpecifications.hasState(EventState.PUBLISHED))
+                .and(EventSpecifications.isPaid(true));
+
+        var firstPage = eventRepository.findSlice(spec, PageRequest.of(0, 2, Sort.by("id")));
+
+        assertEquals(2, firstPage.getContent().size());
+        assertEquals(List.of(paid1.getId(), paid2.getId()),
+                firstPage.getContent().stream().map(Event::getId).toList());
+    }
+
+    @Test
+    void testFindSliceBySpecificationWithTextAndDateRange() {
+        User user = createUser();
+        Category category = createCategory();
+        LocalDateTime now = LocalDateTime.now();
+
+        Event matching = createEvent(user, category, EventState.PUBLISHED);
+        matching.setAnnotation("Open air CONCERT in the park");
+        matching.setEventDate(now.plusDays(2));
+        Event tooLate = createEvent(user, category, EventState.PUBLISHED);
+        tooLate.setDescription("Concert description");
+        tooLate.setEventDate(now.plusDays(10));
+        Event otherText = createEvent(user, category, EventState.PUBLISHED);
+        otherText.setEventDate(now.plusDays(2));
+        eventRepository.saveAll(List.of(matching, tooLate, otherText));
+
+        Specification<Event> spec = Specification.where(EventSpecifications.hasState(EventState.PUBLISHED))
+                .and(EventSpecifications.textContains("concert"))
+                .and(EventSpecifications.eventDateFrom(now))
+                .and(EventSpecifications.eventDateTo(now.plusDays(5)));
+
+        var result = eventRepository.findSlice(spec, PageRequest.of(0, 10));
+
+        assertEquals(1, result.getContent().size());
+        assertEquals(matching.getId(), result.getContent().get(0).getId());
+    }
+
+    @Test
+    void testFindSliceBySpecificationOnlyAvailable() {
+        User initiator = createUser();
+        Category category = createCategory();
+
+        Event full = createEvent(initiator, category, EventState.PUBLISHED);
+        full.setParticipantLimit(1);
+        full.setConfirmedRequests(1);
+        Event open = createEvent(initiator, category, EventState.PUBLISHED);
+        open.setParticipantLimit(2);
+        open.setConfirmedRequests(1);
+        Event unlimited = createEvent(initiator, category, EventState.PUBLISHED);
+        unlimited.setConfirmedRequests(5);
+        eventRepository.saveAll(List.of(full, open, unlimited));
+        entityManager.flush();
+
+        Specification<Event> spec = Specification.where(EventSpecifications.hasState(EventState.PUBLISHED))
+                .and(EventSpecifications.hasAvailableSlots());
+
+        var result = eventRepository.findSlice(spec, PageRequest.of(0, 10, Sort.by("id")));
+
+        assertEquals(List.of(open.getId(), unlimited.getId()),
+                result.getContent().stream().map(Event::getId).toList());
+    }
+
+    @Test
+    void testFindSliceBySpecificationOrderedByRelevance() {
+        User user = createUser();
+        Category category = createCategory();
+
+        Event inDescription = createEvent(user, category, EventState.PUBLISHED);
+        inDescription.setDescription("Evening jazz concert");
+        Event inAnnotation = createEvent(user, category, EventState.PUBLISHED);
+        inAnnotation.setAnnotation("Jazz concert under the stars");
+        Event unrelated = createEvent(user, category, EventState.PUBLISHED);
+        unrelated.setAnnotation("Jazz lecture");
+        eventRepository.saveAll(List.of(inDescription, inAnnotation, unrelated));
+
+        String searchQuery = EventSpecifications.toSearchQuery("Jazz, CONCERT!");
+        Specification<Event> spec = Specification.where(EventSpecifications.hasState(EventState.PUBLISHED))
+                .and(EventSpecifications.textMatches(searchQuery))
+                .and(EventSpecifications.orderByRelevance(searchQuery));
+
+        var result = eventRepository.findSlice(spec, PageRequest.of(0, 10));
+
+        assertEquals("jazz concert", searchQuery);
+        assertFalse(result.hasNext());
+        assertEquals(List.of(inAnnotation.getId(), inDescription.getId()),
+                result.getContent().stream().map(Event::getId).toList());
+    }
+
+    @Test
+    void testFindPublishedById() {
+        User user = createUser();
+        Category category = createCategory();
+        Event published = eventRepository.save(createEvent(user, category, EventState.PUBLISHED));
+        Event pending = eventRepository.save(createEvent(user, category, EventState.PENDING));
+        entityManager.flush();
+        entityManager.clear();
+
+        Optional<Event> result = eventRepository.findPublishedById(published.getId());
+
+        assertTrue(result.isPresent());
+        assertEquals("Test Category", result.get().getCategory().getName());
+        assertEquals("Test User", result.get().getInitiator().getName());
+        assertFalse(eventRepository.findPublishedById(pending.getId()).isPresent());
+    }
+
+    @Test
+    void testAddConfirmedRequestsIsAtomicAndSurvivesEntityUpdates() {
+        Event event = createEvent(createUser(), createCategory(), EventState.PUBLISHED);
+        event.setConfirmedRequests(null);
+        Event saved = eventRepository.save(event);
+        entityManager.flush();
+
+        assertEquals(1, eventRepository.addConfirmedRequests(saved.getId(), 2));
+        eventRepository.addConfirmedRequests(saved.getId(), -1);
+        saved.setTitle("Renamed");
+        saved.setConfirmedRequests(100);
+        eventRepository.saveAndFlush(saved);
+        entityManager.clear();
+
+        Event reloaded = eventRepository.findById(saved.getId()).orElseThrow();
+        assertEquals("Renamed", reloaded.getTitle());
+        assertEquals(1, reloaded.getConfirmedRequests());
+    }
+
+    @Test
+    void testFindSliceReportsHasNextWithoutCounting() {
+        User user = createUser();
+        Category category = createCategory();
+        List<Event> events = eventRepository.saveAll(List.of(createEvent(user, category, EventState.PUBLISHED),
+                createEvent(user, category, EventState.PUBLISHED), createEvent(user, category, EventState.PUBLISHED),
+                createEvent(user, category, EventState.PENDING)));
+        Specification<Event> spec = EventSpecifications.hasState(EventState.PUBLISHED);
+
+        Slice<Event> first = eventRepository.findSlice(spec, PageRequest.of(0, 2, Sort.by("id")));
+        Slice<Event> last = eventRepository.findSlice(spec, PageRequest.of(1, 2, Sort.by("id")));
+
+        assertEquals(List.of(events.get(0).getId(), events.get(1).getId()),
+                first.getContent().stream().map(Event::getId).toList());
+        assertTrue(first.hasNext());
+        assertEquals(List.of(events.get(2).getId()), last.getContent().stream().map(Event::getId).toList());
+        assertFalse(last.hasNext());
+    }
+
+    @Test
+    void testFindBySpecificationAfterEventDate() {
+        User user = createUser();
+        Category category = createCategory();
+        LocalDateTime date = LocalDateTime.now().plusDays(5).withNano(0);
+
+        Event later = createEvent(user, category, EventState.PUBLISHED);
+        later.setEventDate(date.plusDays(1));
+        Event sameDateFirst = createEvent(user, category, EventState.PUBLISHED);
+        sameDateFirst.setEventDate(date);
+        Event sameDateSecond = createEvent(user, category, EventState.PUBLISHED);
+        sameDateSecond.setEventDate(date);
+        Event earlier = createEvent(user, category, EventState.PUBLISHED);
+        earlier.setEventDate(date.minusDays(1));
+        eventRepository.saveAll(List.of(later, sameDateFirst, sameDateSecond, earlier));
+
+        Specification<Event> spec = Specification.where(EventSpecifications.hasState(EventState.PUBLISHED))
+                .and(EventSpecifications.afterEventDate(sameDateFirst.getEventDate(), sameDateFirst.getId()));
+        List<Event> result = eventRepository.findBy(spec, query -> query
+                .project("category", "initiator")
+                .sortBy(Sort.by("eventDate").descending().and(Sort.by("id")))
+                .limit(2)
+                .all());
+
+        assertEquals(List.of(sameDateSecond.getId(), earlier.getId()), result.stream().map(Event::getId).toList());
+    }
+
+    @Test
+    void testFindAllByInitiatorIdAndIdLessThan() {
+        User user = createUser();
+        Category category = createCategory();
+        List<Event> events = eventRepository.saveAll(List.of(createEvent(user, category, EventState.PENDING),
+                createEvent(user, category, EventState.PENDING), createEvent(user, category, EventState.PENDING)));
+
+        Slice<Event> result = eventRepository.findAllByInitiatorIdAndIdLessThan(user.getId(), events.get(2).getId(),
+                PageRequest.of(0, 1, Sort.by("id").descending()));
+        Slice<Event> last = eventRepository.findAllByInitiatorIdAndIdLessThan(user.getId(), events.get(1).getId(),
+                PageRequest.of(0, 1, Sort.by("id").descending()));
+
+        assertEquals(List.of(events.get(1).getId()), result.stream().map(Event::getId).toList());
+        assertTrue(result.hasNext());
+        assertEquals(List.of(events.get(0).getId()), last.stream().map(Event::getId).toList());
+        assertFalse(last.hasNext());
+    }
+
     private User createUser() {
         return createUser("test@email.com");
     }
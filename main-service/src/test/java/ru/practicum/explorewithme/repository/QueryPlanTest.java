@@ -0,0 +1,85 @@
+package ru.practicum.explorewithme.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {"spring.flyway.enabled=true", "spring.jpa.hibernate.ddl-auto=validate"})
+class QueryPlanTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void publishedEventsByDate_shouldUseStateEventDateIndex() {
+        assertUsesIndex("ix_events_state_event_date",
+                "SELECT id FROM events WHERE state = 'PUBLISHED' AND event_date > CURRENT_TIMESTAMP "
+                        + "ORDER BY event_date");
+    }
+
+    @Test
+    void publishedEventsByViews_shouldUseStateViewsIndex() {
+        assertUsesIndex("ix_events_state_views",
+                "SELECT id FROM events WHERE state = 'PUBLISHED' ORDER BY views DESC, id LIMIT 10");
+    }
+
+    @Test
+    void eventsByCategory_shouldUseCategoryIndex() {
+        assertUsesIndex("ix_events_category_id", "fk_events_to_categories",
+                "SELECT id FROM events WHERE category_id = 1");
+    }
+
+    @Test
+    void eventsByInitiator_shouldUseInitiatorIndex() {
+        assertUsesIndex("ix_events_initiator_id", "fk_events_to_users",
+                "SELECT id FROM events WHERE initiator_id = 1");
+    }
+
+    @Test
+    void confirmedRequestCounts_shouldUseEventStatusIndex() {
+        assertUsesIndex("ix_requests_event_id_status",
+                "SELECT event_id, COUNT(id) FROM participation_requests "
+                        + "WHERE event_id IN (1, 2, 3) AND status = 'CONFIRMED' GROUP BY event_id");
+    }
+
+    @Test
+    void requestsByRequester_shouldUseRequesterIndex() {
+        assertUsesIndex("ix_requests_requester_id", "fk_pr_to_users",
+                "SELECT id FROM participation_requests WHERE requester_id = 1");
+    }
+
+    @Test
+    void publishedEventComments_shouldUseEventStatusCreatedIndex() {
+        assertUsesIndex("ix_comments_event_id_status_created_on",
+                "SELECT id FROM comments WHERE event_id = 1 AND status = 'PUBLISHED' ORDER BY created_on DESC");
+    }
+
+    @Test
+    void pendingComments_shouldUseStatusCreatedIndex() {
+        assertUsesIndex("ix_comments_status_created_on",
+                "SELECT id FROM comments WHERE status = 'PENDING' ORDER BY created_on");
+    }
+
+    private void assertUsesIndex(String index, String sql) {
+        String plan = explain(sql);
+
+        assertTrue(plan.contains(index), plan);
+        assertFalse(plan.contains("tablescan"), plan);
+    }
+
+    // H2 backs every foreign key with its own index, PostgreSQL relies on the ones from V2
+    private void assertUsesIndex(String index, String foreignKey, String sql) {
+        String plan = explain(sql);
+
+        assertTrue(plan.contains(index) || plan.contains(foreignKey), plan);
+        assertFalse(plan.contains("tablescan"), plan);
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class).toLowerCase();
+    }
+}
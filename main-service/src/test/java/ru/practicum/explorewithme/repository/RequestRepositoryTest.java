@@ -15,6 +15,7 @@ import ru.practicum.explorewithme.model.User;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -23,6 +24,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
 class RequestRepositoryTest {
+    private static final AtomicLong SEQUENCE = new AtomicLong();
 
     @Autowired
     private RequestRepository requestRepository;
@@ -85,23 +87,6 @@ class RequestRepositoryTest {
         assertEquals(2, result.size());
     }
 
-    @Test
-    void testCountConfirmedRequestsByEventId() {
-        User user1 = createUser("user1@email.com");
-        User user2 = createUser("user2@email.com");
-        User user3 = createUser("user3@email.com");
-        Event event = createEvent();
-
-        ParticipationRequest request1 = createRequest(user1, event, RequestStatus.CONFIRMED);
-        ParticipationRequest request2 = createRequest(user2, event, RequestStatus.CONFIRMED);
-        ParticipationRequest request3 = createRequest(user3, event, RequestStatus.PENDING);
-        requestRepository.saveAll(List.of(request1, request2, request3));
-
-        Long count = requestRepository.countConfirmedRequestsByEventId(event.getId());
-
-        assertEquals(2L, count);
-    }
-
     @Test
     void testExistsByRequesterIdAndEventId() {
         User user = createUser();
@@ -169,7 +154,7 @@ class RequestRepositoryTest {
     }
 
     private Event createEvent() {
-        User user = createUser("event_owner_" + System.currentTimeMillis() + "@email.com");
+        User user = createUser("event_owner_" + SEQUENCE.incrementAndGet() + "@email.com");
         Category category = createCategory();
 
         Event event = new Event();
@@ -189,7 +174,7 @@ class RequestRepositoryTest {
 
     private Category createCategory() {
         Category category = new Category();
-        category.setName("Test Category " + System.currentTimeMillis());
+        category.setName("Test Category " + SEQUENCE.incrementAndGet());
         return categoryRepository.save(category);
     }
 
@@ -5,6 +5,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import ru.practicum.explorewithme.model.User;
 
 import java.util.List;
@@ -56,7 +57,7 @@ class UserRepositoryTest {
         List<User> result = userRepository.findAllByIdIn(
                 List.of(saved1.getId(), saved2.getId()),
                 pageable
-        );
+        ).getContent();
 
         assertEquals(2, result.size());
         assertTrue(result.stream().anyMatch(u -> u.getEmail().equals("user1@email.com")));
@@ -107,6 +108,22 @@ class UserRepositoryTest {
         assertFalse(userRepository.existsById(saved.getId()));
     }
 
+    @Test
+    void testFindAllByIdGreaterThan() {
+        List<User> users = userRepository.saveAll(List.of(
+                User.builder().name("User A").email("a@email.com").build(),
+                User.builder().name("User B").email("b@email.com").build(),
+                User.builder().name("User C").email("c@email.com").build()));
+        Pageable page = PageRequest.of(0, 1, Sort.by("id"));
+
+        List<User> result = userRepository.findAllByIdGreaterThan(users.get(0).getId(), page).getContent();
+        List<User> filtered = userRepository.findAllByIdInAndIdGreaterThan(
+                List.of(users.get(0).getId(), users.get(2).getId()), users.get(0).getId(), page).getContent();
+
+        assertEquals(List.of(users.get(1).getId()), result.stream().map(User::getId).toList());
+        assertEquals(List.of(users.get(2).getId()), filtered.stream().map(User::getId).toList());
+    }
+
     @Test
     void testFindAllByIdInWithPagination() {
         for (int i = 1; i <= 5; i++) {
@@ -122,8 +139,8 @@ class UserRepositoryTest {
         Pageable firstPage = PageRequest.of(0, 2);
         Pageable secondPage = PageRequest.of(1, 2);
 
-        List<User> firstPageResult = userRepository.findAllByIdIn(allIds, firstPage);
-        List<User> secondPageResult = userRepository.findAllByIdIn(allIds, secondPage);
+        List<User> firstPageResult = userRepository.findAllByIdIn(allIds, firstPage).getContent();
+        List<User> secondPageResult = userRepository.findAllByIdIn(allIds, secondPage).getContent();
 
         assertEquals(2, firstPageResult.size());
         assertEquals(2, secondPageResult.size());
@@ -0,0 +1,117 @@
+package ru.practicum.explorewithme.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.explorewithme.dto.CategoryDto;
+import ru.practicum.explorewithme.model.Category;
+import ru.practicum.explorewithme.repository.CategoryRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryRegistryTest {
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @InjectMocks
+    private CategoryRegistry categoryRegistry;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void find_shouldLoadCategoriesOnce() {
+        when(categoryRepository.findAll()).thenReturn(List.of(new Category(1L, "Concerts")));
+
+        assertEquals(Optional.of(new CategoryDto(1L, "Concerts")), categoryRegistry.find(1L));
+        assertEquals(Optional.empty(), categoryRegistry.find(2L));
+        assertTrue(categoryRegistry.contains(1L));
+        verify(categoryRepository, times(1)).findAll();
+    }
+
+    @Test
+    void getPage_shouldReturnCategoriesByIdDescending() {
+        when(categoryRepository.findAll()).thenReturn(List.of(new Category(1L, "A"), new Category(2L, "B"),
+                new Category(3L, "C"), new Category(4L, "D"), new Category(5L, "E")));
+
+        Slice<CategoryDto> first = categoryRegistry.getPage(0, 2);
+        assertEquals(List.of(new CategoryDto(5L, "E"), new CategoryDto(4L, "D")), first.getContent());
+        assertTrue(first.hasNext());
+        assertEquals(List.of(new CategoryDto(3L, "C"), new CategoryDto(2L, "B")),
+                categoryRegistry.getPage(3, 2).getContent());
+        Slice<CategoryDto> fullLastPage = categoryRegistry.getPage(0, 5);
+        assertEquals(5, fullLastPage.getNumberOfElements());
+        assertFalse(fullLastPage.hasNext());
+        assertEquals(List.of(), categoryRegistry.getPage(10, 5).getContent());
+    }
+
+    @Test
+    void getPageAfter_shouldSeekBelowCursor() {
+        when(categoryRepository.findAll()).thenReturn(List.of(new Category(1L, "A"), new Category(2L, "B"),
+                new Category(3L, "C"), new Category(5L, "E")));
+
+        Slice<CategoryDto> page = categoryRegistry.getPageAfter(5L, 2);
+        assertEquals(List.of(new CategoryDto(3L, "C"), new CategoryDto(2L, "B")), page.getContent());
+        assertTrue(page.hasNext());
+        Slice<CategoryDto> fullLastPage = categoryRegistry.getPageAfter(3L, 2);
+        assertEquals(List.of(new CategoryDto(2L, "B"), new CategoryDto(1L, "A")), fullLastPage.getContent());
+        assertFalse(fullLastPage.hasNext());
+        assertEquals(List.of(), categoryRegistry.getPageAfter(1L, 10).getContent());
+    }
+
+    @Test
+    void put_shouldApplyImmediatelyWithoutTransaction() {
+        when(categoryRepository.findAll()).thenReturn(List.of(new Category(1L, "Concerts")));
+
+        categoryRegistry.put(1L, "Theatre");
+        categoryRegistry.put(2L, "Cinema");
+
+        assertEquals(Optional.of(new CategoryDto(1L, "Theatre")), categoryRegistry.find(1L));
+        assertTrue(categoryRegistry.contains(2L));
+    }
+
+    @Test
+    void remove_shouldApplyOnlyAfterCommit() {
+        when(categoryRepository.findAll()).thenReturn(List.of(new Category(1L, "Concerts")));
+        TransactionSynchronizationManager.initSynchronization();
+
+        categoryRegistry.remove(1L);
+
+        assertTrue(categoryRegistry.contains(1L));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertFalse(categoryRegistry.contains(1L));
+    }
+
+    @Test
+    void reload_shouldReplaceSnapshot() {
+        when(categoryRepository.findAll())
+                .thenReturn(List.of(new Category(1L, "Concerts")))
+                .thenReturn(List.of(new Category(2L, "Cinema")));
+
+        categoryRegistry.reload();
+        categoryRegistry.reload();
+
+        assertFalse(categoryRegistry.contains(1L));
+        assertTrue(categoryRegistry.contains(2L));
+    }
+}
@@ -5,10 +5,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.SliceImpl;
 import ru.practicum.explorewithme.dto.CategoryDto;
 import ru.practicum.explorewithme.dto.NewCategoryDto;
 import ru.practicum.explorewithme.exception.ConflictException;
@@ -30,6 +27,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -44,6 +42,15 @@ class CategoryServiceImplTest {
     @Mock
     private CategoryMapper categoryMapper;
 
+    @Mock
+    private EventDetailsCache eventDetailsCache;
+
+    @Mock
+    private CategoryRegistry categoryRegistry;
+
+    @Mock
+    private CompilationJsonCache compilationJsonCache;
+
     @InjectMocks
     private CategoryServiceImpl categoryService;
 
@@ -64,6 +71,7 @@ class CategoryServiceImplTest {
         assertEquals(expectedDto, result);
         verify(categoryRepository).existsByName("Test Category");
         verify(categoryRepository).save(category);
+        verify(categoryRegistry).put(1L, "Test Category");
     }
 
     @Test
@@ -87,6 +95,7 @@ class CategoryServiceImplTest {
         assertDoesNotThrow(() -> categoryService.deleteCategory(catId));
         verify(eventRepository).existsByCategoryId(catId);
         verify(categoryRepository).deleteById(catId);
+        verify(categoryRegistry).remove(catId);
     }
 
     @Test
@@ -98,6 +107,7 @@ class CategoryServiceImplTest {
         assertThrows(ConflictException.class, () -> categoryService.deleteCategory(catId));
         verify(eventRepository).existsByCategoryId(catId);
         verify(categoryRepository, never()).deleteById(any());
+        verify(categoryRegistry, never()).remove(any());
     }
 
     @Test
@@ -121,6 +131,8 @@ class CategoryServiceImplTest {
         verify(categoryRepository).findById(catId);
         verify(categoryRepository).existsByName("Updated Category");
         verify(categoryRepository).save(existingCategory);
+        verify(eventDetailsCache).invalidateCategory(catId);
+        verify(categoryRegistry).put(catId, "Updated Category");
     }
 
     @Test
@@ -171,68 +183,53 @@ class CategoryServiceImplTest {
     }
 
     @Test
-    void getCategories_shouldReturnCategories() {
-        Integer from = 0;
-        Integer size = 10;
-        PageRequest pageRequest = PageRequest.of(0, size, Sort.by("id").descending());
-        Category category1 = new Category(1L, "Category 1");
-        Category category2 = new Category(2L, "Category 2");
-        Page<Category> categoryPage = new PageImpl<>(List.of(category1, category2));
-        CategoryDto dto1 = new CategoryDto(1L, "Category 1");
-        CategoryDto dto2 = new CategoryDto(2L, "Category 2");
-
-        when(categoryRepository.findAll(pageRequest)).thenReturn(categoryPage);
-        when(categoryMapper.toCategoryDto(category1)).thenReturn(dto1);
-        when(categoryMapper.toCategoryDto(category2)).thenReturn(dto2);
-
-        List<CategoryDto> result = categoryService.getCategories(from, size);
+    void getCategories_shouldReturnCategoriesFromRegistry() {
+        CategoryDto dto1 = new CategoryDto(2L, "Category 2");
+        CategoryDto dto2 = new CategoryDto(1L, "Category 1");
+
+        when(categoryRegistry.getPage(0, 10)).thenReturn(new SliceImpl<>(List.of(dto1, dto2)));
+
+        List<CategoryDto> result = categoryService.getCategories(0, 10).getContent();
 
         assertNotNull(result);
         assertEquals(2, result.size());
         assertEquals(dto1, result.get(0));
         assertEquals(dto2, result.get(1));
-        verify(categoryRepository).findAll(pageRequest);
+        verifyNoInteractions(categoryRepository);
     }
 
     @Test
     void getCategories_shouldHandlePagination() {
-        Integer from = 10;
-        Integer size = 5;
-        PageRequest pageRequest = PageRequest.of(2, size, Sort.by("id").descending());
-        Page<Category> categoryPage = new PageImpl<>(List.of());
-
-        when(categoryRepository.findAll(pageRequest)).thenReturn(categoryPage);
+        when(categoryRegistry.getPage(10, 5)).thenReturn(new SliceImpl<>(List.of()));
 
-        List<CategoryDto> result = categoryService.getCategories(from, size);
+        List<CategoryDto> result = categoryService.getCategories(10, 5).getContent();
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
-        verify(categoryRepository).findAll(pageRequest);
+        verify(categoryRegistry).getPage(10, 5);
     }
 
     @Test
     void getCategory_shouldReturnCategory() {
         Long catId = 1L;
-        Category category = new Category(catId, "Test Category");
         CategoryDto expectedDto = new CategoryDto(catId, "Test Category");
 
-        when(categoryRepository.findById(catId)).thenReturn(Optional.of(category));
-        when(categoryMapper.toCategoryDto(category)).thenReturn(expectedDto);
+        when(categoryRegistry.find(catId)).thenReturn(Optional.of(expectedDto));
 
         CategoryDto result = categoryService.getCategory(catId);
 
         assertNotNull(result);
         assertEquals(expectedDto, result);
-        verify(categoryRepository).findById(catId);
+        verifyNoInteractions(categoryRepository);
     }
 
     @Test
     void getCategory_shouldThrowNotFoundException() {
         Long catId = 1L;
 
-        when(categoryRepository.findById(catId)).thenReturn(Optional.empty());
+        when(categoryRegistry.find(catId)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> categoryService.getCategory(catId));
-        verify(categoryRepository).findById(catId);
+        verify(categoryRegistry).find(catId);
     }
-}
\ No newline at end of file
+}
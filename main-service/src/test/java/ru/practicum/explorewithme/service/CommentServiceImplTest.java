@@ -5,9 +5,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import ru.practicum.explorewithme.dto.CommentDto;
 import ru.practicum.explorewithme.dto.NewCommentDto;
@@ -233,10 +232,10 @@ class CommentServiceImplTest {
         );
 
         when(userRepository.existsById(userId)).thenReturn(true);
-        when(commentRepository.findAllByAuthorId(userId, pageRequest)).thenReturn(List.of(comment));
+        when(commentRepository.findAllByAuthorId(userId, pageRequest)).thenReturn(new SliceImpl<>(List.of(comment)));
         when(commentMapper.toCommentDto(comment)).thenReturn(commentDto);
 
-        List<CommentDto> result = commentService.getUserComments(userId, 0, 10);
+        List<CommentDto> result = commentService.getUserComments(userId, 0, 10).getContent();
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -262,10 +261,10 @@ class CommentServiceImplTest {
 
         when(eventRepository.existsById(eventId)).thenReturn(true);
         when(commentRepository.findAllByEventIdAndStatus(eventId, CommentStatus.PUBLISHED, pageRequest))
-                .thenReturn(List.of(comment));
+                .thenReturn(new SliceImpl<>(List.of(comment)));
         when(commentMapper.toCommentDto(comment)).thenReturn(commentDto);
 
-        List<CommentDto> result = commentService.getEventComments(eventId, 0, 10);
+        List<CommentDto> result = commentService.getEventComments(eventId, 0, 10).getContent();
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -375,12 +374,10 @@ class CommentServiceImplTest {
                 10,
                 Sort.by("createdOn").ascending()
         );
-        Page<Comment> page = new PageImpl<>(List.of(comment));
-
-        when(commentRepository.findPendingComments(pageRequest)).thenReturn(page);
+        when(commentRepository.findPendingComments(pageRequest)).thenReturn(new SliceImpl<>(List.of(comment)));
         when(commentMapper.toCommentDto(comment)).thenReturn(commentDto);
 
-        List<CommentDto> result = commentService.getPendingComments(0, 10);
+        List<CommentDto> result = commentService.getPendingComments(0, 10).getContent();
 
         assertNotNull(result);
         assertEquals(1, result.size());
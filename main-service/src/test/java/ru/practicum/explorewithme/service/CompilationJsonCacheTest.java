@@ -0,0 +1,102 @@
+package ru.practicum.explorewithme.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import ru.practicum.explorewithme.dto.CompilationDto;
+import ru.practicum.explorewithme.dto.EventShortDto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CompilationJsonCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final CompilationJsonCache cache = new CompilationJsonCache(objectMapper, 100, Duration.ofMinutes(1));
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void get_shouldSerializeOnce() throws Exception {
+        byte[] first = cache.get(1L, () -> load(1L, 10L));
+        byte[] second = cache.get(1L, () -> load(1L, 10L));
+
+        assertEquals(1, loads.get());
+        assertArrayEquals(first, second);
+        assertArrayEquals(objectMapper.writeValueAsBytes(compilation(1L, 10L)), first);
+    }
+
+    @Test
+    void getPage_shouldReuseCachedCompilations() {
+        byte[] first = cache.getPage(true, 0, 10, () -> List.of(load(1L, 10L), load(2L, 20L)));
+        byte[] second = cache.getPage(true, 0, 10, () -> List.of(load(1L, 10L), load(2L, 20L)));
+        byte[] single = cache.get(2L, () -> load(2L, 20L));
+
+        assertEquals(2, loads.get());
+        assertArrayEquals(first, second);
+        String json = new String(first, StandardCharsets.UTF_8);
+        assertEquals("[" + new String(cache.get(1L, () -> load(1L, 10L)), StandardCharsets.UTF_8) + ","
+                + new String(single, StandardCharsets.UTF_8) + "]", json);
+    }
+
+    @Test
+    void getPage_shouldRenderEmptyArray() {
+        assertEquals("[]", new String(cache.getPage(null, 0, 10, List::of), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void invalidateEvent_shouldDropOnlyCompilationsContainingEvent() {
+        cache.get(1L, () -> load(1L, 10L));
+        cache.get(2L, () -> load(2L, 20L));
+
+        cache.invalidateEvent(20L);
+        cache.get(1L, () -> load(1L, 10L));
+        cache.get(2L, () -> load(2L, 20L));
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void invalidate_shouldDropPages() {
+        cache.getPage(true, 0, 10, () -> List.of(load(1L, 10L)));
+
+        cache.invalidate(2L);
+        cache.getPage(true, 0, 10, () -> List.of(load(1L, 10L), load(2L, 20L)));
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void get_shouldNotStoreCompilationLoadedDuringInvalidation() {
+        cache.get(1L, () -> {
+            CompilationDto dto = load(1L, 10L);
+            cache.invalidate(1L);
+            return dto;
+        });
+        cache.get(1L, () -> load(1L, 10L));
+
+        assertEquals(2, loads.get());
+    }
+
+    private CompilationDto load(Long compId, Long eventId) {
+        loads.incrementAndGet();
+        return compilation(compId, eventId);
+    }
+
+    private static CompilationDto compilation(Long compId, Long eventId) {
+        EventShortDto event = new EventShortDto();
+        event.setId(eventId);
+        event.setTitle("Event " + eventId);
+        CompilationDto dto = new CompilationDto();
+        dto.setId(compId);
+        dto.setTitle("Compilation " + compId);
+        dto.setPinned(true);
+        dto.setEvents(List.of(event));
+        return dto;
+    }
+}
@@ -0,0 +1,123 @@
+package ru.practicum.explorewithme.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.client.StatsClient;
+import ru.practicum.explorewithme.dto.CompilationDto;
+import ru.practicum.explorewithme.dto.EventShortDto;
+import ru.practicum.explorewithme.model.Category;
+import ru.practicum.explorewithme.model.Compilation;
+import ru.practicum.explorewithme.model.Event;
+import ru.practicum.explorewithme.model.EventState;
+import ru.practicum.explorewithme.model.Location;
+import ru.practicum.explorewithme.model.User;
+import ru.practicum.explorewithme.repository.CategoryRepository;
+import ru.practicum.explorewithme.repository.CompilationRepository;
+import ru.practicum.explorewithme.repository.EventRepository;
+import ru.practicum.explorewithme.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "views.flush-interval=PT1H"
+})
+@ActiveProfiles("test")
+class CompilationServiceImplIntegrationTest {
+    private static final int COMPILATIONS = 5;
+
+    private static final int EVENTS_PER_COMPILATION = 4;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private CompilationRepository compilationRepository;
+
+    @Autowired
+    private CompilationService compilationService;
+
+    @MockBean
+    private StatsClient statsClient;
+
+    @Test
+    void getCompilations_shouldNotIssueQueriesPerCompilationOrEvent() {
+        when(statsClient.getStatsAsync(any(), any(), anyList(), anyBoolean(), anyBoolean()))
+                .thenReturn(CompletableFuture.completedFuture(List.of()));
+        for (int i = 0; i < COMPILATIONS; i++) {
+            Set<Event> events = new HashSet<>();
+            for (int j = 0; j < EVENTS_PER_COMPILATION; j++) {
+                String suffix = i + "-" + j;
+                User initiator = userRepository.save(User.builder()
+                        .name("Initiator " + suffix)
+                        .email("compilation-" + suffix + "@email.com")
+                        .build());
+                Category category = categoryRepository.save(Category.builder().name("Compilation " + suffix).build());
+                events.add(eventRepository.save(Event.builder()
+                        .title("Event " + suffix)
+                        .annotation("Annotation of the event " + suffix)
+                        .description("Description of the event " + suffix)
+                        .eventDate(LocalDateTime.now().plusDays(1))
+                        .location(new Location(55.75f, 37.61f))
+                        .paid(false)
+                        .participantLimit(0)
+                        .requestModeration(false)
+                        .state(EventState.PUBLISHED)
+                        .views(0L)
+                        .category(category)
+                        .initiator(initiator)
+                        .build()));
+            }
+            compilationRepository.save(Compilation.builder().title("Pinned " + i).pinned(true).events(events).build());
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<CompilationDto> compilations = compilationService.getCompilations(true, 0, COMPILATIONS);
+
+        assertEquals(COMPILATIONS, compilations.size());
+        compilations.forEach(compilation -> {
+            assertEquals(EVENTS_PER_COMPILATION, compilation.getEvents().size());
+            compilation.getEvents().stream()
+                    .map(EventShortDto::getInitiator)
+                    .forEach(initiator -> assertTrue(initiator.getName().startsWith("Initiator")));
+        });
+        assertTrue(statistics.getPrepareStatementCount() <= 3,
+                "Expected at most 3 statements, got " + statistics.getPrepareStatementCount());
+
+        statistics.clear();
+
+        CompilationDto compilation = compilationService.getCompilation(compilations.get(0).getId());
+
+        assertEquals(EVENTS_PER_COMPILATION, compilation.getEvents().size());
+        assertTrue(statistics.getPrepareStatementCount() <= 2,
+                "Expected at most 2 statements, got " + statistics.getPrepareStatementCount());
+    }
+}
@@ -5,10 +5,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import ru.practicum.explorewithme.dto.CompilationDto;
 import ru.practicum.explorewithme.dto.NewCompilationDto;
 import ru.practicum.explorewithme.dto.UpdateCompilationRequest;
@@ -27,6 +24,7 @@ import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.anyBoolean;
 import static org.mockito.Mockito.doAnswer;
@@ -47,6 +45,9 @@ class CompilationServiceImplTest {
     @Mock
     private CompilationMapper compilationMapper;
 
+    @Mock
+    private CompilationJsonCache compilationJsonCache;
+
     @InjectMocks
     private CompilationServiceImpl compilationService;
 
@@ -127,6 +128,7 @@ class CompilationServiceImplTest {
         assertDoesNotThrow(() -> compilationService.deleteCompilation(compId));
         verify(compilationRepository).existsById(compId);
         verify(compilationRepository).deleteById(compId);
+        verify(compilationJsonCache).invalidate(compId);
     }
 
     @Test
@@ -195,6 +197,7 @@ class CompilationServiceImplTest {
         verify(compilationRepository).findById(compId);
         verify(eventRepository).findAllById(List.of(3L, 4L));
         verify(compilationRepository).save(compilation);
+        verify(compilationJsonCache).invalidate(compId);
     }
 
     @Test
@@ -251,7 +254,6 @@ class CompilationServiceImplTest {
         compilation1.setId(1L);
         Compilation compilation2 = new Compilation();
         compilation2.setId(2L);
-        Page<Compilation> compilationPage = new PageImpl<>(List.of(compilation1, compilation2));
 
         CompilationDto dto1 = new CompilationDto();
         dto1.setId(1L);
@@ -265,16 +267,18 @@ class CompilationServiceImplTest {
         dto2.setPinned(false);
         dto2.setEvents(List.of());
 
-        when(compilationRepository.findAll(pageRequest)).thenReturn(compilationPage);
+        when(compilationRepository.findPageIds(pageRequest)).thenReturn(List.of(1L, 2L));
+        when(compilationRepository.findAllWithEventsByIdIn(List.of(1L, 2L)))
+                .thenReturn(List.of(compilation2, compilation1));
         when(compilationMapper.toCompilationDto(compilation1)).thenReturn(dto1);
         when(compilationMapper.toCompilationDto(compilation2)).thenReturn(dto2);
 
         List<CompilationDto> result = compilationService.getCompilations(pinned, from, size);
 
         assertNotNull(result);
-        assertEquals(2, result.size());
-        verify(compilationRepository).findAll(pageRequest);
-        verify(compilationRepository, never()).findAllByPinned(anyBoolean(), any());
+        assertEquals(List.of(dto1, dto2), result);
+        verify(compilationRepository).findPageIds(pageRequest);
+        verify(compilationRepository, never()).findPageIdsByPinned(anyBoolean(), any());
     }
 
     @Test
@@ -287,7 +291,6 @@ class CompilationServiceImplTest {
         Compilation compilation = new Compilation();
         compilation.setId(1L);
         compilation.setPinned(true);
-        List<Compilation> compilations = List.of(compilation);
 
         CompilationDto dto = new CompilationDto();
         dto.setId(1L);
@@ -295,15 +298,28 @@ class CompilationServiceImplTest {
         dto.setPinned(true);
         dto.setEvents(List.of());
 
-        when(compilationRepository.findAllByPinned(pinned, pageRequest)).thenReturn(compilations);
+        when(compilationRepository.findPageIdsByPinned(pinned, pageRequest)).thenReturn(List.of(1L));
+        when(compilationRepository.findAllWithEventsByIdIn(List.of(1L))).thenReturn(List.of(compilation));
         when(compilationMapper.toCompilationDto(compilation)).thenReturn(dto);
 
         List<CompilationDto> result = compilationService.getCompilations(pinned, from, size);
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(compilationRepository).findAllByPinned(pinned, pageRequest);
-        verify(compilationRepository, never()).findAll((Pageable) any());
+        verify(compilationRepository).findPageIdsByPinned(pinned, pageRequest);
+        verify(compilationRepository, never()).findPageIds(any());
+    }
+
+    @Test
+    void getCompilations_shouldSkipFetchWhenPageIsEmpty() {
+        PageRequest pageRequest = PageRequest.of(2, 5);
+
+        when(compilationRepository.findPageIds(pageRequest)).thenReturn(List.of());
+
+        List<CompilationDto> result = compilationService.getCompilations(null, 10, 5);
+
+        assertTrue(result.isEmpty());
+        verify(compilationRepository, never()).findAllWithEventsByIdIn(any());
     }
 
     @Test
@@ -319,7 +335,7 @@ class CompilationServiceImplTest {
         expectedDto.setPinned(true);
         expectedDto.setEvents(List.of());
 
-        when(compilationRepository.findById(compId)).thenReturn(Optional.of(compilation));
+        when(compilationRepository.findAllWithEventsByIdIn(List.of(compId))).thenReturn(List.of(compilation));
         when(compilationMapper.toCompilationDto(compilation)).thenReturn(expectedDto);
 
         CompilationDto result = compilationService.getCompilation(compId);
@@ -327,16 +343,16 @@ class CompilationServiceImplTest {
         assertNotNull(result);
         assertEquals(expectedDto.getId(), result.getId());
         assertEquals(expectedDto.getTitle(), result.getTitle());
-        verify(compilationRepository).findById(compId);
+        verify(compilationRepository).findAllWithEventsByIdIn(List.of(compId));
     }
 
     @Test
     void getCompilation_shouldThrowNotFoundException() {
         Long compId = 1L;
 
-        when(compilationRepository.findById(compId)).thenReturn(Optional.empty());
+        when(compilationRepository.findAllWithEventsByIdIn(List.of(compId))).thenReturn(List.of());
 
         assertThrows(NotFoundException.class, () -> compilationService.getCompilation(compId));
-        verify(compilationRepository).findById(compId);
+        verify(compilationRepository).findAllWithEventsByIdIn(List.of(compId));
     }
 }
\ No newline at end of file
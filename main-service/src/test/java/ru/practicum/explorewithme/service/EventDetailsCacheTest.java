@@ -0,0 +1,137 @@
+package ru.practicum.explorewithme.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import ru.practicum.explorewithme.dto.CategoryDto;
+import ru.practicum.explorewithme.dto.EventFullDto;
+import ru.practicum.explorewithme.exception.NotFoundException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventDetailsCacheTest {
+
+    private final EventDetailsCache cache = new EventDetailsCache(100, Duration.ofMinutes(5));
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void get_shouldLoadEventOnce() {
+        EventDetailsCache.Entry first = cache.get(1L, this::load);
+        EventDetailsCache.Entry second = cache.get(1L, this::load);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_shouldRethrowAndNotCacheFailedLoad() {
+        NotFoundException failure = new NotFoundException("Event with id=1 was not found");
+
+        assertSame(failure, assertThrows(NotFoundException.class, () -> cache.get(1L, id -> {
+            throw failure;
+        })));
+        cache.get(1L, this::load);
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_shouldLoadOnceForConcurrentCallers() throws InterruptedException {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread first = Thread.ofVirtual().start(() -> cache.get(1L, id -> {
+            loading.countDown();
+            awaitQuietly(release);
+            return load(id);
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        Thread second = Thread.ofVirtual().start(() -> cache.get(1L, this::load));
+        while (second.isAlive() && second.getState() != Thread.State.WAITING) {
+            Thread.onSpinWait();
+        }
+
+        release.countDown();
+        first.join();
+        second.join();
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void invalidate_shouldForceReload() {
+        cache.get(1L, this::load);
+
+        cache.invalidate(1L);
+        cache.get(1L, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidateCategory_shouldDropOnlyEventsOfThatCategory() {
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+
+        cache.invalidateCategory(11L);
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void invalidate_insideTransaction_shouldInvalidateAgainAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.invalidate(1L);
+            cache.get(1L, this::load);
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        cache.get(1L, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void bindTo_shouldExposeHitAndMissCounts() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        cache.get(1L, this::load);
+        cache.get(1L, this::load);
+
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "event.details").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "event.details").tag("result", "miss")
+                .functionCounter().count());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private EventDetailsCache.Entry load(Long eventId) {
+        loads.incrementAndGet();
+        EventFullDto dto = new EventFullDto();
+        dto.setId(eventId);
+        dto.setCategory(new CategoryDto(10L + eventId, "Category " + eventId));
+        return new EventDetailsCache.Entry(dto, 0L);
+    }
+}
@@ -5,15 +5,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import ru.practicum.client.StatsClient;
 import ru.practicum.dto.EndpointHit;
 import ru.practicum.explorewithme.dto.EventFullDto;
 import ru.practicum.explorewithme.dto.EventShortDto;
 import ru.practicum.explorewithme.dto.NewEventDto;
+import ru.practicum.explorewithme.dto.PageCursor;
 import ru.practicum.explorewithme.dto.UpdateEventAdminRequest;
 import ru.practicum.explorewithme.dto.UpdateEventUserRequest;
 import ru.practicum.explorewithme.exception.ConflictException;
@@ -26,14 +28,14 @@ import ru.practicum.explorewithme.model.EventState;
 import ru.practicum.explorewithme.model.User;
 import ru.practicum.explorewithme.repository.CategoryRepository;
 import ru.practicum.explorewithme.repository.EventRepository;
-import ru.practicum.explorewithme.repository.RequestRepository;
 import ru.practicum.explorewithme.repository.UserRepository;
 
 import jakarta.servlet.http.HttpServletRequest;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -41,10 +43,10 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
-import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -59,18 +61,33 @@ class EventServiceImplTest {
     @Mock
     private CategoryRepository categoryRepository;
 
-    @Mock
-    private RequestRepository requestRepository;
-
     @Mock
     private EventMapper eventMapper;
 
     @Mock
     private StatsClient statsClient;
 
+    @Mock
+    private UniqueViewTracker uniqueViewTracker;
+
+    @Mock
+    private ViewCounter viewCounter;
+
+    @Mock
+    private EventViewsProvider eventViewsProvider;
+
+    @Mock
+    private EventDetailsCache eventDetailsCache;
+
+    @Mock
+    private CategoryRegistry categoryRegistry;
+
     @Mock
     private HttpServletRequest httpServletRequest;
 
+    @Mock
+    private CompilationJsonCache compilationJsonCache;
+
     @InjectMocks
     private EventServiceImpl eventService;
 
@@ -96,7 +113,8 @@ class EventServiceImplTest {
         EventFullDto expectedDto = new EventFullDto();
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
+        when(categoryRegistry.contains(1L)).thenReturn(true);
+        when(categoryRepository.getReferenceById(1L)).thenReturn(category);
         when(eventMapper.toEvent(newEventDto)).thenReturn(event);
         when(eventRepository.save(event)).thenReturn(event);
         when(eventMapper.toEventFullDto(event)).thenReturn(expectedDto);
@@ -111,10 +129,50 @@ class EventServiceImplTest {
         assertEquals(0, event.getConfirmedRequests());
         assertEquals(0L, event.getViews());
         verify(userRepository).findById(userId);
-        verify(categoryRepository).findById(1L);
+        verify(categoryRepository).getReferenceById(1L);
         verify(eventRepository).save(event);
     }
 
+    @Test
+    void addEvent_shouldLookUpCategoryMissingFromRegistry() {
+        Long userId = 1L;
+        NewEventDto newEventDto = new NewEventDto();
+        newEventDto.setCategory(2L);
+        newEventDto.setEventDate(LocalDateTime.now().plusHours(3));
+        User user = new User();
+        user.setId(userId);
+        Category category = new Category(2L, "Concerts");
+        Event event = new Event();
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(categoryRegistry.contains(2L)).thenReturn(false);
+        when(categoryRepository.findById(2L)).thenReturn(Optional.of(category));
+        when(eventMapper.toEvent(newEventDto)).thenReturn(event);
+        when(eventRepository.save(event)).thenReturn(event);
+        when(eventMapper.toEventFullDto(event)).thenReturn(new EventFullDto());
+
+        eventService.addEvent(userId, newEventDto);
+
+        assertEquals(category, event.getCategory());
+        verify(categoryRegistry).put(2L, "Concerts");
+        verify(categoryRepository, never()).getReferenceById(any());
+    }
+
+    @Test
+    void addEvent_shouldThrowNotFoundExceptionWhenCategoryNotFound() {
+        Long userId = 1L;
+        NewEventDto newEventDto = new NewEventDto();
+        newEventDto.setCategory(2L);
+        newEventDto.setEventDate(LocalDateTime.now().plusHours(3));
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(new User()));
+        when(categoryRegistry.contains(2L)).thenReturn(false);
+        when(categoryRepository.findById(2L)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> eventService.addEvent(userId, newEventDto));
+        verify(eventRepository, never()).save(any());
+    }
+
     @Test
     void addEvent_shouldThrowNotFoundExceptionWhenUserNotFound() {
         Long userId = 1L;
@@ -125,7 +183,7 @@ class EventServiceImplTest {
 
         assertThrows(NotFoundException.class, () -> eventService.addEvent(userId, newEventDto));
         verify(userRepository).findById(userId);
-        verify(categoryRepository, never()).findById(any());
+        verify(categoryRepository, never()).getReferenceById(any());
         verify(eventRepository, never()).save(any());
     }
 
@@ -139,7 +197,7 @@ class EventServiceImplTest {
         user.setId(userId);
 
         verify(userRepository, never()).findById(any());
-        verify(categoryRepository, never()).findById(any());
+        verify(categoryRepository, never()).getReferenceById(any());
         verify(eventRepository, never()).save(any());
     }
 
@@ -158,11 +216,10 @@ class EventServiceImplTest {
         EventShortDto dto2 = new EventShortDto();
 
         when(userRepository.existsById(userId)).thenReturn(true);
-        when(eventRepository.findAllByInitiatorId(userId, pageRequest)).thenReturn(events);
-        when(eventMapper.toEventShortDto(event1)).thenReturn(dto1);
-        when(eventMapper.toEventShortDto(event2)).thenReturn(dto2);
+        when(eventRepository.findAllByInitiatorId(userId, pageRequest)).thenReturn(new SliceImpl<>(events));
+        when(eventMapper.toEventShortDtos(events)).thenReturn(List.of(dto1, dto2));
 
-        List<EventShortDto> result = eventService.getUserEvents(userId, from, size);
+        List<EventShortDto> result = eventService.getUserEvents(userId, from, size).getContent();
 
         assertNotNull(result);
         assertEquals(2, result.size());
@@ -250,6 +307,7 @@ class EventServiceImplTest {
         assertEquals("Updated Title", event.getTitle());
         verify(eventRepository).findByIdAndInitiatorId(eventId, userId);
         verify(eventRepository).save(event);
+        verify(eventDetailsCache).invalidate(eventId);
     }
 
 
@@ -283,12 +341,11 @@ class EventServiceImplTest {
 
         Event event = new Event();
         event.setId(1L);
-        Page<Event> eventPage = new PageImpl<>(List.of(event));
         EventFullDto expectedDto = new EventFullDto();
 
         when(eventRepository.findByInitiatorIdInAndStateInAndCategoryIdInAndEventDateBetween(
-                any(), any(), any(), any(), any(), any())).thenReturn(eventPage);
-        when(eventMapper.toEventFullDto(event)).thenReturn(expectedDto);
+                any(), any(), any(), any(), any(), any())).thenReturn(new SliceImpl<>(List.of(event)));
+        when(eventMapper.toEventFullDtos(List.of(event))).thenReturn(List.of(expectedDto));
 
         List<EventFullDto> result = eventService.searchEvents(
                 users,
@@ -298,7 +355,7 @@ class EventServiceImplTest {
                 rangeEnd,
                 from,
                 size
-        );
+        ).getContent();
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -373,23 +430,103 @@ class EventServiceImplTest {
         event.setDescription("Test description");
         event.setPaid(true);
         event.setEventDate(LocalDateTime.now().plusHours(2));
-        Page<Event> eventPage = new PageImpl<>(List.of(event));
         EventShortDto expectedDto = new EventShortDto();
 
-        when(eventRepository.findByStateAndCategoryIdIn(eq(EventState.PUBLISHED), any(), any())).thenReturn(eventPage);
-        when(eventMapper.toEventShortDto(event)).thenReturn(expectedDto);
+        when(eventRepository.findSlice(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(event)));
+        when(eventMapper.toEventShortDtos(List.of(event))).thenReturn(List.of(expectedDto));
         when(httpServletRequest.getRequestURI()).thenReturn("/events");
         when(httpServletRequest.getRemoteAddr()).thenReturn("127.0.0.1");
 
-        List<EventShortDto> result = eventService.searchPublishedEvents(
-                text, categories, paid, rangeStart, rangeEnd, onlyAvailable, sort, from, size, httpServletRequest);
+        List<EventShortDto> result = eventService.searchPublishedEvents(text, categories, paid, rangeStart, rangeEnd,
+                onlyAvailable, sort, from, size, httpServletRequest).getContent();
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(eventRepository).findByStateAndCategoryIdIn(eq(EventState.PUBLISHED), any(), any());
+        verify(eventRepository).findSlice(any(Specification.class), eq(PageRequest.of(0, size,
+                Sort.by("eventDate").descending().and(Sort.by("id")))));
         verify(statsClient).addHit(any(EndpointHit.class));
     }
 
+    @Test
+    void searchPublishedEvents_shouldLeaveOrderingToSpecificationWhenSortedByRelevance() {
+        Event event = new Event();
+        event.setId(1L);
+        EventShortDto expectedDto = new EventShortDto();
+
+        when(eventRepository.findSlice(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(event)));
+        when(eventMapper.toEventShortDtos(List.of(event))).thenReturn(List.of(expectedDto));
+        when(httpServletRequest.getRequestURI()).thenReturn("/events");
+        when(httpServletRequest.getRemoteAddr()).thenReturn("127.0.0.1");
+
+        List<EventShortDto> result = eventService.searchPublishedEvents(
+                "concert", null, null, null, null, false, "RELEVANCE", 0, 10, httpServletRequest).getContent();
+
+        assertEquals(1, result.size());
+        verify(eventRepository).findSlice(any(Specification.class), eq(PageRequest.of(0, 10, Sort.unsorted())));
+    }
+
+    @Test
+    void searchPublishedEvents_shouldSortByStoredViewsInOnePageQuery() {
+        Event event = new Event();
+        event.setId(2L);
+        EventShortDto expectedDto = new EventShortDto();
+        PageRequest pageRequest = PageRequest.of(1, 2, Sort.by("views").descending().and(Sort.by("id")));
+
+        when(eventRepository.findSlice(any(Specification.class), eq(pageRequest)))
+                .thenReturn(new SliceImpl<>(List.of(event)));
+        when(eventMapper.toEventShortDtos(List.of(event))).thenReturn(List.of(expectedDto));
+        when(httpServletRequest.getRequestURI()).thenReturn("/events");
+        when(httpServletRequest.getRemoteAddr()).thenReturn("127.0.0.1");
+
+        List<EventShortDto> result = eventService.searchPublishedEvents(
+                null, null, null, null, null, false, "VIEWS", 2, 2, httpServletRequest).getContent();
+
+        assertEquals(List.of(expectedDto), result);
+        verifyNoInteractions(eventViewsProvider);
+    }
+
+    @Test
+    void searchPublishedEventsAfter_shouldSeekWithoutCountQuery() {
+        Event event = new Event();
+        event.setId(5L);
+        EventShortDto expectedDto = new EventShortDto();
+
+        when(eventRepository.findSlice(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(event)));
+        when(eventMapper.toEventShortDtos(List.of(event))).thenReturn(List.of(expectedDto));
+        when(httpServletRequest.getRequestURI()).thenReturn("/events");
+        when(httpServletRequest.getRemoteAddr()).thenReturn("127.0.0.1");
+
+        List<EventShortDto> result = eventService.searchPublishedEventsAfter(null, null, null, null, null, false,
+                "EVENT_DATE", PageCursor.of(LocalDateTime.now(), 4L), 10, httpServletRequest).getContent();
+
+        assertEquals(List.of(expectedDto), result);
+        verify(eventRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    void searchPublishedEventsAfter_shouldRejectUnstableSort() {
+        assertThrows(ValidationException.class, () -> eventService.searchPublishedEventsAfter(null, null, null,
+                null, null, false, "VIEWS", PageCursor.of(4L), 10, httpServletRequest));
+        verify(eventRepository, never()).findSlice(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    void getUserEventsAfter_shouldSeekById() {
+        Event event = new Event();
+        event.setId(3L);
+        EventShortDto expectedDto = new EventShortDto();
+
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(eventRepository.findAllByInitiatorIdAndIdLessThan(1L, 4L,
+                PageRequest.of(0, 10, Sort.by("id").descending()))).thenReturn(new SliceImpl<>(List.of(event)));
+        when(eventMapper.toEventShortDtos(List.of(event))).thenReturn(List.of(expectedDto));
+
+        assertEquals(List.of(expectedDto), eventService.getUserEventsAfter(1L, PageCursor.of(4L), 10).getContent());
+    }
+
     @Test
     void getPublishedEvent_shouldReturnEventAndIncrementViews() {
         Long eventId = 1L;
@@ -398,35 +535,48 @@ class EventServiceImplTest {
         event.setState(EventState.PUBLISHED);
         event.setViews(0L);
         EventFullDto expectedDto = new EventFullDto();
+        expectedDto.setConfirmedRequests(2);
 
-        when(eventRepository.findByIdWithCategoryAndInitiator(eventId)).thenReturn(Optional.of(event));
-        when(eventRepository.findByIdWithCategoryAndInitiator(eventId)).thenReturn(Optional.of(event));
-
-        doNothing().when(eventRepository).incrementViews(eventId);
+        when(eventRepository.findPublishedById(eventId)).thenReturn(Optional.of(event));
         when(eventMapper.toEventFullDto(event)).thenReturn(expectedDto);
         when(httpServletRequest.getRequestURI()).thenReturn("/events/1");
         when(httpServletRequest.getRemoteAddr()).thenReturn("127.0.0.1");
-        when(requestRepository.countConfirmedRequestsByEventId(eventId)).thenReturn(0L);
-
-        try {
-            var viewedIpsField = EventServiceImpl.class.getDeclaredField("viewedIps");
-            viewedIpsField.setAccessible(true);
-            @SuppressWarnings("unchecked")
-            var viewedIps = (java.util.Map<Long, java.util.Set<String>>) viewedIpsField.get(eventService);
-            viewedIps.clear();
-        } catch (Exception e) {
-            // intentionally empty - тестовый сценарий
-        }
+        when(eventDetailsCache.get(eq(eventId), any())).thenAnswer(invocation ->
+                invocation.<Function<Long, EventDetailsCache.Entry>>getArgument(1).apply(eventId));
+        when(uniqueViewTracker.registerView(eventId, "127.0.0.1")).thenReturn(true);
+        when(viewCounter.withPendingViews(eventId, 0L)).thenReturn(1L);
+        when(viewCounter.getRecordedViews(eventId)).thenReturn(0L, 1L);
 
         EventFullDto result = eventService.getPublishedEvent(eventId, httpServletRequest);
 
         assertNotNull(result);
-        assertEquals(expectedDto, result);
-        verify(eventRepository, times(2)).findByIdWithCategoryAndInitiator(eventId);
-        verify(eventRepository).incrementViews(eventId);
+        verify(eventRepository).findPublishedById(eventId);
+        verifyNoMoreInteractions(eventRepository);
+        assertEquals(2, result.getConfirmedRequests());
+        assertEquals(2L, result.getViews());
+        verify(viewCounter).increment(eventId);
         verify(statsClient).addHit(any(EndpointHit.class));
     }
 
+    @Test
+    void getPublishedEvent_shouldPreferViewsFromStats() {
+        Long eventId = 1L;
+        Event event = new Event();
+        event.setId(eventId);
+        event.setState(EventState.PUBLISHED);
+
+        when(eventRepository.findPublishedById(eventId)).thenReturn(Optional.of(event));
+        when(eventMapper.toEventFullDto(event)).thenReturn(new EventFullDto());
+        when(httpServletRequest.getRequestURI()).thenReturn("/events/1");
+        when(httpServletRequest.getRemoteAddr()).thenReturn("127.0.0.1");
+        when(eventDetailsCache.get(eq(eventId), any())).thenAnswer(invocation ->
+                invocation.<Function<Long, EventDetailsCache.Entry>>getArgument(1).apply(eventId));
+        when(viewCounter.withPendingViews(eventId, null)).thenReturn(3L);
+        when(eventViewsProvider.getViews(List.of(eventId))).thenReturn(Map.of(eventId, 15L));
+
+        assertEquals(15L, eventService.getPublishedEvent(eventId, httpServletRequest).getViews());
+    }
+
     @Test
     void getPublishedEvent_shouldNotIncrementViewsForSameIp() {
         Long eventId = 1L;
@@ -435,43 +585,34 @@ class EventServiceImplTest {
         event.setState(EventState.PUBLISHED);
         EventFullDto expectedDto = new EventFullDto();
 
-        when(eventRepository.findByIdWithCategoryAndInitiator(eventId)).thenReturn(Optional.of(event));
+        when(eventRepository.findPublishedById(eventId)).thenReturn(Optional.of(event));
         when(eventMapper.toEventFullDto(event)).thenReturn(expectedDto);
         when(httpServletRequest.getRequestURI()).thenReturn("/events/1");
         when(httpServletRequest.getRemoteAddr()).thenReturn("127.0.0.1");
-        when(requestRepository.countConfirmedRequestsByEventId(eventId)).thenReturn(0L);
-
-        try {
-            var viewedIpsField = EventServiceImpl.class.getDeclaredField("viewedIps");
-            viewedIpsField.setAccessible(true);
-            @SuppressWarnings("unchecked")
-            var viewedIps = (java.util.Map<Long, java.util.Set<String>>) viewedIpsField.get(eventService);
-            viewedIps.put(eventId, ConcurrentHashMap.newKeySet());
-            viewedIps.get(eventId).add("127.0.0.1");
-        } catch (Exception e) {
-            // intentionally empty - тестовый сценарий
-        }
+        when(eventDetailsCache.get(eq(eventId), any())).thenAnswer(invocation ->
+                invocation.<Function<Long, EventDetailsCache.Entry>>getArgument(1).apply(eventId));
+        when(uniqueViewTracker.registerView(eventId, "127.0.0.1")).thenReturn(false);
+        when(viewCounter.withPendingViews(eventId, null)).thenReturn(7L);
 
         EventFullDto result = eventService.getPublishedEvent(eventId, httpServletRequest);
 
         assertNotNull(result);
-        assertEquals(expectedDto, result);
-        verify(eventRepository, times(2)).findByIdWithCategoryAndInitiator(eventId);
-        verify(eventRepository, never()).incrementViews(eventId);
+        assertEquals(7L, result.getViews());
+        verify(eventRepository).findPublishedById(eventId);
+        verify(viewCounter, never()).increment(eventId);
         verify(statsClient).addHit(any(EndpointHit.class));
     }
 
     @Test
     void getPublishedEvent_shouldThrowNotFoundExceptionForUnpublishedEvent() {
         Long eventId = 1L;
-        Event event = new Event();
-        event.setId(eventId);
-        event.setState(EventState.PENDING);
 
-        when(eventRepository.findByIdWithCategoryAndInitiator(eventId)).thenReturn(Optional.of(event));
+        when(eventRepository.findPublishedById(eventId)).thenReturn(Optional.empty());
+        when(eventDetailsCache.get(eq(eventId), any())).thenAnswer(invocation ->
+                invocation.<Function<Long, EventDetailsCache.Entry>>getArgument(1).apply(eventId));
 
         assertThrows(NotFoundException.class, () -> eventService.getPublishedEvent(eventId, httpServletRequest));
-        verify(eventRepository).findByIdWithCategoryAndInitiator(eventId);
-        verify(eventRepository, never()).incrementViews(any());
+        verify(eventRepository).findPublishedById(eventId);
+        verify(viewCounter, never()).increment(any());
     }
-}
\ No newline at end of file
+}
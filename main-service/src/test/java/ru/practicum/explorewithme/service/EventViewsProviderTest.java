@@ -0,0 +1,174 @@
+package ru.practicum.explorewithme.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.client.StatsClient;
+import ru.practicum.dto.ViewStats;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.LongStream;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventViewsProviderTest {
+
+    @Mock
+    private StatsClient statsClient;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-03-10T12:00:00Z"));
+
+    private final List<Runnable> refreshes = new ArrayList<>();
+
+    private EventViewsProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        provider = new EventViewsProvider(statsClient, refreshes::add, 1000, Duration.ofSeconds(30),
+                Duration.ofSeconds(10), Duration.ofSeconds(5), clock);
+    }
+
+    @Test
+    void getViews_shouldAskStatsOnceForWholeBatchAndCacheIt() {
+        when(statsClient.getStatsAsync(any(), any(), eq(List.of("/events/1", "/events/2")), eq(true), eq(true)))
+                .thenReturn(completedFuture(List.of(new ViewStats("explore-with-me", "/events/1", 5L))));
+
+        assertEquals(Map.of(1L, 5L, 2L, 0L), provider.getViews(List.of(1L, 2L)));
+        assertEquals(Map.of(1L, 5L, 2L, 0L), provider.getViews(List.of(2L, 1L)));
+
+        verify(statsClient, times(1)).getStatsAsync(any(), any(), anyList(), eq(true), eq(true));
+    }
+
+    @Test
+    void reload_shouldBypassCacheAndRefreshIt() {
+        when(statsClient.getStatsAsync(any(), any(), eq(List.of("/events/1")), eq(true), eq(true)))
+                .thenReturn(completedFuture(List.of(new ViewStats("explore-with-me", "/events/1", 5L))),
+                        completedFuture(List.of(new ViewStats("explore-with-me", "/events/1", 8L))));
+        provider.getViews(List.of(1L));
+
+        assertEquals(Map.of(1L, 8L), provider.reload(List.of(1L, 1L)));
+        assertEquals(Map.of(1L, 8L), provider.getViews(List.of(1L)));
+        verify(statsClient, times(2)).getStatsAsync(any(), any(), anyList(), eq(true), eq(true));
+    }
+
+    @Test
+    void getViews_shouldRefreshAheadWithoutBlockingCaller() {
+        when(statsClient.getStatsAsync(any(), any(), eq(List.of("/events/1")), eq(true), eq(true)))
+                .thenReturn(completedFuture(List.of(new ViewStats("explore-with-me", "/events/1", 5L))),
+                        completedFuture(List.of(new ViewStats("explore-with-me", "/events/1", 8L))));
+        provider.getViews(List.of(1L));
+
+        clock.advance(Duration.ofSeconds(15));
+        assertEquals(Map.of(1L, 5L), provider.getViews(List.of(1L)));
+        assertEquals(Map.of(1L, 5L), provider.getViews(List.of(1L)));
+        assertEquals(1, refreshes.size());
+
+        refreshes.get(0).run();
+        assertEquals(Map.of(1L, 8L), provider.getViews(List.of(1L)));
+    }
+
+    @Test
+    void getViews_shouldReloadExpiredEntriesOnCaller() {
+        when(statsClient.getStatsAsync(any(), any(), eq(List.of("/events/1")), eq(true), eq(true)))
+                .thenReturn(completedFuture(List.of(new ViewStats("explore-with-me", "/events/1", 5L))),
+                        completedFuture(List.of(new ViewStats("explore-with-me", "/events/1", 8L))));
+        provider.getViews(List.of(1L));
+
+        clock.advance(Duration.ofSeconds(30));
+
+        assertEquals(Map.of(1L, 8L), provider.getViews(List.of(1L)));
+        assertEquals(0, refreshes.size());
+    }
+
+    @Test
+    void getViews_shouldLeaveOutEventsAndBackOffWhenStatsUnavailable() {
+        when(statsClient.getStatsAsync(any(), any(), anyList(), eq(true), eq(true)))
+                .thenReturn(failedFuture(new ResourceAccessException("Connection refused")),
+                        completedFuture(List.of()));
+
+        assertEquals(Map.of(), provider.getViews(List.of(1L)));
+        clock.advance(Duration.ofSeconds(4));
+        assertEquals(Map.of(), provider.getViews(List.of(1L)));
+        verify(statsClient, times(1)).getStatsAsync(any(), any(), anyList(), eq(true), eq(true));
+
+        clock.advance(Duration.ofSeconds(1));
+        assertEquals(Map.of(1L, 0L), provider.getViews(List.of(1L)));
+    }
+
+    @Test
+    void getViews_shouldNotCacheZeroViewsWhenStatsAnswersWithServerError() {
+        when(statsClient.getStatsAsync(any(), any(), anyList(), eq(true), eq(true)))
+                .thenReturn(failedFuture(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE)),
+                        completedFuture(List.of(new ViewStats("explore-with-me", "/events/1", 5L))));
+
+        assertEquals(Map.of(), provider.getViews(List.of(1L)));
+        clock.advance(Duration.ofSeconds(5));
+        assertEquals(Map.of(1L, 5L), provider.getViews(List.of(1L)));
+    }
+
+    @Test
+    void getViews_shouldSendBoundedBatchesBeforeWaitingForAny() {
+        CompletableFuture<List<ViewStats>> first = new CompletableFuture<>();
+        when(statsClient.getStatsAsync(any(), any(), anyList(), eq(true), eq(true)))
+                .thenAnswer(invocation -> first)
+                .thenAnswer(invocation -> {
+                    first.complete(List.of());
+                    return completedFuture(List.of(new ViewStats("explore-with-me", "/events/250", 3L)));
+                });
+
+        Map<Long, Long> views = provider.getViews(LongStream.rangeClosed(1, 250).boxed().toList());
+
+        assertEquals(250, views.size());
+        assertEquals(3L, views.get(250L));
+        verify(statsClient, times(2)).getStatsAsync(any(), any(), anyList(), eq(true), eq(true));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
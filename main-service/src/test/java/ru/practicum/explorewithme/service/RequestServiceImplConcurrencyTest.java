@@ -0,0 +1,121 @@
+package ru.practicum.explorewithme.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.client.StatsClient;
+import ru.practicum.explorewithme.exception.ConflictException;
+import ru.practicum.explorewithme.model.Category;
+import ru.practicum.explorewithme.model.Event;
+import ru.practicum.explorewithme.model.EventState;
+import ru.practicum.explorewithme.model.Location;
+import ru.practicum.explorewithme.model.RequestStatus;
+import ru.practicum.explorewithme.model.User;
+import ru.practicum.explorewithme.repository.CategoryRepository;
+import ru.practicum.explorewithme.repository.EventRepository;
+import ru.practicum.explorewithme.repository.RequestRepository;
+import ru.practicum.explorewithme.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "views.flush-interval=PT1H"
+})
+@ActiveProfiles("test")
+class RequestServiceImplConcurrencyTest {
+    private static final int PARTICIPANT_LIMIT = 10;
+
+    private static final int APPLICANTS = 60;
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private RequestService requestService;
+
+    @MockBean
+    private StatsClient statsClient;
+
+    @Test
+    void addRequest_shouldNeverOverbookUnderConcurrentSignUps() throws InterruptedException {
+        User initiator = userRepository.save(User.builder().name("Host").email("stress-host@email.com").build());
+        Category category = categoryRepository.save(Category.builder().name("Stress").build());
+        Event event = eventRepository.save(Event.builder()
+                .title("Hot event")
+                .annotation("Annotation of the hot event")
+                .description("Description of the hot event")
+                .eventDate(LocalDateTime.now().plusDays(1))
+                .location(new Location(55.75f, 37.61f))
+                .paid(false)
+                .participantLimit(PARTICIPANT_LIMIT)
+                .confirmedRequests(0)
+                .requestModeration(false)
+                .state(EventState.PUBLISHED)
+                .category(category)
+                .initiator(initiator)
+                .build());
+        List<Long> applicants = new ArrayList<>();
+        for (int i = 0; i < APPLICANTS; i++) {
+            applicants.add(userRepository.save(User.builder()
+                    .name("Applicant " + i)
+                    .email("stress-" + i + "@email.com")
+                    .build()).getId());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger admitted = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        for (Long applicant : applicants) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    requestService.addRequest(applicant, event.getId());
+                    admitted.incrementAndGet();
+                } catch (ConflictException e) {
+                    refused.incrementAndGet();
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        assertTrue(failures.isEmpty(), () -> failures.peek().toString());
+        assertEquals(PARTICIPANT_LIMIT, admitted.get());
+        assertEquals(APPLICANTS - PARTICIPANT_LIMIT, refused.get());
+        assertEquals(PARTICIPANT_LIMIT, eventRepository.findById(event.getId()).orElseThrow().getConfirmedRequests());
+        assertEquals(PARTICIPANT_LIMIT, requestRepository.findAllByEventId(event.getId()).stream()
+                .filter(request -> request.getStatus() == RequestStatus.CONFIRMED)
+                .count());
+    }
+}
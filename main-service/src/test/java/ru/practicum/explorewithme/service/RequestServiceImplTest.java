@@ -48,6 +48,12 @@ class RequestServiceImplTest {
     @Mock
     private RequestMapper requestMapper;
 
+    @Mock
+    private EventDetailsCache eventDetailsCache;
+
+    @Mock
+    private CompilationJsonCache compilationJsonCache;
+
     @InjectMocks
     private RequestServiceImpl requestService;
 
@@ -76,7 +82,6 @@ class RequestServiceImplTest {
         when(eventRepository.findByIdWithCategoryAndInitiator(eventId)).thenReturn(Optional.of(event));
         when(requestRepository.save(any(ParticipationRequest.class))).thenReturn(request);
         when(requestMapper.toParticipationRequestDto(request)).thenReturn(expectedDto);
-        when(requestRepository.countConfirmedRequestsByEventId(eventId)).thenReturn(0L);
 
         ParticipationRequestDto result = requestService.addRequest(userId, eventId);
 
@@ -184,6 +189,7 @@ class RequestServiceImplTest {
         Long userId = 1L;
         Long requestId = 1L;
         Event event = new Event();
+        event.setId(3L);
         event.setConfirmedRequests(5);
         ParticipationRequest request = new ParticipationRequest();
         request.setId(requestId);
@@ -194,17 +200,16 @@ class RequestServiceImplTest {
         when(requestRepository.findByIdAndRequesterId(requestId, userId)).thenReturn(Optional.of(request));
         when(requestRepository.save(request)).thenReturn(request);
         when(requestMapper.toParticipationRequestDto(request)).thenReturn(expectedDto);
-        when(eventRepository.save(event)).thenReturn(event);
 
         ParticipationRequestDto result = requestService.cancelRequest(userId, requestId);
 
         assertNotNull(result);
         assertEquals(expectedDto, result);
         assertEquals(RequestStatus.CANCELED, request.getStatus());
-        assertEquals(4, event.getConfirmedRequests());
         verify(requestRepository).findByIdAndRequesterId(requestId, userId);
         verify(requestRepository).save(request);
-        verify(eventRepository).save(event);
+        verify(eventRepository).addConfirmedRequests(3L, -1);
+        verify(eventRepository, never()).save(event);
     }
 
     @Test
@@ -268,9 +273,8 @@ class RequestServiceImplTest {
 
         when(eventRepository.findByIdWithCategoryAndInitiator(eventId)).thenReturn(Optional.of(event));
         when(requestRepository.findAllByIdIn(List.of(1L, 2L))).thenReturn(requests);
-        when(requestRepository.countConfirmedRequestsByEventId(eventId)).thenReturn(0L);
         when(requestRepository.saveAll(any())).thenReturn(requests);
-        when(eventRepository.save(event)).thenReturn(event);
+        when(eventRepository.reserveSeats(eventId, 2)).thenReturn(1);
 
         EventRequestStatusUpdateResult result = requestService.updateRequestStatus(userId, eventId, updateRequest);
 
@@ -284,6 +288,68 @@ class RequestServiceImplTest {
         verify(requestRepository, times(2)).saveAll(any());
     }
 
+    @Test
+    void updateRequestStatus_shouldConfirmOnlySeatsLeftAfterLostRace() {
+        Long userId = 1L;
+        Long eventId = 1L;
+        EventRequestStatusUpdateRequest updateRequest = new EventRequestStatusUpdateRequest();
+        updateRequest.setRequestIds(List.of(1L, 2L));
+        updateRequest.setStatus("CONFIRMED");
+
+        Event event = new Event();
+        event.setId(eventId);
+        event.setInitiator(new User());
+        event.getInitiator().setId(userId);
+        event.setParticipantLimit(3);
+        event.setRequestModeration(true);
+        event.setConfirmedRequests(0);
+
+        ParticipationRequest request1 = new ParticipationRequest();
+        request1.setStatus(RequestStatus.PENDING);
+        ParticipationRequest request2 = new ParticipationRequest();
+        request2.setStatus(RequestStatus.PENDING);
+
+        when(eventRepository.findByIdWithCategoryAndInitiator(eventId)).thenReturn(Optional.of(event));
+        when(requestRepository.findAllByIdIn(List.of(1L, 2L))).thenReturn(List.of(request1, request2));
+        when(eventRepository.reserveSeats(eventId, 2)).thenReturn(0);
+        when(eventRepository.findAvailableSeats(eventId)).thenReturn(1);
+        when(eventRepository.reserveSeats(eventId, 1)).thenReturn(1);
+
+        EventRequestStatusUpdateResult result = requestService.updateRequestStatus(userId, eventId, updateRequest);
+
+        assertEquals(1, result.getConfirmedRequests().size());
+        assertEquals(1, result.getRejectedRequests().size());
+        assertEquals(RequestStatus.CONFIRMED, request1.getStatus());
+        assertEquals(RequestStatus.REJECTED, request2.getStatus());
+    }
+
+    @Test
+    void addRequest_shouldThrowConflictExceptionWhenNoSeatCanBeReserved() {
+        Long userId = 1L;
+        Long eventId = 1L;
+        User user = new User();
+        user.setId(userId);
+        Event event = new Event();
+        event.setId(eventId);
+        event.setState(EventState.PUBLISHED);
+        event.setInitiator(new User());
+        event.getInitiator().setId(2L);
+        event.setParticipantLimit(1);
+        event.setRequestModeration(false);
+        event.setConfirmedRequests(0);
+
+        when(requestRepository.existsByRequesterIdAndEventId(userId, eventId)).thenReturn(false);
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(eventRepository.findByIdWithCategoryAndInitiator(eventId)).thenReturn(Optional.of(event));
+        when(requestRepository.save(any(ParticipationRequest.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(eventRepository.reserveSeats(eventId, 1)).thenReturn(0);
+        when(eventRepository.findAvailableSeats(eventId)).thenReturn(0);
+
+        assertThrows(ConflictException.class, () -> requestService.addRequest(userId, eventId));
+        verify(eventDetailsCache, never()).invalidate(eventId);
+    }
+
     @Test
     void updateRequestStatus_shouldRejectRequests() {
         Long userId = 1L;
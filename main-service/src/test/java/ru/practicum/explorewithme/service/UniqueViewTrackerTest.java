@@ -0,0 +1,108 @@
+package ru.practicum.explorewithme.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UniqueViewTrackerTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+
+    @Test
+    void registerView_shouldCountEachIpOncePerEvent() {
+        UniqueViewTracker tracker = new UniqueViewTracker(1000, 0.01, Duration.ofHours(1), clock);
+
+        assertTrue(tracker.registerView(1L, "192.168.0.1"));
+        assertFalse(tracker.registerView(1L, "192.168.0.1"));
+        assertTrue(tracker.registerView(2L, "192.168.0.1"));
+        assertTrue(tracker.registerView(1L, "2001:db8::1"));
+    }
+
+    @Test
+    void registerView_shouldForgetIpsAfterTwoIdleWindows() {
+        UniqueViewTracker tracker = new UniqueViewTracker(1000, 0.01, Duration.ofHours(1), clock);
+
+        assertTrue(tracker.registerView(1L, "192.168.0.1"));
+        clock.advance(Duration.ofMinutes(90));
+        assertFalse(tracker.registerView(1L, "192.168.0.1"));
+        clock.advance(Duration.ofMinutes(150));
+
+        assertTrue(tracker.registerView(1L, "192.168.0.1"));
+        assertEquals(2, tracker.getRotationCount());
+    }
+
+    @Test
+    void registerView_shouldKeepFalsePositivesNearConfiguredRate() {
+        UniqueViewTracker tracker = new UniqueViewTracker(100_000, 0.01, Duration.ofDays(1), clock);
+        int missed = 0;
+
+        for (int i = 0; i < 50_000; i++) {
+            if (!tracker.registerView(i % 500, "10.0." + (i >> 8 & 0xff) + "." + (i & 0xff))) {
+                missed++;
+            }
+        }
+
+        assertTrue(missed < 500, "too many views treated as repeated: " + missed);
+        assertTrue(tracker.getExpectedFalsePositiveRate() < 0.01);
+    }
+
+    @Test
+    void registerView_whenCapacityReached_shouldRotateEarly() {
+        UniqueViewTracker tracker = new UniqueViewTracker(100, 0.01, Duration.ofDays(1), clock);
+
+        for (int i = 0; i < 250; i++) {
+            tracker.registerView(1L, "10.0.0." + i);
+        }
+
+        assertEquals(2, tracker.getRotationCount());
+        assertTrue(tracker.getCurrentViews() <= 100);
+    }
+
+    @Test
+    void bindTo_shouldRegisterFootprintMetrics() {
+        UniqueViewTracker tracker = new UniqueViewTracker(1000, 0.01, Duration.ofHours(1), clock);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        tracker.bindTo(registry);
+
+        assertEquals(tracker.getFootprintBytes(),
+                registry.get("views.unique-tracker.footprint").gauge().value());
+        assertNotNull(registry.get("views.unique-tracker.rotations").functionCounter());
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -5,12 +5,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import ru.practicum.explorewithme.dto.NewUserRequest;
+import ru.practicum.explorewithme.dto.PageCursor;
 import ru.practicum.explorewithme.dto.UserDto;
 import ru.practicum.explorewithme.exception.ConflictException;
 import ru.practicum.explorewithme.exception.NotFoundException;
@@ -123,7 +123,7 @@ class UserServiceImplTest {
         user2.setName("User 2");
         user2.setEmail("user2@email.com");
 
-        Page<User> userPage = new PageImpl<>(List.of(user1, user2));
+        Slice<User> userPage = new SliceImpl<>(List.of(user1, user2));
 
         UserDto dto1 = new UserDto();
         dto1.setId(1L);
@@ -135,20 +135,37 @@ class UserServiceImplTest {
         dto2.setName("User 2");
         dto2.setEmail("user2@email.com");
 
-        when(userRepository.findAll(pageRequest)).thenReturn(userPage);
+        when(userRepository.findAllBy(pageRequest)).thenReturn(userPage);
         when(userMapper.toUserDto(user1)).thenReturn(dto1);
         when(userMapper.toUserDto(user2)).thenReturn(dto2);
 
-        List<UserDto> result = userService.getUsers(ids, from, size);
+        List<UserDto> result = userService.getUsers(ids, from, size).getContent();
 
         assertNotNull(result);
         assertEquals(2, result.size());
         assertEquals(dto1.getId(), result.get(0).getId());
         assertEquals(dto2.getId(), result.get(1).getId());
-        verify(userRepository).findAll(pageRequest);
+        verify(userRepository).findAllBy(pageRequest);
         verify(userRepository, never()).findAllByIdIn(any(), any());
     }
 
+    @Test
+    void getUsersAfter_shouldSeekById() {
+        PageRequest pageRequest = PageRequest.of(0, 2, Sort.by("id").ascending());
+        User user = new User();
+        user.setId(6L);
+        UserDto dto = new UserDto();
+        dto.setId(6L);
+
+        when(userRepository.findAllByIdGreaterThan(5L, pageRequest)).thenReturn(new SliceImpl<>(List.of(user)));
+        when(userMapper.toUserDto(user)).thenReturn(dto);
+
+        List<UserDto> result = userService.getUsersAfter(null, PageCursor.of(5L), 2).getContent();
+
+        assertEquals(List.of(dto), result);
+        verify(userRepository, never()).findAllBy(any());
+    }
+
     @Test
     void getUsers_shouldReturnUsersByIds() {
         List<Long> ids = List.of(1L, 2L);
@@ -178,18 +195,18 @@ class UserServiceImplTest {
         dto2.setName("User 2");
         dto2.setEmail("user2@email.com");
 
-        when(userRepository.findAllByIdIn(ids, pageRequest)).thenReturn(users);
+        when(userRepository.findAllByIdIn(ids, pageRequest)).thenReturn(new SliceImpl<>(users));
         when(userMapper.toUserDto(user1)).thenReturn(dto1);
         when(userMapper.toUserDto(user2)).thenReturn(dto2);
 
-        List<UserDto> result = userService.getUsers(ids, from, size);
+        List<UserDto> result = userService.getUsers(ids, from, size).getContent();
 
         assertNotNull(result);
         assertEquals(2, result.size());
         assertEquals(dto1.getId(), result.get(0).getId());
         assertEquals(dto2.getId(), result.get(1).getId());
         verify(userRepository).findAllByIdIn(ids, pageRequest);
-        verify(userRepository, never()).findAll((Pageable) any());
+        verify(userRepository, never()).findAllBy(any());
     }
 
     @Test
@@ -209,7 +226,7 @@ class UserServiceImplTest {
         user2.setName("User 2");
         user2.setEmail("user2@email.com");
 
-        Page<User> userPage = new PageImpl<>(List.of(user1, user2));
+        Slice<User> userPage = new SliceImpl<>(List.of(user1, user2));
 
         UserDto dto1 = new UserDto();
         dto1.setId(1L);
@@ -221,15 +238,15 @@ class UserServiceImplTest {
         dto2.setName("User 2");
         dto2.setEmail("user2@email.com");
 
-        when(userRepository.findAll(pageRequest)).thenReturn(userPage);
+        when(userRepository.findAllBy(pageRequest)).thenReturn(userPage);
         when(userMapper.toUserDto(user1)).thenReturn(dto1);
         when(userMapper.toUserDto(user2)).thenReturn(dto2);
 
-        List<UserDto> result = userService.getUsers(ids, from, size);
+        List<UserDto> result = userService.getUsers(ids, from, size).getContent();
 
         assertNotNull(result);
         assertEquals(2, result.size());
-        verify(userRepository).findAll(pageRequest);
+        verify(userRepository).findAllBy(pageRequest);
         verify(userRepository, never()).findAllByIdIn(any(), any());
     }
 
@@ -239,14 +256,14 @@ class UserServiceImplTest {
         Integer from = 10;
         Integer size = 5;
         PageRequest pageRequest = PageRequest.of(2, size, Sort.by("id").ascending());
-        Page<User> userPage = new PageImpl<>(List.of());
+        Slice<User> userPage = new SliceImpl<>(List.of());
 
-        when(userRepository.findAll(pageRequest)).thenReturn(userPage);
+        when(userRepository.findAllBy(pageRequest)).thenReturn(userPage);
 
-        List<UserDto> result = userService.getUsers(ids, from, size);
+        List<UserDto> result = userService.getUsers(ids, from, size).getContent();
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
-        verify(userRepository).findAll(pageRequest);
+        verify(userRepository).findAllBy(pageRequest);
     }
 }
\ No newline at end of file
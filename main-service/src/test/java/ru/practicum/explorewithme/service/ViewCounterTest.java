@@ -0,0 +1,99 @@
+package ru.practicum.explorewithme.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.explorewithme.repository.EventRepository;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ViewCounterTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @InjectMocks
+    private ViewCounter viewCounter;
+
+    @Test
+    void flush_shouldWriteAccumulatedDeltasInOneBatch() {
+        viewCounter.increment(1L);
+        viewCounter.increment(1L);
+        viewCounter.increment(2L);
+
+        viewCounter.flush();
+
+        verify(eventRepository).addViews(Map.of(1L, 2L, 2L, 1L));
+        assertEquals(0L, viewCounter.getPendingViews(1L));
+    }
+
+    @Test
+    void flush_whenNothingPending_shouldNotTouchDatabase() {
+        viewCounter.flush();
+
+        verify(eventRepository, never()).addViews(anyMap());
+    }
+
+    @Test
+    void flush_whenUpdateFails_shouldKeepDeltasPending() {
+        viewCounter.increment(1L);
+        doThrow(new IllegalStateException("db down")).when(eventRepository).addViews(Map.of(1L, 1L));
+
+        assertThrows(IllegalStateException.class, () -> viewCounter.flush());
+
+        assertEquals(1L, viewCounter.getPendingViews(1L));
+    }
+
+    @Test
+    void withPendingViews_shouldMergePersistedAndPendingViews() {
+        viewCounter.increment(1L);
+
+        assertEquals(6L, viewCounter.withPendingViews(1L, 5L));
+        assertEquals(1L, viewCounter.withPendingViews(1L, null));
+        assertEquals(5L, viewCounter.withPendingViews(2L, 5L));
+    }
+
+    @Test
+    void reconcile_shouldStoreStatsViewsWithoutPendingOnes() {
+        viewCounter.increment(1L);
+        viewCounter.increment(1L);
+
+        viewCounter.reconcile(Map.of(1L, 10L, 2L, 4L));
+
+        verify(eventRepository).setViews(Map.of(1L, 8L, 2L, 4L));
+        assertEquals(2L, viewCounter.getPendingViews(1L));
+    }
+
+    @Test
+    void reconcile_whenNothingLoaded_shouldNotTouchDatabase() {
+        viewCounter.reconcile(Map.of());
+
+        verify(eventRepository, never()).setViews(anyMap());
+    }
+
+    @Test
+    void increment_shouldNotLoseConcurrentViews() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 10_000; i++) {
+            executor.execute(() -> viewCounter.increment(1L));
+        }
+        executor.shutdown();
+
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(10_000L, viewCounter.getPendingViews(1L));
+    }
+}
@@ -0,0 +1,70 @@
+package ru.practicum.explorewithme.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.explorewithme.repository.EventRepository;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ViewsReconcilerTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private EventViewsProvider eventViewsProvider;
+
+    @Mock
+    private ViewCounter viewCounter;
+
+    private ViewsReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        reconciler = new ViewsReconciler(eventRepository, eventViewsProvider, viewCounter, 2);
+    }
+
+    @Test
+    void reconcile_shouldWalkPublishedEventsInBatches() {
+        when(eventRepository.findPublishedIdsAfter(0L, PageRequest.of(0, 2))).thenReturn(List.of(1L, 3L));
+        when(eventRepository.findPublishedIdsAfter(3L, PageRequest.of(0, 2))).thenReturn(List.of(7L));
+        when(eventViewsProvider.reload(List.of(1L, 3L))).thenReturn(Map.of(1L, 5L, 3L, 0L));
+        when(eventViewsProvider.reload(List.of(7L))).thenReturn(Map.of(7L, 2L));
+
+        reconciler.reconcile();
+
+        verify(viewCounter).reconcile(Map.of(1L, 5L, 3L, 0L));
+        verify(viewCounter).reconcile(Map.of(7L, 2L));
+    }
+
+    @Test
+    void reconcile_whenStatsUnavailable_shouldStopAfterPartialBatch() {
+        when(eventRepository.findPublishedIdsAfter(0L, PageRequest.of(0, 2))).thenReturn(List.of(1L, 3L));
+        when(eventViewsProvider.reload(List.of(1L, 3L))).thenReturn(Map.of(1L, 5L));
+
+        reconciler.reconcile();
+
+        verify(viewCounter).reconcile(Map.of(1L, 5L));
+        verify(eventRepository, never()).findPublishedIdsAfter(3L, PageRequest.of(0, 2));
+    }
+
+    @Test
+    void reconcile_whenNothingPublished_shouldNotAskStats() {
+        when(eventRepository.findPublishedIdsAfter(0L, PageRequest.of(0, 2))).thenReturn(List.of());
+
+        reconciler.reconcile();
+
+        verifyNoInteractions(eventViewsProvider, viewCounter);
+    }
+}
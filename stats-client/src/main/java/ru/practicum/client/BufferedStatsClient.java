@@ -0,0 +1,237 @@
+package ru.practicum.client;
+
+import org.springframework.lang.Nullable;
+import org.springframework.web.client.RestTemplate;
+import ru.practicum.dto.EndpointHit;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+public class BufferedStatsClient extends StatsClient implements AutoCloseable {
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final BlockingQueue<EndpointHit> queue;
+    private final int batchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final ScheduledExecutorService sender;
+    private final HitJournal journal;
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final LongAdder sentHits = new LongAdder();
+    private final LongAdder failedHits = new LongAdder();
+    private final LongAdder rejectedHits = new LongAdder();
+    private final LongAdder droppedHits = new LongAdder();
+    private final LongAdder spilledHits = new LongAdder();
+    private final LongAdder journaledHits = new LongAdder();
+
+    public BufferedStatsClient(String serverUrl, RestTemplate restTemplate, int capacity, int batchSize,
+                               Duration flushInterval, OverflowPolicy overflowPolicy) {
+        this(serverUrl, restTemplate, capacity, batchSize, flushInterval, overflowPolicy, runnable -> {
+            Thread thread = new Thread(runnable, "stats-client-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public BufferedStatsClient(String serverUrl, RestTemplate restTemplate, int capacity, int batchSize,
+                               Duration flushInterval, OverflowPolicy overflowPolicy, ThreadFactory threadFactory) {
+        this(serverUrl, restTemplate, capacity, batchSize, flushInterval, overflowPolicy, threadFactory, null);
+    }
+
+    public BufferedStatsClient(String serverUrl, RestTemplate restTemplate, int capacity, int batchSize,
+                               Duration flushInterval, OverflowPolicy overflowPolicy, ThreadFactory threadFactory,
+                               @Nullable HitJournal journal) {
+        this(serverUrl, restTemplate, capacity, batchSize, flushInterval, overflowPolicy, threadFactory, journal,
+                WireFormat.JSON);
+    }
+
+    // hits that cannot be delivered go to the journal, which the client owns and closes
+    public BufferedStatsClient(String serverUrl, RestTemplate restTemplate, int capacity, int batchSize,
+                               Duration flushInterval, OverflowPolicy overflowPolicy, ThreadFactory threadFactory,
+                               @Nullable HitJournal journal, WireFormat hitsFormat) {
+        super(serverUrl, restTemplate, hitsFormat);
+        if (capacity <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("Buffer capacity and batch size must be positive");
+        }
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy;
+        this.journal = journal;
+        this.sender = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        long intervalMillis = flushInterval.toMillis();
+        sender.scheduleWithFixedDelay(this::flush, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void addHit(EndpointHit hit) {
+        switch (overflowPolicy) {
+            case BLOCK:
+                enqueueBlocking(hit);
+                break;
+            case SPILL:
+                if (!queue.offer(hit)) {
+                    spill(hit);
+                }
+                break;
+            case DROP_OLDEST:
+            default:
+                while (!queue.offer(hit)) {
+                    if (queue.poll() != null) {
+                        droppedHits.increment();
+                    }
+                }
+        }
+
+        if (queue.size() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            try {
+                sender.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                // closing, the final flush in close() drains the queue
+            }
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> addHitAsync(EndpointHit hit) {
+        addHit(hit);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    public long getSentCount() {
+        return sentHits.sum();
+    }
+
+    public long getFailedCount() {
+        return failedHits.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejectedHits.sum();
+    }
+
+    public long getDroppedCount() {
+        return droppedHits.sum();
+    }
+
+    public long getSpilledCount() {
+        return spilledHits.sum();
+    }
+
+    public long getJournaledCount() {
+        return journaledHits.sum();
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    public long getJournalSize() {
+        return journal == null ? 0 : journal.size();
+    }
+
+    @Override
+    public void close() {
+        sender.shutdown();
+        try {
+            if (!sender.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                sender.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            sender.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    // false when stats-server could not take the batch right now
+    private boolean sendBatch(List<EndpointHit> batch) {
+        Delivery delivery = deliver(batch);
+        if (delivery == Delivery.DELIVERED) {
+            sentHits.add(batch.size());
+        } else if (delivery == Delivery.REJECTED) {
+            rejectedHits.add(batch.size());
+        } else {
+            batch.forEach(this::journalOrFail);
+        }
+        return delivery != Delivery.RETRYABLE;
+    }
+
+    private void flush() {
+        flushRequested.set(false);
+        List<EndpointHit> batch = new ArrayList<>(batchSize);
+        boolean delivered = true;
+        while (queue.drainTo(batch, batchSize) > 0) {
+            delivered &= sendBatch(batch);
+            batch.clear();
+        }
+        if (delivered && journal != null) {
+            replayJournal();
+        }
+    }
+
+    // oldest first, stops at the first retryable failure and leaves the rest for the next flush
+    private void replayJournal() {
+        for (HitJournal.Batch batch = journal.read(batchSize); !batch.hits().isEmpty();
+             batch = journal.read(batchSize)) {
+            Delivery delivery = deliver(batch.hits());
+            if (delivery == Delivery.RETRYABLE) {
+                return;
+            }
+            journal.commit(batch);
+            if (delivery == Delivery.DELIVERED) {
+                sentHits.add(batch.hits().size());
+            } else {
+                rejectedHits.add(batch.hits().size());
+            }
+        }
+    }
+
+    private Delivery deliver(List<EndpointHit> hits) {
+        try {
+            return deliverHits(hits);
+        } catch (RuntimeException e) {
+            return Delivery.RETRYABLE;
+        }
+    }
+
+    private void journalOrFail(EndpointHit hit) {
+        if (journal != null && journal.append(hit)) {
+            journaledHits.increment();
+        } else {
+            failedHits.increment();
+        }
+    }
+
+    private void enqueueBlocking(EndpointHit hit) {
+        try {
+            queue.put(hit);
+        } catch (InterruptedException e) {
+            droppedHits.increment();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void spill(EndpointHit hit) {
+        spilledHits.increment();
+        if (journal == null) {
+            sendBatch(List.of(hit));
+        } else if (journal.append(hit)) {
+            journaledHits.increment();
+        } else {
+            droppedHits.increment();
+        }
+    }
+}
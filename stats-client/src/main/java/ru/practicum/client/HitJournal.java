@@ -0,0 +1,346 @@
+package ru.practicum.client;
+
+import ru.practicum.dto.EndpointHit;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/*
+ * Append-only journal of hits that could not be delivered, kept as fixed-size memory-mapped segment files.
+ * A record is [payload length][crc32 of payload][payload] and its length is written last, so a record torn by a
+ * crash fails the checksum and marks the end of the segment. The replay position is stored in a separate file
+ * that is replaced atomically, replay is therefore at-least-once. Segments fully replayed are deleted and no more
+ * than maxSegments exist at a time, appends are refused once they are all full.
+ */
+public class HitJournal implements AutoCloseable {
+    private static final String SEGMENT_SUFFIX = ".segment";
+
+    private static final String OFFSETS_FILE = "offsets";
+
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+
+    private static final int OFFSETS_BYTES = Long.BYTES + Integer.BYTES * 2;
+
+    private static final int NULL_LENGTH = -1;
+
+    private final Path directory;
+
+    private final int segmentSize;
+
+    private final int maxSegments;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final NavigableMap<Long, MappedByteBuffer> segments = new TreeMap<>();
+
+    private Position readPosition;
+
+    private long writeSegment;
+
+    private int writeOffset;
+
+    private long size;
+
+    public HitJournal(Path directory, int segmentSize, int maxSegments) {
+        if (segmentSize <= HEADER_BYTES || maxSegments <= 0) {
+            throw new IllegalArgumentException("Journal segment size and segment count must be positive");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+        try {
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open stats journal in " + directory, e);
+        }
+    }
+
+    public boolean append(EndpointHit hit) {
+        byte[] payload = encode(hit);
+        int recordSize = HEADER_BYTES + payload.length;
+        if (recordSize > segmentSize) {
+            return false;
+        }
+
+        lock.lock();
+        try {
+            if (segments.isEmpty()) {
+                return false;
+            }
+            if (writeOffset + recordSize > segmentSize) {
+                if (segments.size() >= maxSegments) {
+                    return false;
+                }
+                segments.get(writeSegment).force();
+                segments.put(writeSegment + 1, map(writeSegment + 1));
+                writeSegment++;
+                writeOffset = 0;
+            }
+
+            MappedByteBuffer segment = segments.get(writeSegment);
+            segment.put(writeOffset + HEADER_BYTES, payload);
+            segment.putInt(writeOffset + Integer.BYTES, checksum(ByteBuffer.wrap(payload)));
+            segment.putInt(writeOffset, payload.length);
+            writeOffset += recordSize;
+            size++;
+            return true;
+        } catch (IOException e) {
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Batch read(int maxHits) {
+        lock.lock();
+        try {
+            List<EndpointHit> hits = new ArrayList<>();
+            Position position = readPosition;
+            while (hits.size() < maxHits && segments.containsKey(position.segment())) {
+                MappedByteBuffer segment = segments.get(position.segment());
+                int recordSize = recordSize(segment, position.offset());
+                if (recordSize < 0) {
+                    Long next = segments.higherKey(position.segment());
+                    if (next == null) {
+                        break;
+                    }
+                    position = new Position(next, 0);
+                    continue;
+                }
+                hits.add(decode(segment, position.offset() + HEADER_BYTES, recordSize - HEADER_BYTES));
+                position = new Position(position.segment(), position.offset() + recordSize);
+            }
+            return new Batch(hits, position);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // an offsets write that fails only widens the window replayed again after a restart
+    void commit(Batch batch) {
+        lock.lock();
+        try {
+            readPosition = batch.next();
+            size -= batch.hits().size();
+            try {
+                writeOffsets(readPosition);
+                Map<Long, MappedByteBuffer> replayed = segments.headMap(readPosition.segment());
+                for (Long segment : List.copyOf(replayed.keySet())) {
+                    replayed.remove(segment);
+                    Files.deleteIfExists(segmentPath(segment));
+                }
+            } catch (IOException ignored) {
+                // the in-memory position is still advanced
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            segments.values().forEach(MappedByteBuffer::force);
+            segments.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void recover() throws IOException {
+        Files.createDirectories(directory);
+        List<Long> existing;
+        try (Stream<Path> files = Files.list(directory)) {
+            existing = files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+
+        Position committed = readOffsets();
+        for (Long segment : existing) {
+            if (committed != null && segment < committed.segment()) {
+                Files.deleteIfExists(segmentPath(segment));
+            } else {
+                segments.put(segment, map(segment));
+            }
+        }
+        if (segments.isEmpty()) {
+            long first = committed == null ? 0 : committed.segment();
+            segments.put(first, map(first));
+        }
+        readPosition = committed != null && segments.containsKey(committed.segment())
+                ? committed
+                : new Position(segments.firstKey(), 0);
+
+        writeSegment = segments.lastKey();
+        writeOffset = 0;
+        MappedByteBuffer last = segments.get(writeSegment);
+        for (int recordSize; (recordSize = recordSize(last, writeOffset)) > 0; ) {
+            writeOffset += recordSize;
+        }
+
+        size = 0;
+        for (Map.Entry<Long, MappedByteBuffer> segment : segments.tailMap(readPosition.segment(), true).entrySet()) {
+            int offset = segment.getKey() == readPosition.segment() ? readPosition.offset() : 0;
+            for (int recordSize; (recordSize = recordSize(segment.getValue(), offset)) > 0; ) {
+                offset += recordSize;
+                size++;
+            }
+        }
+    }
+
+    private MappedByteBuffer map(long segment) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentPath(segment),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+    }
+
+    private Path segmentPath(long segment) {
+        return directory.resolve(String.format("%020d%s", segment, SEGMENT_SUFFIX));
+    }
+
+    private Position readOffsets() throws IOException {
+        Path file = directory.resolve(OFFSETS_FILE);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        ByteBuffer offsets = ByteBuffer.wrap(Files.readAllBytes(file));
+        int checksumOffset = OFFSETS_BYTES - Integer.BYTES;
+        if (offsets.remaining() != OFFSETS_BYTES
+                || checksum(offsets.slice(0, checksumOffset)) != offsets.getInt(checksumOffset)) {
+            return null;
+        }
+        return new Position(offsets.getLong(0), offsets.getInt(Long.BYTES));
+    }
+
+    private void writeOffsets(Position position) throws IOException {
+        ByteBuffer offsets = ByteBuffer.allocate(OFFSETS_BYTES)
+                .putLong(position.segment())
+                .putInt(position.offset());
+        offsets.putInt(checksum(offsets.slice(0, OFFSETS_BYTES - Integer.BYTES))).flip();
+
+        Path temporary = directory.resolve(OFFSETS_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(offsets);
+            channel.force(true);
+        }
+        Files.move(temporary, directory.resolve(OFFSETS_FILE), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    // -1 when there is no intact record at the offset, which is the end of the written part of the segment
+    private int recordSize(ByteBuffer segment, int offset) {
+        if (offset + HEADER_BYTES > segmentSize) {
+            return -1;
+        }
+        int length = segment.getInt(offset);
+        if (length <= 0 || length > segmentSize - offset - HEADER_BYTES) {
+            return -1;
+        }
+        if (checksum(segment.slice(offset + HEADER_BYTES, length)) != segment.getInt(offset + Integer.BYTES)) {
+            return -1;
+        }
+        return HEADER_BYTES + length;
+    }
+
+    private static int checksum(ByteBuffer bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return (int) crc.getValue();
+    }
+
+    private static byte[] encode(EndpointHit hit) {
+        byte[] app = utf8(hit.getApp());
+        byte[] uri = utf8(hit.getUri());
+        byte[] ip = utf8(hit.getIp());
+        ByteBuffer payload = ByteBuffer.allocate(Byte.BYTES + Long.BYTES + Integer.BYTES
+                + Integer.BYTES * 3 + length(app) + length(uri) + length(ip));
+        LocalDateTime timestamp = hit.getTimestamp();
+        if (timestamp == null) {
+            payload.put((byte) 0).putLong(0).putInt(0);
+        } else {
+            payload.put((byte) 1).putLong(timestamp.toEpochSecond(ZoneOffset.UTC)).putInt(timestamp.getNano());
+        }
+        putString(payload, app);
+        putString(payload, uri);
+        putString(payload, ip);
+        return payload.array();
+    }
+
+    private static EndpointHit decode(ByteBuffer segment, int offset, int length) {
+        ByteBuffer payload = segment.slice(offset, length);
+        boolean hasTimestamp = payload.get() == 1;
+        long epochSecond = payload.getLong();
+        int nano = payload.getInt();
+        return EndpointHit.builder()
+                .app(getString(payload))
+                .uri(getString(payload))
+                .ip(getString(payload))
+                .timestamp(hasTimestamp ? LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC) : null)
+                .build();
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int length(byte[] bytes) {
+        return bytes == null ? 0 : bytes.length;
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putInt(NULL_LENGTH);
+        } else {
+            buffer.putInt(bytes.length).put(bytes);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    record Position(long segment, int offset) {
+    }
+
+    record Batch(List<EndpointHit> hits, Position next) {
+    }
+}
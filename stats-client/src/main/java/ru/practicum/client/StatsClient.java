@@ -3,12 +3,17 @@ package ru.practicum.client;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.client.RestTemplate;
 import ru.practicum.dto.EndpointHit;
+import ru.practicum.dto.EndpointHitBinaryFormat;
+import ru.practicum.dto.EndpointHitEncoder;
 import ru.practicum.dto.ViewStats;
 
 import java.time.LocalDateTime;
@@ -19,33 +24,86 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public class StatsClient {
     private final RestTemplate rest;
     private final String serverUrl;
+    private final Executor asyncExecutor;
+    private volatile WireFormat hitsFormat;
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final HttpHeaders JSON_HEADERS = jsonHeaders();
+    private static final HttpHeaders BINARY_HEADERS = binaryHeaders();
+    private static final Executor VIRTUAL_THREADS = command -> Thread.ofVirtual().name("stats-client-async")
+            .start(command);
 
-    public StatsClient(String serverUrl, RestTemplate restTemplate) {
+    public StatsClient(String serverUrl, RestTemplate restTemplate, Executor asyncExecutor, WireFormat hitsFormat) {
         this.serverUrl = serverUrl;
         this.rest = restTemplate;
+        this.asyncExecutor = asyncExecutor;
+        this.hitsFormat = hitsFormat;
+    }
+
+    public StatsClient(String serverUrl, RestTemplate restTemplate, Executor asyncExecutor) {
+        this(serverUrl, restTemplate, asyncExecutor, WireFormat.JSON);
+    }
+
+    public StatsClient(String serverUrl, RestTemplate restTemplate, WireFormat hitsFormat) {
+        this(serverUrl, restTemplate, VIRTUAL_THREADS, hitsFormat);
+    }
+
+    public StatsClient(String serverUrl, RestTemplate restTemplate) {
+        this(serverUrl, restTemplate, VIRTUAL_THREADS);
     }
 
     public StatsClient(String serverUrl) {
-        this(serverUrl, new RestTemplate());
+        this(serverUrl, StatsHttpTransport.restTemplate());
     }
 
     public void addHit(EndpointHit hit) {
         post("/hit", hit);
     }
 
+    public CompletableFuture<Void> addHitAsync(EndpointHit hit) {
+        return CompletableFuture.runAsync(() -> addHit(hit), asyncExecutor);
+    }
+
+    public void addHits(List<EndpointHit> hits) {
+        if (hits.isEmpty()) {
+            return;
+        }
+        postHits(hits);
+    }
+
+    // transport failures are thrown and are as retryable as a server error
+    Delivery deliverHits(List<EndpointHit> hits) {
+        if (hits.isEmpty()) {
+            return Delivery.DELIVERED;
+        }
+        HttpStatusCode status = postHits(hits).getStatusCode();
+        if (status.is5xxServerError() || status.isSameCodeAs(HttpStatus.REQUEST_TIMEOUT)
+                || status.isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS)) {
+            return Delivery.RETRYABLE;
+        }
+        return status.is4xxClientError() ? Delivery.REJECTED : Delivery.DELIVERED;
+    }
+
     public List<ViewStats> getStats(LocalDateTime start, LocalDateTime end, @Nullable List<String> uris,
                                     boolean unique) {
+        return getStats(start, end, uris, unique, false);
+    }
+
+    // approximate unique counts are merged from rolled-up sketches instead of a COUNT DISTINCT over raw hits
+    public List<ViewStats> getStats(LocalDateTime start, LocalDateTime end, @Nullable List<String> uris,
+                                    boolean unique, boolean approximate) {
         Map<String, Object> parameters = new HashMap<>();
         parameters.put("start", start.format(FORMATTER));
         parameters.put("end", end.format(FORMATTER));
         parameters.put("unique", unique);
+        parameters.put("approximate", approximate);
 
-        String path = "/stats?start={start}&end={end}&unique={unique}";
+        String path = "/stats?start={start}&end={end}&unique={unique}&approximate={approximate}";
 
         if (uris != null && !uris.isEmpty()) {
             parameters.put("uris", String.join(",", uris));
@@ -53,22 +111,49 @@ public class StatsClient {
         }
 
         ResponseEntity<ViewStats[]> response = get(path, parameters);
-        return response.getStatusCode().is2xxSuccessful()
-                ? Arrays.asList(Objects.requireNonNull(response.getBody()))
-                : Collections.emptyList();
+        // an error must not read as "no views", callers would cache zeros
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            throw new RestClientResponseException("Stats request failed with status " + response.getStatusCode(),
+                    response.getStatusCode(), "", null, null, null);
+        }
+        return Arrays.asList(Objects.requireNonNull(response.getBody()));
+    }
+
+    public CompletableFuture<List<ViewStats>> getStatsAsync(LocalDateTime start, LocalDateTime end,
+                                                            @Nullable List<String> uris, boolean unique) {
+        return getStatsAsync(start, end, uris, unique, false);
+    }
+
+    public CompletableFuture<List<ViewStats>> getStatsAsync(LocalDateTime start, LocalDateTime end,
+                                                            @Nullable List<String> uris, boolean unique,
+                                                            boolean approximate) {
+        return CompletableFuture.supplyAsync(() -> getStats(start, end, uris, unique, approximate), asyncExecutor);
     }
 
     private ResponseEntity<ViewStats[]> get(String path, Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.GET, path, parameters, null);
+        return makeAndSendRequest(HttpMethod.GET, path, parameters, null, JSON_HEADERS);
     }
 
-    private void post(String path, EndpointHit body) {
-        makeAndSendRequest(HttpMethod.POST, path, Collections.emptyMap(), body);
+    private ResponseEntity<Void> post(String path, Object body) {
+        return makeAndSendRequest(HttpMethod.POST, path, Collections.emptyMap(), body, JSON_HEADERS);
+    }
+
+    private ResponseEntity<Void> postHits(List<EndpointHit> hits) {
+        if (hitsFormat == WireFormat.BINARY) {
+            ResponseEntity<Void> response = makeAndSendRequest(HttpMethod.POST, "/hits", Collections.emptyMap(),
+                    new EndpointHitEncoder().encode(hits), BINARY_HEADERS);
+            if (!response.getStatusCode().isSameCodeAs(HttpStatus.UNSUPPORTED_MEDIA_TYPE)) {
+                return response;
+            }
+            // stats-server predates the binary format, JSON from now on
+            hitsFormat = WireFormat.JSON;
+        }
+        return post("/hits", hits);
     }
 
     private <T> ResponseEntity<T> makeAndSendRequest(HttpMethod method, String path, Map<String, Object> parameters,
-                                                     @Nullable EndpointHit body) {
-        HttpEntity<EndpointHit> requestEntity = new HttpEntity<>(body, defaultHeaders());
+                                                     @Nullable Object body, HttpHeaders headers) {
+        HttpEntity<Object> requestEntity = new HttpEntity<>(body, headers);
 
         ResponseEntity<T> response;
         try {
@@ -84,11 +169,18 @@ public class StatsClient {
         return prepareResponse(response);
     }
 
-    private HttpHeaders defaultHeaders() {
+    private static HttpHeaders jsonHeaders() {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         headers.setAccept(List.of(MediaType.APPLICATION_JSON));
-        return headers;
+        return HttpHeaders.readOnlyHttpHeaders(headers);
+    }
+
+    private static HttpHeaders binaryHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(EndpointHitBinaryFormat.CONTENT_TYPE));
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        return HttpHeaders.readOnlyHttpHeaders(headers);
     }
 
     private static <T> ResponseEntity<T> prepareResponse(ResponseEntity<T> response) {
@@ -97,4 +189,9 @@ public class StatsClient {
         }
         return ResponseEntity.status(response.getStatusCode()).build();
     }
-}
\ No newline at end of file
+
+    // retryable hits may be accepted later, rejected ones never will be
+    enum Delivery {
+        DELIVERED, RETRYABLE, REJECTED
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.client;
+
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+public final class StatsHttpTransport {
+    public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(2);
+
+    public static final Duration DEFAULT_READ_TIMEOUT = Duration.ofSeconds(5);
+
+    private StatsHttpTransport() {
+    }
+
+    public static RestTemplate restTemplate() {
+        return restTemplate(DEFAULT_CONNECT_TIMEOUT, DEFAULT_READ_TIMEOUT, HttpClient.Version.HTTP_2);
+    }
+
+    // one HttpClient keeps its connections alive between calls, HTTP_2 falls back to HTTP/1.1 when not offered
+    public static RestTemplate restTemplate(Duration connectTimeout, Duration readTimeout,
+                                            HttpClient.Version version) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(version)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(readTimeout);
+        return new RestTemplate(requestFactory);
+    }
+}
@@ -0,0 +1,264 @@
+package ru.practicum.client;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import ru.practicum.dto.EndpointHit;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BufferedStatsClientTest {
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private final String serverUrl = "http://localhost:9090";
+
+    @Test
+    void addHit_ShouldNotCallServerOnCallerThread() {
+        try (BufferedStatsClient client = new BufferedStatsClient(serverUrl, restTemplate, 10, 5,
+                Duration.ofHours(1), OverflowPolicy.DROP_OLDEST)) {
+            client.addHit(hit("/events/1"));
+
+            assertEquals(1, client.getQueueSize());
+            verify(restTemplate, never()).exchange(any(String.class), any(HttpMethod.class), any(HttpEntity.class),
+                    eq(Void.class), anyMap());
+        }
+    }
+
+    @Test
+    void addHit_ShouldFlushWhenBatchSizeReached() {
+        stubPost("/hits");
+        try (BufferedStatsClient client = new BufferedStatsClient(serverUrl, restTemplate, 10, 3,
+                Duration.ofHours(1), OverflowPolicy.DROP_OLDEST)) {
+            client.addHit(hit("/events/1"));
+            client.addHit(hit("/events/2"));
+            client.addHit(hit("/events/3"));
+
+            verify(restTemplate, timeout(5000).times(1)).exchange(eq(serverUrl + "/hits"), eq(HttpMethod.POST),
+                    any(HttpEntity.class), eq(Void.class), anyMap());
+        }
+    }
+
+    @Test
+    void addHit_ShouldFlushOnThreadsOfGivenFactory() {
+        Set<Boolean> senderThreads = ConcurrentHashMap.newKeySet();
+        when(restTemplate.exchange(eq(serverUrl + "/hits"), eq(HttpMethod.POST), any(HttpEntity.class),
+                eq(Void.class), anyMap())).thenAnswer(invocation -> {
+                    senderThreads.add(Thread.currentThread().isVirtual());
+                    return new ResponseEntity<>(HttpStatus.CREATED);
+                });
+        try (BufferedStatsClient client = new BufferedStatsClient(serverUrl, restTemplate, 10, 1,
+                Duration.ofHours(1), OverflowPolicy.DROP_OLDEST, Thread.ofVirtual().factory())) {
+            client.addHit(hit("/events/1"));
+
+            verify(restTemplate, timeout(5000).times(1)).exchange(eq(serverUrl + "/hits"), eq(HttpMethod.POST),
+                    any(HttpEntity.class), eq(Void.class), anyMap());
+            assertEquals(Set.of(true), senderThreads);
+        }
+    }
+
+    @Test
+    void close_ShouldFlushPendingHits() {
+        stubPost("/hits");
+        BufferedStatsClient client = new BufferedStatsClient(serverUrl, restTemplate, 10, 5,
+                Duration.ofHours(1), OverflowPolicy.DROP_OLDEST);
+        client.addHit(hit("/events/1"));
+        client.addHit(hit("/events/2"));
+
+        client.close();
+
+        assertEquals(2, client.getSentCount());
+        assertEquals(0, client.getQueueSize());
+    }
+
+    @Test
+    void addHit_ShouldQueueWithoutThrowingWhenSenderIsShutDown() {
+        BufferedStatsClient client = new BufferedStatsClient(serverUrl, restTemplate, 10, 1,
+                Duration.ofHours(1), OverflowPolicy.DROP_OLDEST);
+        client.close();
+
+        client.addHit(hit("/events/1"));
+
+        assertEquals(1, client.getQueueSize());
+    }
+
+    @Test
+    void addHit_ShouldDropOldestWhenBufferIsFull() {
+        try (BufferedStatsClient client = new BufferedStatsClient(serverUrl, restTemplate, 2, 10,
+                Duration.ofHours(1), OverflowPolicy.DROP_OLDEST)) {
+            client.addHit(hit("/events/1"));
+            client.addHit(hit("/events/2"));
+            client.addHit(hit("/events/3"));
+
+            assertEquals(1, client.getDroppedCount());
+            assertEquals(2, client.getQueueSize());
+        }
+    }
+
+    @Test
+    void addHit_ShouldSendOnCallerThreadWhenSpilling() {
+        stubPost("/hits");
+        try (BufferedStatsClient client = new BufferedStatsClient(serverUrl, restTemplate, 1, 10,
+                Duration.ofHours(1), OverflowPolicy.SPILL)) {
+            client.addHit(hit("/events/1"));
+            client.addHit(hit("/events/2"));
+
+            assertEquals(1, client.getSpilledCount());
+            assertEquals(1, client.getSentCount());
+            assertEquals(1, client.getQueueSize());
+        }
+    }
+
+    @Test
+    void addHit_ShouldCountSpilledHitRejectedWithServerErrorAsFailed() {
+        when(restTemplate.exchange(eq(serverUrl + "/hits"), eq(HttpMethod.POST), any(HttpEntity.class),
+                eq(Void.class), anyMap())).thenThrow(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE));
+        try (BufferedStatsClient client = new BufferedStatsClient(serverUrl, restTemplate, 1, 10,
+                Duration.ofHours(1), OverflowPolicy.SPILL)) {
+            client.addHit(hit("/events/1"));
+            client.addHit(hit("/events/2"));
+
+            assertEquals(1, client.getSpilledCount());
+            assertEquals(0, client.getSentCount());
+            assertEquals(1, client.getFailedCount());
+        }
+    }
+
+    @Test
+    void close_ShouldCountFailedHits() {
+        when(restTemplate.exchange(eq(serverUrl + "/hits"), eq(HttpMethod.POST), any(HttpEntity.class),
+                eq(Void.class), anyMap())).thenThrow(new ResourceAccessException("Connection refused"));
+        BufferedStatsClient client = new BufferedStatsClient(serverUrl, restTemplate, 10, 5,
+                Duration.ofHours(1), OverflowPolicy.BLOCK);
+        client.addHit(hit("/events/1"));
+
+        client.close();
+
+        assertEquals(0, client.getSentCount());
+        assertEquals(1, client.getFailedCount());
+        verify(restTemplate, times(1)).exchange(eq(serverUrl + "/hits"), eq(HttpMethod.POST),
+                any(HttpEntity.class), eq(Void.class), anyMap());
+    }
+
+    @Test
+    void close_ShouldCountHitsTheServerRejectsWithoutJournalingThem(@TempDir Path journalDirectory) {
+        when(restTemplate.exchange(eq(serverUrl + "/hits"), eq(HttpMethod.POST), any(HttpEntity.class),
+                eq(Void.class), anyMap())).thenThrow(new HttpClientErrorException(HttpStatus.BAD_REQUEST));
+        BufferedStatsClient client = new BufferedStatsClient(serverUrl, restTemplate, 10, 5,
+                Duration.ofHours(1), OverflowPolicy.BLOCK, Thread.ofVirtual().factory(),
+                new HitJournal(journalDirectory, 4096, 2));
+        client.addHit(hit("/events/1"));
+
+        client.close();
+
+        assertEquals(0, client.getSentCount());
+        assertEquals(0, client.getFailedCount());
+        assertEquals(0, client.getJournaledCount());
+        assertEquals(1, client.getRejectedCount());
+    }
+
+    @Test
+    void flush_ShouldCommitJournaledBatchTheServerRejects(@TempDir Path journalDirectory) {
+        when(restTemplate.exchange(eq(serverUrl + "/hits"), eq(HttpMethod.POST), any(HttpEntity.class),
+                eq(Void.class), anyMap()))
+                .thenThrow(new ResourceAccessException("Connection refused"))
+                .thenReturn(new ResponseEntity<>(HttpStatus.PAYLOAD_TOO_LARGE));
+        HitJournal journal = new HitJournal(journalDirectory, 4096, 2);
+        try (BufferedStatsClient client = new BufferedStatsClient(serverUrl, restTemplate, 10, 2,
+                Duration.ofMillis(50), OverflowPolicy.DROP_OLDEST, Thread.ofVirtual().factory(), journal)) {
+            client.addHit(hit("/events/1"));
+            client.addHit(hit("/events/2"));
+
+            verify(restTemplate, timeout(5000).times(2)).exchange(eq(serverUrl + "/hits"), eq(HttpMethod.POST),
+                    any(HttpEntity.class), eq(Void.class), anyMap());
+            client.close();
+
+            assertEquals(2, client.getJournaledCount());
+            assertEquals(0, client.getSentCount());
+            assertEquals(2, client.getRejectedCount());
+            assertEquals(0, client.getJournalSize());
+        }
+    }
+
+    @Test
+    void flush_ShouldJournalFailedBatchAndReplayItOnceServerRecovers(@TempDir Path journalDirectory) {
+        when(restTemplate.exchange(eq(serverUrl + "/hits"), eq(HttpMethod.POST), any(HttpEntity.class),
+                eq(Void.class), anyMap()))
+                .thenThrow(new ResourceAccessException("Connection refused"))
+                .thenReturn(new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE))
+                .thenReturn(new ResponseEntity<>(HttpStatus.CREATED));
+        HitJournal journal = new HitJournal(journalDirectory, 4096, 2);
+        try (BufferedStatsClient client = new BufferedStatsClient(serverUrl, restTemplate, 10, 2,
+                Duration.ofMillis(50), OverflowPolicy.DROP_OLDEST, Thread.ofVirtual().factory(), journal)) {
+            client.addHit(hit("/events/1"));
+            client.addHit(hit("/events/2"));
+
+            verify(restTemplate, timeout(5000).times(3)).exchange(eq(serverUrl + "/hits"), eq(HttpMethod.POST),
+                    any(HttpEntity.class), eq(Void.class), anyMap());
+            client.close();
+
+            assertEquals(2, client.getJournaledCount());
+            assertEquals(2, client.getSentCount());
+            assertEquals(0, client.getFailedCount());
+            assertEquals(0, client.getJournalSize());
+        }
+    }
+
+    @Test
+    void addHit_ShouldJournalInsteadOfSendingOnCallerThreadWhenSpilling(@TempDir Path journalDirectory) {
+        HitJournal journal = new HitJournal(journalDirectory, 4096, 2);
+        try (BufferedStatsClient client = new BufferedStatsClient(serverUrl, restTemplate, 1, 10,
+                Duration.ofHours(1), OverflowPolicy.SPILL, Thread.ofVirtual().factory(), journal)) {
+            client.addHit(hit("/events/1"));
+            client.addHit(hit("/events/2"));
+
+            assertEquals(1, client.getSpilledCount());
+            assertEquals(1, client.getJournaledCount());
+            assertEquals(1, client.getJournalSize());
+            verify(restTemplate, never()).exchange(any(String.class), any(HttpMethod.class), any(HttpEntity.class),
+                    eq(Void.class), anyMap());
+        }
+    }
+
+    @Test
+    void constructor_ShouldRejectNonPositiveCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new BufferedStatsClient(serverUrl, restTemplate, 0, 5,
+                Duration.ofSeconds(1), OverflowPolicy.BLOCK));
+    }
+
+    private void stubPost(String path) {
+        when(restTemplate.exchange(eq(serverUrl + path), eq(HttpMethod.POST), any(HttpEntity.class),
+                eq(Void.class), anyMap())).thenReturn(new ResponseEntity<>(HttpStatus.CREATED));
+    }
+
+    private EndpointHit hit(String uri) {
+        return new EndpointHit(null, "explore-with-me", uri, "127.0.0.1", LocalDateTime.now());
+    }
+}
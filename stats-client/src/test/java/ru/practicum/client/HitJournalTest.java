@@ -0,0 +1,160 @@
+package ru.practicum.client;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.practicum.dto.EndpointHit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HitJournalTest {
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void read_ShouldReturnAppendedHitsInOrder() {
+        try (HitJournal journal = new HitJournal(directory, SEGMENT_SIZE, 4)) {
+            EndpointHit first = hit("/events/1");
+            EndpointHit second = new EndpointHit(null, "explore-with-me", "/events/2", null, null);
+            journal.append(first);
+            journal.append(second);
+
+            HitJournal.Batch batch = journal.read(10);
+
+            assertEquals(List.of(first, second), batch.hits());
+            assertEquals(2, journal.size());
+        }
+    }
+
+    @Test
+    void commit_ShouldAdvancePastReplayedHits() {
+        try (HitJournal journal = new HitJournal(directory, SEGMENT_SIZE, 4)) {
+            journal.append(hit("/events/1"));
+            journal.append(hit("/events/2"));
+            journal.append(hit("/events/3"));
+
+            journal.commit(journal.read(2));
+
+            assertEquals(1, journal.size());
+            assertEquals(List.of("/events/3"), uris(journal.read(10)));
+        }
+    }
+
+    @Test
+    void reopen_ShouldResumeFromCommittedPositionAndKeepAppending() {
+        try (HitJournal journal = new HitJournal(directory, SEGMENT_SIZE, 4)) {
+            journal.append(hit("/events/1"));
+            journal.append(hit("/events/2"));
+            journal.commit(journal.read(1));
+        }
+
+        try (HitJournal journal = new HitJournal(directory, SEGMENT_SIZE, 4)) {
+            assertEquals(1, journal.size());
+            journal.append(hit("/events/3"));
+
+            assertEquals(List.of("/events/2", "/events/3"), uris(journal.read(10)));
+        }
+    }
+
+    @Test
+    void reopen_ShouldIgnoreTornRecordAtTheEnd() throws IOException {
+        try (HitJournal journal = new HitJournal(directory, SEGMENT_SIZE, 4)) {
+            journal.append(hit("/events/1"));
+            journal.append(hit("/events/2"));
+        }
+        Path segment = segmentFiles().get(0);
+        int secondRecord = secondRecordOffset(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0x7f}), secondRecord + 12);
+        }
+
+        try (HitJournal journal = new HitJournal(directory, SEGMENT_SIZE, 4)) {
+            assertEquals(1, journal.size());
+            journal.append(hit("/events/3"));
+
+            assertEquals(List.of("/events/1", "/events/3"), uris(journal.read(10)));
+        }
+    }
+
+    @Test
+    void append_ShouldRollSegmentsAndRefuseWhenDiskBoundReached() throws IOException {
+        try (HitJournal journal = new HitJournal(directory, 256, 2)) {
+            int appended = 0;
+            while (journal.append(hit("/events/" + appended))) {
+                appended++;
+            }
+
+            assertEquals(2, segmentFiles().size());
+            assertEquals(appended, journal.size());
+
+            journal.commit(journal.read(appended));
+
+            assertEquals(1, segmentFiles().size());
+            assertEquals(0, journal.size());
+            assertTrue(journal.append(hit("/events/next")));
+        }
+    }
+
+    @Test
+    void reopen_ShouldFallBackToFirstSegmentWhenOffsetsAreCorrupt() throws IOException {
+        try (HitJournal journal = new HitJournal(directory, SEGMENT_SIZE, 4)) {
+            journal.append(hit("/events/1"));
+            journal.append(hit("/events/2"));
+            journal.commit(journal.read(1));
+        }
+        Files.write(directory.resolve("offsets"), new byte[] {1, 2, 3});
+
+        try (HitJournal journal = new HitJournal(directory, SEGMENT_SIZE, 4)) {
+            assertEquals(List.of("/events/1", "/events/2"), uris(journal.read(10)));
+        }
+    }
+
+    @Test
+    void append_ShouldRefuseHitLargerThanSegment() {
+        try (HitJournal journal = new HitJournal(directory, 64, 1)) {
+            assertFalse(journal.append(hit("/events/" + "x".repeat(100))));
+            assertEquals(0, journal.size());
+        }
+    }
+
+    @Test
+    void constructor_ShouldRejectNonPositiveSegmentCount() {
+        assertThrows(IllegalArgumentException.class, () -> new HitJournal(directory, SEGMENT_SIZE, 0));
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".segment")).sorted().toList();
+        }
+    }
+
+    private static int secondRecordOffset(Path segment) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(length, 0);
+            return Integer.BYTES * 2 + length.flip().getInt();
+        }
+    }
+
+    private static List<String> uris(HitJournal.Batch batch) {
+        return batch.hits().stream().map(EndpointHit::getUri).toList();
+    }
+
+    private static EndpointHit hit(String uri) {
+        return new EndpointHit(null, "explore-with-me", uri, "127.0.0.1", LocalDateTime.of(2025, 3, 10, 12, 0, 5));
+    }
+}
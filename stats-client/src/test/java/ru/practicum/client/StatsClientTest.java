@@ -3,26 +3,42 @@ package ru.practicum.client;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.client.RestTemplate;
 import ru.practicum.dto.EndpointHit;
+import ru.practicum.dto.EndpointHitBinaryFormat;
+import ru.practicum.dto.EndpointHitDecoder;
 import ru.practicum.dto.ViewStats;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.startsWith;
@@ -72,6 +88,92 @@ class StatsClientTest {
         );
     }
 
+    @Test
+    void addHits_ShouldSendSinglePostRequest() {
+        EndpointHit hit1 = new EndpointHit(null, "test-app", "/test1", "127.0.0.1", LocalDateTime.now());
+        EndpointHit hit2 = new EndpointHit(null, "test-app", "/test2", "127.0.0.2", LocalDateTime.now());
+
+        when(restTemplate.exchange(
+                eq(serverUrl + "/hits"),
+                eq(HttpMethod.POST),
+                any(HttpEntity.class),
+                eq(Void.class),
+                eq(Collections.emptyMap())
+        )).thenReturn(new ResponseEntity<>(HttpStatus.CREATED));
+
+        statsClient.addHits(List.of(hit1, hit2));
+
+        verify(restTemplate, times(1)).exchange(
+                eq(serverUrl + "/hits"),
+                eq(HttpMethod.POST),
+                any(HttpEntity.class),
+                eq(Void.class),
+                eq(Collections.emptyMap())
+        );
+    }
+
+    @Test
+    void deliverHits_ShouldTellRetryableFailuresFromRejectedHits() {
+        EndpointHit hit = new EndpointHit(null, "test-app", "/test", "127.0.0.1", LocalDateTime.now());
+        when(restTemplate.exchange(
+                eq(serverUrl + "/hits"),
+                eq(HttpMethod.POST),
+                any(HttpEntity.class),
+                eq(Void.class),
+                eq(Collections.emptyMap())
+        )).thenReturn(new ResponseEntity<>(HttpStatus.CREATED))
+                .thenThrow(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE))
+                .thenThrow(new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS))
+                .thenThrow(new HttpClientErrorException(HttpStatus.BAD_REQUEST))
+                .thenThrow(new HttpClientErrorException(HttpStatus.PAYLOAD_TOO_LARGE));
+
+        assertEquals(StatsClient.Delivery.DELIVERED, statsClient.deliverHits(List.of(hit)));
+        assertEquals(StatsClient.Delivery.RETRYABLE, statsClient.deliverHits(List.of(hit)));
+        assertEquals(StatsClient.Delivery.RETRYABLE, statsClient.deliverHits(List.of(hit)));
+        assertEquals(StatsClient.Delivery.REJECTED, statsClient.deliverHits(List.of(hit)));
+        assertEquals(StatsClient.Delivery.REJECTED, statsClient.deliverHits(List.of(hit)));
+        assertEquals(StatsClient.Delivery.DELIVERED, statsClient.deliverHits(List.of()));
+    }
+
+    @Test
+    void addHits_InBinaryFormat_ShouldSendEncodedBatch() {
+        statsClient = new StatsClient(serverUrl, restTemplate, WireFormat.BINARY);
+        List<EndpointHit> hits = List.of(
+                new EndpointHit(null, "test-app", "/test1", "127.0.0.1", LocalDateTime.of(2025, 3, 10, 12, 0)));
+        ArgumentCaptor<HttpEntity<?>> request = ArgumentCaptor.captor();
+        when(restTemplate.exchange(eq(serverUrl + "/hits"), eq(HttpMethod.POST), request.capture(), eq(Void.class),
+                eq(Collections.emptyMap()))).thenReturn(new ResponseEntity<>(HttpStatus.CREATED));
+
+        statsClient.addHits(hits);
+
+        assertEquals(MediaType.parseMediaType(EndpointHitBinaryFormat.CONTENT_TYPE),
+                request.getValue().getHeaders().getContentType());
+        assertEquals(hits, new EndpointHitDecoder().decode((byte[]) request.getValue().getBody()));
+    }
+
+    @Test
+    void addHits_WhenServerRejectsBinaryFormat_ShouldFallBackToJson() {
+        statsClient = new StatsClient(serverUrl, restTemplate, WireFormat.BINARY);
+        List<EndpointHit> hits = List.of(new EndpointHit(null, "test-app", "/test1", "127.0.0.1", LocalDateTime.now()));
+        List<MediaType> contentTypes = new ArrayList<>();
+        when(restTemplate.exchange(eq(serverUrl + "/hits"), eq(HttpMethod.POST), any(HttpEntity.class),
+                eq(Void.class), eq(Collections.emptyMap()))).thenAnswer(invocation -> {
+                    MediaType contentType = invocation.<HttpEntity<?>>getArgument(2).getHeaders().getContentType();
+                    contentTypes.add(contentType);
+                    if (MediaType.APPLICATION_JSON.equals(contentType)) {
+                        return new ResponseEntity<>(HttpStatus.CREATED);
+                    }
+                    throw HttpClientErrorException.create(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Unsupported Media Type",
+                            null, null, null);
+                });
+
+        statsClient.addHits(hits);
+        statsClient.addHits(hits);
+
+        MediaType binary = MediaType.parseMediaType(EndpointHitBinaryFormat.CONTENT_TYPE);
+        assertEquals(List.of(binary, MediaType.APPLICATION_JSON, MediaType.APPLICATION_JSON), contentTypes);
+    }
+
     @Test
     void getStats_ShouldReturnStatsList() {
         LocalDateTime start = LocalDateTime.now().minusHours(1);
@@ -102,6 +204,22 @@ class StatsClientTest {
         assertEquals(5L, result.get(1).getHits());
     }
 
+    @Test
+    void getStats_WhenApproximate_ShouldAskForApproximateCounts() {
+        when(restTemplate.exchange(
+                startsWith(serverUrl + "/stats?start="),
+                eq(HttpMethod.GET),
+                any(HttpEntity.class),
+                eq(ViewStats[].class),
+                argThat((Map<String, ?> parameters) -> Boolean.TRUE.equals(parameters.get("approximate")))
+        )).thenReturn(new ResponseEntity<>(new ViewStats[] {new ViewStats("app1", "/test1", 7L)}, HttpStatus.OK));
+
+        List<ViewStats> result = statsClient.getStats(LocalDateTime.now().minusHours(1), LocalDateTime.now(),
+                List.of("/test1"), true, true);
+
+        assertEquals(7L, result.get(0).getHits());
+    }
+
     @Test
     void getStats_WithoutUris_ShouldReturnStatsList() {
         LocalDateTime start = LocalDateTime.now().minusHours(1);
@@ -128,7 +246,7 @@ class StatsClientTest {
     }
 
     @Test
-    void getStats_WhenErrorOccurs_ShouldReturnEmptyList() {
+    void getStats_WhenErrorOccurs_ShouldThrow() {
         LocalDateTime start = LocalDateTime.now().minusHours(1);
         LocalDateTime end = LocalDateTime.now();
 
@@ -142,8 +260,84 @@ class StatsClientTest {
                 anyMap()
         )).thenThrow(exception);
 
-        List<ViewStats> result = statsClient.getStats(start, end, Collections.emptyList(), false);
+        RestClientResponseException thrown = assertThrows(RestClientResponseException.class,
+                () -> statsClient.getStats(start, end, Collections.emptyList(), false));
+
+        assertEquals(HttpStatus.BAD_REQUEST, thrown.getStatusCode());
+    }
+
+    @Test
+    void getStats_WhenServerErrorReturned_ShouldThrow() {
+        when(restTemplate.exchange(
+                anyString(),
+                eq(HttpMethod.GET),
+                any(HttpEntity.class),
+                eq(ViewStats[].class),
+                anyMap()
+        )).thenReturn(new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE));
+
+        RestClientResponseException thrown = assertThrows(RestClientResponseException.class,
+                () -> statsClient.getStats(LocalDateTime.now().minusHours(1), LocalDateTime.now(), null, true));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, thrown.getStatusCode());
+    }
+
+    @Test
+    void addHitAsync_ShouldSendPostRequestOnAsyncExecutor() {
+        List<Runnable> tasks = new ArrayList<>();
+        statsClient = new StatsClient(serverUrl, restTemplate, tasks::add);
+        when(restTemplate.exchange(
+                eq(serverUrl + "/hit"),
+                eq(HttpMethod.POST),
+                any(HttpEntity.class),
+                eq(Void.class),
+                eq(Collections.emptyMap())
+        )).thenReturn(new ResponseEntity<>(HttpStatus.CREATED));
+
+        CompletableFuture<Void> result = statsClient.addHitAsync(
+                new EndpointHit(null, "test-app", "/test", "127.0.0.1", LocalDateTime.now()));
+
+        assertFalse(result.isDone());
+        assertEquals(1, tasks.size());
+        tasks.get(0).run();
+        assertTrue(result.isDone());
+        assertFalse(result.isCompletedExceptionally());
+    }
+
+    @Test
+    void getStatsAsync_ShouldCompleteWithStatsList() throws Exception {
+        statsClient = new StatsClient(serverUrl, restTemplate, Runnable::run);
+        ViewStats[] statsArray = {new ViewStats("app1", "/test1", 10L)};
+        when(restTemplate.exchange(
+                startsWith(serverUrl + "/stats?start="),
+                eq(HttpMethod.GET),
+                any(HttpEntity.class),
+                eq(ViewStats[].class),
+                anyMap()
+        )).thenReturn(new ResponseEntity<>(statsArray, HttpStatus.OK));
+
+        List<ViewStats> result = statsClient.getStatsAsync(LocalDateTime.now().minusHours(1), LocalDateTime.now(),
+                List.of("/test1"), true).get(1, TimeUnit.SECONDS);
+
+        assertEquals(1, result.size());
+        assertEquals(10L, result.get(0).getHits());
+    }
+
+    @Test
+    void getStatsAsync_WhenServerUnreachable_ShouldCompleteExceptionally() {
+        statsClient = new StatsClient(serverUrl, restTemplate, Runnable::run);
+        when(restTemplate.exchange(
+                anyString(),
+                eq(HttpMethod.GET),
+                any(HttpEntity.class),
+                eq(ViewStats[].class),
+                anyMap()
+        )).thenThrow(new ResourceAccessException("Connection refused"));
+
+        CompletableFuture<List<ViewStats>> result = statsClient.getStatsAsync(LocalDateTime.now().minusHours(1),
+                LocalDateTime.now(), null, false);
 
-        assertTrue(result.isEmpty());
+        ExecutionException exception = assertThrows(ExecutionException.class, result::get);
+        assertInstanceOf(ResourceAccessException.class, exception.getCause());
     }
-}
\ No newline at end of file
+}
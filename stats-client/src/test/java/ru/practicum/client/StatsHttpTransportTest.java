@@ -0,0 +1,128 @@
+package ru.practicum.client;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.dto.EndpointHit;
+import ru.practicum.dto.EndpointHitBinaryFormat;
+import ru.practicum.dto.EndpointHitDecoder;
+import ru.practicum.dto.ViewStats;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StatsHttpTransportTest {
+    private static final byte[] STATS_BODY = "[{\"app\":\"app1\",\"uri\":\"/test1\",\"hits\":10}]"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+
+    private final List<EndpointHit> receivedHits = new CopyOnWriteArrayList<>();
+
+    private volatile long responseDelayMillis;
+
+    private HttpServer server;
+
+    private String serverUrl;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/hit", exchange -> {
+            try (exchange) {
+                clientPorts.add(exchange.getRemoteAddress().getPort());
+                exchange.getRequestBody().readAllBytes();
+                exchange.sendResponseHeaders(201, -1);
+            }
+        });
+        server.createContext("/hits", exchange -> {
+            try (exchange) {
+                String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+                if (!EndpointHitBinaryFormat.CONTENT_TYPE.equals(contentType)) {
+                    exchange.sendResponseHeaders(415, -1);
+                    return;
+                }
+                receivedHits.addAll(new EndpointHitDecoder().decode(exchange.getRequestBody()));
+                exchange.sendResponseHeaders(201, -1);
+            }
+        });
+        server.createContext("/stats", exchange -> {
+            try (exchange) {
+                clientPorts.add(exchange.getRemoteAddress().getPort());
+                Thread.sleep(responseDelayMillis);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, STATS_BODY.length);
+                exchange.getResponseBody().write(STATS_BODY);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        server.start();
+        serverUrl = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void restTemplate_ShouldReuseOneConnectionForSequentialCalls() {
+        StatsClient statsClient = new StatsClient(serverUrl, StatsHttpTransport.restTemplate());
+
+        for (int i = 0; i < 10; i++) {
+            statsClient.addHit(new EndpointHit(null, "test-app", "/test", "127.0.0.1", LocalDateTime.now()));
+            statsClient.getStats(LocalDateTime.now().minusHours(1), LocalDateTime.now(), List.of("/test1"), true);
+        }
+
+        assertEquals(1, clientPorts.size());
+    }
+
+    @Test
+    void restTemplate_ShouldFallBackToHttp11WhenServerDoesNotUpgrade() throws Exception {
+        StatsClient statsClient = new StatsClient(serverUrl, StatsHttpTransport.restTemplate());
+
+        List<ViewStats> stats = statsClient.getStatsAsync(LocalDateTime.now().minusHours(1), LocalDateTime.now(),
+                List.of("/test1"), true).get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of(new ViewStats("app1", "/test1", 10L)), stats);
+    }
+
+    @Test
+    void restTemplate_ShouldCarryBinaryHitBatches() {
+        StatsClient statsClient = new StatsClient(serverUrl, StatsHttpTransport.restTemplate(), WireFormat.BINARY);
+        List<EndpointHit> hits = List.of(
+                new EndpointHit(null, "test-app", "/test1", "127.0.0.1", LocalDateTime.of(2025, 3, 10, 12, 0)),
+                new EndpointHit(null, "test-app", "/test2", "127.0.0.2", LocalDateTime.of(2025, 3, 10, 12, 1)));
+
+        statsClient.addHits(hits);
+
+        assertEquals(hits, receivedHits);
+    }
+
+    @Test
+    void restTemplate_ShouldFailWhenResponseIsSlowerThanReadTimeout() {
+        responseDelayMillis = 1000;
+        StatsClient statsClient = new StatsClient(serverUrl, StatsHttpTransport.restTemplate(
+                Duration.ofSeconds(1), Duration.ofMillis(100), HttpClient.Version.HTTP_1_1));
+
+        assertThrows(ResourceAccessException.class, () -> statsClient.getStats(LocalDateTime.now().minusHours(1),
+                LocalDateTime.now(), List.of("/test1"), true));
+    }
+}
@@ -0,0 +1,88 @@
+package ru.practicum.client;
+
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.web.client.RestTemplate;
+import ru.practicum.dto.ViewStats;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * launched by StatsTransportBenchmarkTest; "default" is the plain RestTemplate on HttpURLConnection the client used
+ * to get, "pooled" is the StatsHttpTransport one, both calling the same local stub stats server
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StatsTransportBenchmark {
+    private static final byte[] STATS_BODY = "[{\"app\":\"ewm-main-service\",\"uri\":\"/events/1\",\"hits\":10}]"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private static final List<String> URIS = List.of("/events/1");
+
+    @Param({"default", "pooled"})
+    private String transport;
+
+    @Param("2")
+    private int statsLatencyMillis;
+
+    private ExecutorService serverExecutor;
+
+    private HttpServer statsServer;
+
+    private StatsClient client;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        serverExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        statsServer = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        statsServer.setExecutor(serverExecutor);
+        statsServer.createContext("/stats", exchange -> {
+            try (exchange) {
+                Thread.sleep(statsLatencyMillis);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, STATS_BODY.length);
+                exchange.getResponseBody().write(STATS_BODY);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        statsServer.start();
+
+        String serverUrl = "http://localhost:" + statsServer.getAddress().getPort();
+        RestTemplate restTemplate = "pooled".equals(transport) ? StatsHttpTransport.restTemplate() : new RestTemplate();
+        client = new StatsClient(serverUrl, restTemplate);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        statsServer.stop(0);
+        serverExecutor.close();
+    }
+
+    @Benchmark
+    public List<ViewStats> getStats() {
+        LocalDateTime now = LocalDateTime.now();
+        List<ViewStats> stats = client.getStats(now.minusDays(1), now, URIS, true);
+        if (stats.size() != 1) {
+            throw new IllegalStateException("Expected one row of stats, got " + stats);
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.client;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/*
+ * Runs StatsTransportBenchmark, the default RestTemplate against the pooled StatsHttpTransport on a local stub stats
+ * server; JMH prints throughput and the latency percentiles, p99 included. Run with:
+ * mvn -pl stats-client test -Dtest=StatsTransportBenchmarkTest -Dbenchmark=true
+ * and tune it with -Dbenchmark.clients, -Dbenchmark.stats-latency-millis, -Dbenchmark.forks
+ * and -Dbenchmark.iterations.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class StatsTransportBenchmarkTest {
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 32);
+
+    private static final int STATS_LATENCY_MILLIS = Integer.getInteger("benchmark.stats-latency-millis", 2);
+
+    private static final int FORKS = Integer.getInteger("benchmark.forks", 1);
+
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 5);
+
+    @Test
+    void compareTransports() throws Exception {
+        Options options = new OptionsBuilder()
+                .include(StatsTransportBenchmark.class.getSimpleName())
+                .param("statsLatencyMillis", String.valueOf(STATS_LATENCY_MILLIS))
+                .threads(CLIENTS)
+                .forks(FORKS)
+                .warmupIterations(ITERATIONS)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(ITERATIONS)
+                .measurementTime(TimeValue.seconds(1))
+                .shouldFailOnError(true)
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        assertEquals(4, results.size());
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.dto;
+
+/*
+ * Binary encoding of an EndpointHit batch:
+ *   magic "EH", version byte, varint hit count, then for every hit
+ *   flags byte (bit 0 timestamp present, bits 1-2 ip kind), app reference, uri reference,
+ *   zigzag varint difference of epoch milliseconds (UTC) to the previous hit, ip.
+ * A reference is varint 0 for null, 1 followed by varint length and UTF-8 bytes for a new string that is appended
+ * to the dictionary of its field, or index + 2 of a string seen earlier in the same batch.
+ * An ip is 4 or 16 raw bytes when the text is the canonical form of an IPv4 or IPv6 address, a new string otherwise.
+ */
+public final class EndpointHitBinaryFormat {
+    public static final String CONTENT_TYPE = "application/x-ewm-hits";
+
+    static final byte[] MAGIC = {'E', 'H'};
+
+    static final byte VERSION = 1;
+
+    static final int TIMESTAMP_PRESENT = 1;
+
+    static final int IP_SHIFT = 1;
+
+    static final int IP_MASK = 0b11;
+
+    static final int IP_NULL = 0;
+
+    static final int IP_V4 = 1;
+
+    static final int IP_V6 = 2;
+
+    static final int IP_TEXT = 3;
+
+    static final int NULL_REFERENCE = 0;
+
+    static final int NEW_REFERENCE = 1;
+
+    static final int FIRST_INDEX_REFERENCE = 2;
+
+    private EndpointHitBinaryFormat() {
+    }
+}
@@ -0,0 +1,187 @@
+package ru.practicum.dto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static ru.practicum.dto.EndpointHitBinaryFormat.FIRST_INDEX_REFERENCE;
+import static ru.practicum.dto.EndpointHitBinaryFormat.IP_MASK;
+import static ru.practicum.dto.EndpointHitBinaryFormat.IP_NULL;
+import static ru.practicum.dto.EndpointHitBinaryFormat.IP_SHIFT;
+import static ru.practicum.dto.EndpointHitBinaryFormat.IP_V4;
+import static ru.practicum.dto.EndpointHitBinaryFormat.IP_V6;
+import static ru.practicum.dto.EndpointHitBinaryFormat.MAGIC;
+import static ru.practicum.dto.EndpointHitBinaryFormat.NEW_REFERENCE;
+import static ru.practicum.dto.EndpointHitBinaryFormat.NULL_REFERENCE;
+import static ru.practicum.dto.EndpointHitBinaryFormat.TIMESTAMP_PRESENT;
+import static ru.practicum.dto.EndpointHitBinaryFormat.VERSION;
+
+// not thread-safe, strings repeated within a batch are decoded once and shared between hits
+public final class EndpointHitDecoder {
+    private static final int MIN_HIT_BYTES = 3;
+
+    // four-digit years, what the JSON format and the stats database accept
+    private static final long MIN_MILLIS = LocalDateTime.of(0, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC) * 1000;
+
+    private static final long MAX_MILLIS =
+            LocalDateTime.of(10000, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC) * 1000 - 1;
+
+    private final List<String> apps = new ArrayList<>();
+
+    private final List<String> uris = new ArrayList<>();
+
+    private byte[] buffer;
+
+    private int position;
+
+    private int limit;
+
+    public List<EndpointHit> decode(InputStream in) throws IOException {
+        return decode(in.readAllBytes());
+    }
+
+    public List<EndpointHit> decode(byte[] bytes) {
+        buffer = bytes;
+        position = 0;
+        limit = bytes.length;
+        apps.clear();
+        uris.clear();
+        try {
+            return readHits();
+        } finally {
+            buffer = null;
+        }
+    }
+
+    private List<EndpointHit> readHits() {
+        require(MAGIC.length + 1);
+        if (buffer[0] != MAGIC[0] || buffer[1] != MAGIC[1]) {
+            throw malformed("unknown format");
+        }
+        if (buffer[2] != VERSION) {
+            throw malformed("unsupported version " + buffer[2]);
+        }
+        position = MAGIC.length + 1;
+
+        long count = readVarLong();
+        if (count < 0 || count > (limit - position) / MIN_HIT_BYTES) {
+            throw malformed("hit count " + count + " does not fit the body");
+        }
+        List<EndpointHit> hits = new ArrayList<>((int) count);
+        long previousMillis = 0;
+        for (long i = 0; i < count; i++) {
+            require(1);
+            int flags = buffer[position++];
+            String app = readReference(apps);
+            String uri = readReference(uris);
+            LocalDateTime timestamp = null;
+            if ((flags & TIMESTAMP_PRESENT) != 0) {
+                long delta = unZigZag(readVarLong());
+                if (delta > MAX_MILLIS - previousMillis || delta < MIN_MILLIS - previousMillis) {
+                    throw malformed("timestamp out of range");
+                }
+                previousMillis += delta;
+                timestamp = LocalDateTime.ofEpochSecond(Math.floorDiv(previousMillis, 1000),
+                        (int) Math.floorMod(previousMillis, 1000) * 1_000_000, ZoneOffset.UTC);
+            }
+            String ip = readIp((flags >> IP_SHIFT) & IP_MASK);
+            hits.add(new EndpointHit(null, app, uri, ip, timestamp));
+        }
+        if (position != limit) {
+            throw malformed("unexpected bytes after the last hit");
+        }
+        return hits;
+    }
+
+    private String readReference(List<String> dictionary) {
+        long reference = readVarLong();
+        if (reference == NULL_REFERENCE) {
+            return null;
+        }
+        if (reference == NEW_REFERENCE) {
+            String value = readString();
+            dictionary.add(value);
+            return value;
+        }
+        long index = reference - FIRST_INDEX_REFERENCE;
+        if (index < 0 || index >= dictionary.size()) {
+            throw malformed("reference to unknown string " + index);
+        }
+        return dictionary.get((int) index);
+    }
+
+    private String readIp(int kind) {
+        switch (kind) {
+            case IP_NULL:
+                return null;
+            case IP_V4:
+                require(4);
+                StringBuilder ip = new StringBuilder(15);
+                for (int i = 0; i < 4; i++) {
+                    if (i > 0) {
+                        ip.append('.');
+                    }
+                    ip.append(buffer[position++] & 0xFF);
+                }
+                return ip.toString();
+            case IP_V6:
+                require(16);
+                byte[] address = Arrays.copyOfRange(buffer, position, position + 16);
+                position += 16;
+                try {
+                    return InetAddress.getByAddress(address).getHostAddress();
+                } catch (UnknownHostException e) {
+                    throw malformed("bad IPv6 address");
+                }
+            default:
+                if (readVarLong() != NEW_REFERENCE) {
+                    throw malformed("bad ip text");
+                }
+                return readString();
+        }
+    }
+
+    private String readString() {
+        long length = readVarLong();
+        if (length < 0 || length > limit - position) {
+            throw malformed("string of " + length + " bytes does not fit the body");
+        }
+        String value = new String(buffer, position, (int) length, StandardCharsets.UTF_8);
+        position += (int) length;
+        return value;
+    }
+
+    private long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            require(1);
+            byte b = buffer[position++];
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw malformed("varint is too long");
+    }
+
+    private void require(int bytes) {
+        if (limit - position < bytes) {
+            throw malformed("body is truncated");
+        }
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static IllegalArgumentException malformed(String reason) {
+        return new IllegalArgumentException("Malformed binary hits: " + reason);
+    }
+}
@@ -0,0 +1,216 @@
+package ru.practicum.dto;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static ru.practicum.dto.EndpointHitBinaryFormat.FIRST_INDEX_REFERENCE;
+import static ru.practicum.dto.EndpointHitBinaryFormat.IP_NULL;
+import static ru.practicum.dto.EndpointHitBinaryFormat.IP_SHIFT;
+import static ru.practicum.dto.EndpointHitBinaryFormat.IP_TEXT;
+import static ru.practicum.dto.EndpointHitBinaryFormat.IP_V4;
+import static ru.practicum.dto.EndpointHitBinaryFormat.IP_V6;
+import static ru.practicum.dto.EndpointHitBinaryFormat.MAGIC;
+import static ru.practicum.dto.EndpointHitBinaryFormat.NEW_REFERENCE;
+import static ru.practicum.dto.EndpointHitBinaryFormat.NULL_REFERENCE;
+import static ru.practicum.dto.EndpointHitBinaryFormat.TIMESTAMP_PRESENT;
+import static ru.practicum.dto.EndpointHitBinaryFormat.VERSION;
+
+// not thread-safe, an instance keeps its buffer between batches
+public final class EndpointHitEncoder {
+    private static final int INITIAL_CAPACITY = 4096;
+
+    private final Map<String, Integer> apps = new HashMap<>();
+
+    private final Map<String, Integer> uris = new HashMap<>();
+
+    private byte[] buffer = new byte[INITIAL_CAPACITY];
+
+    private int position;
+
+    private long previousMillis;
+
+    public byte[] encode(List<EndpointHit> hits) {
+        write(hits);
+        return Arrays.copyOf(buffer, position);
+    }
+
+    public void encode(List<EndpointHit> hits, OutputStream out) throws IOException {
+        write(hits);
+        out.write(buffer, 0, position);
+    }
+
+    private void write(List<EndpointHit> hits) {
+        position = 0;
+        previousMillis = 0;
+        apps.clear();
+        uris.clear();
+
+        ensureCapacity(MAGIC.length + 1);
+        for (byte b : MAGIC) {
+            buffer[position++] = b;
+        }
+        buffer[position++] = VERSION;
+        writeVarLong(hits.size());
+        for (EndpointHit hit : hits) {
+            writeHit(hit);
+        }
+    }
+
+    private void writeHit(EndpointHit hit) {
+        int flagsPosition = position;
+        ensureCapacity(1);
+        position++;
+
+        writeReference(hit.getApp(), apps);
+        writeReference(hit.getUri(), uris);
+
+        int flags = 0;
+        LocalDateTime timestamp = hit.getTimestamp();
+        if (timestamp != null) {
+            long millis = timestamp.toEpochSecond(ZoneOffset.UTC) * 1000 + timestamp.getNano() / 1_000_000;
+            writeVarLong(zigZag(millis - previousMillis));
+            previousMillis = millis;
+            flags |= TIMESTAMP_PRESENT;
+        }
+        flags |= writeIp(hit.getIp()) << IP_SHIFT;
+        buffer[flagsPosition] = (byte) flags;
+    }
+
+    private void writeReference(String value, Map<String, Integer> dictionary) {
+        if (value == null) {
+            writeVarLong(NULL_REFERENCE);
+            return;
+        }
+        Integer index = dictionary.get(value);
+        if (index != null) {
+            writeVarLong(index + FIRST_INDEX_REFERENCE);
+            return;
+        }
+        dictionary.put(value, dictionary.size());
+        writeVarLong(NEW_REFERENCE);
+        writeString(value);
+    }
+
+    private int writeIp(String ip) {
+        if (ip == null) {
+            return IP_NULL;
+        }
+        if (writeIpv4(ip)) {
+            return IP_V4;
+        }
+        byte[] ipv6 = canonicalIpv6(ip);
+        if (ipv6 != null) {
+            ensureCapacity(ipv6.length);
+            System.arraycopy(ipv6, 0, buffer, position, ipv6.length);
+            position += ipv6.length;
+            return IP_V6;
+        }
+        writeVarLong(NEW_REFERENCE);
+        writeString(ip);
+        return IP_TEXT;
+    }
+
+    // only dotted quads without leading zeros, anything else would not survive the round trip as the same text
+    private boolean writeIpv4(String ip) {
+        int length = ip.length();
+        if (length < 7 || length > 15) {
+            return false;
+        }
+        ensureCapacity(4);
+        int octets = 0;
+        int value = 0;
+        int digits = 0;
+        for (int i = 0; i <= length; i++) {
+            char c = i == length ? '.' : ip.charAt(i);
+            if (c == '.') {
+                if (digits == 0 || octets == 4) {
+                    return false;
+                }
+                buffer[position + octets++] = (byte) value;
+                value = 0;
+                digits = 0;
+            } else if (c >= '0' && c <= '9') {
+                if (digits > 0 && value == 0) {
+                    return false;
+                }
+                value = value * 10 + (c - '0');
+                digits++;
+                if (value > 255) {
+                    return false;
+                }
+            } else {
+                return false;
+            }
+        }
+        if (octets != 4) {
+            return false;
+        }
+        position += 4;
+        return true;
+    }
+
+    // a text containing ':' is parsed as a literal by InetAddress, so no name lookup happens here
+    private static byte[] canonicalIpv6(String ip) {
+        if (ip.indexOf(':') < 0 || ip.indexOf('%') >= 0 || ip.indexOf('[') >= 0) {
+            return null;
+        }
+        try {
+            InetAddress address = InetAddress.getByName(ip);
+            return address instanceof Inet6Address && address.getHostAddress().equals(ip)
+                    ? address.getAddress()
+                    : null;
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+
+    private void writeString(String value) {
+        int length = value.length();
+        boolean ascii = true;
+        for (int i = 0; i < length && ascii; i++) {
+            ascii = value.charAt(i) < 0x80;
+        }
+        if (ascii) {
+            writeVarLong(length);
+            ensureCapacity(length);
+            for (int i = 0; i < length; i++) {
+                buffer[position++] = (byte) value.charAt(i);
+            }
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(bytes.length);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (position + bytes > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + bytes));
+        }
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
@@ -0,0 +1,93 @@
+package ru.practicum.dto;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// launched by EndpointHitCodecBenchmarkTest, the traffic shape mimics ewm-main-service hits
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EndpointHitCodecBenchmark {
+    @Param("1000")
+    private int batchSize;
+
+    private final EndpointHitEncoder encoder = new EndpointHitEncoder();
+
+    private final EndpointHitDecoder decoder = new EndpointHitDecoder();
+
+    private ObjectWriter jsonWriter;
+
+    private ObjectReader jsonReader;
+
+    private List<EndpointHit> hits;
+
+    private byte[] binary;
+
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        jsonWriter = objectMapper.writerFor(new TypeReference<List<EndpointHit>>() {
+        });
+        jsonReader = objectMapper.readerFor(new TypeReference<List<EndpointHit>>() {
+        });
+
+        hits = hits(batchSize);
+        binary = encoder.encode(hits);
+        json = jsonWriter.writeValueAsBytes(hits);
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return encoder.encode(hits);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws IOException {
+        return jsonWriter.writeValueAsBytes(hits);
+    }
+
+    @Benchmark
+    public List<EndpointHit> decodeBinary() {
+        return decoder.decode(binary);
+    }
+
+    @Benchmark
+    public List<EndpointHit> decodeJson() throws IOException {
+        return jsonReader.readValue(json);
+    }
+
+    static List<EndpointHit> hits(int count) {
+        Random random = new Random(42);
+        LocalDateTime timestamp = LocalDateTime.of(2025, 3, 10, 12, 0);
+        List<EndpointHit> hits = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            timestamp = timestamp.plusNanos(random.nextInt(50) * 1_000_000L);
+            String uri = random.nextInt(10) == 0 ? "/events" : "/events/" + random.nextInt(500);
+            String ip = random.nextInt(20) == 0
+                    ? "2001:db8:0:0:0:0:" + Integer.toHexString(random.nextInt(0xFFFF)) + ":1"
+                    : "10." + random.nextInt(256) + "." + random.nextInt(256) + "." + random.nextInt(256);
+            hits.add(new EndpointHit(null, "ewm-main-service", uri, ip, timestamp));
+        }
+        return hits;
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.dto;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/*
+ * Runs EndpointHitCodecBenchmark, the binary codec against Jackson JSON for batches of 1k hits; JMH prints the
+ * results. Run with: mvn -pl stats-dto test -Dtest=EndpointHitCodecBenchmarkTest -Dbenchmark=true
+ * and tune it with -Dbenchmark.forks, -Dbenchmark.iterations and -Dbenchmark.batch-size.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class EndpointHitCodecBenchmarkTest {
+    private static final int FORKS = Integer.getInteger("benchmark.forks", 1);
+
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 5);
+
+    private static final int BATCH_SIZE = Integer.getInteger("benchmark.batch-size", 1000);
+
+    @Test
+    void compareBinaryWithJson() throws Exception {
+        Options options = new OptionsBuilder()
+                .include(EndpointHitCodecBenchmark.class.getSimpleName())
+                .param("batchSize", String.valueOf(BATCH_SIZE))
+                .forks(FORKS)
+                .warmupIterations(ITERATIONS)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(ITERATIONS)
+                .measurementTime(TimeValue.seconds(1))
+                .shouldFailOnError(true)
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        assertEquals(4, results.size());
+    }
+}
@@ -0,0 +1,130 @@
+package ru.practicum.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EndpointHitCodecTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 10, 12, 30, 15);
+
+    private final EndpointHitEncoder encoder = new EndpointHitEncoder();
+
+    private final EndpointHitDecoder decoder = new EndpointHitDecoder();
+
+    @Test
+    void decode_ShouldRestoreEncodedHits() {
+        List<EndpointHit> hits = List.of(
+                hit("ewm-main-service", "/events/1", "192.168.0.1", NOW),
+                hit("ewm-main-service", "/events", "0:0:0:0:0:0:0:1", NOW.minusSeconds(5)),
+                hit("ewm-main-service", "/events/1", "10.0.0.255", NOW.plusDays(1)),
+                hit("other-app", "/события/1", "unknown", LocalDateTime.of(1965, 1, 1, 0, 0, 1)),
+                hit(null, null, null, null));
+
+        assertEquals(hits, decoder.decode(encoder.encode(hits)));
+    }
+
+    @Test
+    void decode_ShouldKeepNonCanonicalAddressesAsText() {
+        List<EndpointHit> hits = List.of(
+                hit("app", "/", "::1", NOW),
+                hit("app", "/", "010.0.0.1", NOW),
+                hit("app", "/", "1.2.3", NOW),
+                hit("app", "/", "256.1.1.1", NOW),
+                hit("app", "/", "1.2.3.4.5", NOW),
+                hit("app", "/", "::ffff:1.2.3.4", NOW),
+                hit("app", "/", "fe80:0:0:0:0:0:0:1%1", NOW),
+                hit("app", "/", "example.com", NOW));
+
+        assertEquals(hits, decoder.decode(encoder.encode(hits)));
+    }
+
+    @Test
+    void decode_ShouldTruncateTimestampsToMillis() {
+        LocalDateTime timestamp = NOW.withNano(123_456_789);
+
+        List<EndpointHit> decoded = decoder.decode(encoder.encode(List.of(hit("app", "/", "1.1.1.1", timestamp))));
+
+        assertEquals(NOW.withNano(123_000_000), decoded.get(0).getTimestamp());
+    }
+
+    @Test
+    void decode_ShouldShareRepeatedStringsBetweenHits() {
+        List<EndpointHit> decoded = decoder.decode(encoder.encode(List.of(
+                hit("ewm-main-service", "/events/1", "192.168.0.1", NOW),
+                hit("ewm-main-service", "/events/1", "192.168.0.2", NOW))));
+
+        assertSame(decoded.get(0).getApp(), decoded.get(1).getApp());
+        assertSame(decoded.get(0).getUri(), decoded.get(1).getUri());
+    }
+
+    @Test
+    void encode_ShouldBeSeveralTimesSmallerThanJson() throws IOException {
+        List<EndpointHit> hits = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            hits.add(hit("ewm-main-service", "/events/" + (i % 50), "10.0." + (i % 7) + "." + (i % 250),
+                    NOW.plusSeconds(i)));
+        }
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+        int binary = encoder.encode(hits).length;
+        int json = objectMapper.writeValueAsBytes(hits).length;
+
+        assertTrue(binary * 5 < json, () -> binary + " bytes of binary against " + json + " of JSON");
+    }
+
+    @Test
+    void encode_ShouldReuseEncoderAcrossBatches() throws IOException {
+        List<EndpointHit> first = List.of(hit("a", "/1", "1.1.1.1", NOW), hit("b", "/2", "2.2.2.2", NOW));
+        List<EndpointHit> second = List.of(hit("b", "/2", "2.2.2.2", NOW));
+        encoder.encode(first);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        encoder.encode(second, out);
+
+        assertArrayEquals(new EndpointHitEncoder().encode(second), out.toByteArray());
+        assertEquals(second, decoder.decode(new ByteArrayInputStream(out.toByteArray())));
+    }
+
+    @Test
+    void encode_ShouldGrowBufferForLargeBatches() {
+        List<EndpointHit> hits = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            hits.add(hit("app", "/events/" + i, "10.0.0.1", NOW));
+        }
+
+        assertEquals(hits, decoder.decode(encoder.encode(hits)));
+    }
+
+    @Test
+    void decode_ShouldRejectMalformedBodies() {
+        byte[] valid = encoder.encode(List.of(hit("app", "/events/1", "10.0.0.1", NOW)));
+
+        assertThrows(IllegalArgumentException.class, () -> decoder.decode(new byte[] {'{', '}', 1}));
+        assertThrows(IllegalArgumentException.class, () -> decoder.decode(new byte[] {'E', 'H', 9, 0}));
+        assertThrows(IllegalArgumentException.class, () -> decoder.decode(Arrays.copyOf(valid, valid.length - 1)));
+        assertThrows(IllegalArgumentException.class, () -> decoder.decode(Arrays.copyOf(valid, valid.length + 1)));
+        assertThrows(IllegalArgumentException.class, () -> decoder.decode(new byte[] {'E', 'H', 1, 0x7F}));
+        assertThrows(IllegalArgumentException.class, () -> decoder.decode(new byte[] {'E', 'H', 1, 1, 0, 5, 0}));
+        assertThrows(IllegalArgumentException.class, () -> decoder.decode(new byte[] {'E', 'H', 1, 1, 1, 0, 0,
+                (byte) 0xFE, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
+                (byte) 0xFF, 0x01}));
+    }
+
+    private static EndpointHit hit(String app, String uri, String ip, LocalDateTime timestamp) {
+        return new EndpointHit(null, app, uri, ip, timestamp);
+    }
+}
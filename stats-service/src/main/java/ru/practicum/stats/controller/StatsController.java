@@ -1,8 +1,12 @@
 package ru.practicum.stats.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -10,32 +14,84 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.dto.EndpointHit;
+import ru.practicum.dto.EndpointHitBinaryFormat;
+import ru.practicum.dto.EndpointHitDecoder;
 import ru.practicum.dto.ViewStats;
 import ru.practicum.stats.service.StatsService;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
 public class StatsController {
+    private static final int STREAM_BATCH_SIZE = 1000;
+
     private final StatsService statsService;
 
+    private final ObjectMapper objectMapper;
+
     @PostMapping("/hit")
     @ResponseStatus(HttpStatus.CREATED)
     public void addHit(@RequestBody EndpointHit endpointHit) {
         statsService.addHit(endpointHit);
     }
 
+    @PostMapping(value = "/hits", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.CREATED)
+    public void addHits(@RequestBody List<EndpointHit> endpointHits) {
+        statsService.addHits(endpointHits);
+    }
+
+    // chunks are stored as they arrive, so a malformed line is a 400 telling how many leading hits were kept
+    @PostMapping(value = "/hits", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseStatus(HttpStatus.CREATED)
+    public void addHitsStream(InputStream body) throws IOException {
+        long accepted = 0;
+        try (MappingIterator<EndpointHit> hits = objectMapper.readerFor(EndpointHit.class).readValues(body)) {
+            List<EndpointHit> batch = new ArrayList<>(STREAM_BATCH_SIZE);
+            try {
+                while (hits.hasNextValue()) {
+                    batch.add(hits.nextValue());
+                    if (batch.size() == STREAM_BATCH_SIZE) {
+                        statsService.addHits(batch);
+                        accepted += batch.size();
+                        batch = new ArrayList<>(STREAM_BATCH_SIZE);
+                    }
+                }
+            } catch (JsonProcessingException e) {
+                if (!batch.isEmpty()) {
+                    statsService.addHits(batch);
+                    accepted += batch.size();
+                }
+                throw new IllegalArgumentException("Malformed hit " + (accepted + 1) + ", the first " + accepted +
+                        " hits were stored: " + e.getOriginalMessage());
+            }
+            if (!batch.isEmpty()) {
+                statsService.addHits(batch);
+            }
+        }
+    }
+
+    @PostMapping(value = "/hits", consumes = EndpointHitBinaryFormat.CONTENT_TYPE)
+    @ResponseStatus(HttpStatus.CREATED)
+    public void addHitsBinary(InputStream body) throws IOException {
+        statsService.addHits(new EndpointHitDecoder().decode(body));
+    }
+
     @GetMapping("/stats")
     public List<ViewStats> getStats(
             @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime start,
             @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime end,
             @RequestParam(required = false) List<String> uris,
-            @RequestParam(defaultValue = "false") boolean unique) {
+            @RequestParam(defaultValue = "false") boolean unique,
+            @RequestParam(defaultValue = "false") boolean approximate) {
         if (start.isAfter(end)) {
             throw new IllegalArgumentException("Start date must be before end date");
         }
-        return statsService.getStats(start, end, uris, unique);
+        return statsService.getStats(start, end, uris, unique, approximate);
     }
-}
\ No newline at end of file
+}
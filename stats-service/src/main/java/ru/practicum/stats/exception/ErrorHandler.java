@@ -1,6 +1,7 @@
 package ru.practicum.stats.exception;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -37,6 +38,18 @@ public class ErrorHandler {
         );
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+    public ErrorResponse handleUnsupportedMediaType(HttpMediaTypeNotSupportedException e) {
+        return new ErrorResponse(
+                "UNSUPPORTED_MEDIA_TYPE",
+                e.getMessage(),
+                "Request body format is not supported.",
+                HttpStatus.UNSUPPORTED_MEDIA_TYPE.name(),
+                LocalDateTime.now().format(FORMATTER)
+        );
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ErrorResponse handleThrowable(final Throwable e) {
@@ -5,6 +5,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -18,7 +19,9 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "stats")
+@Table(name = "stats", indexes = {
+        @Index(name = "ix_stats_timestamp_uri", columnList = "timestamp, uri"),
+        @Index(name = "ix_stats_uri_timestamp", columnList = "uri, timestamp")})
 public class Stats {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
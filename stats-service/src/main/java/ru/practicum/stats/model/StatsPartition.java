@@ -0,0 +1,10 @@
+package ru.practicum.stats.model;
+
+import java.time.LocalDateTime;
+
+public record StatsPartition(String name, LocalDateTime from, LocalDateTime to) {
+
+    public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        return (from == null || from.isBefore(end)) && (to == null || to.isAfter(start));
+    }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.stats.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "stats_rollup_state")
+public class StatsRollupState {
+    @Id
+    private Long id;
+
+    @Column(name = "last_stats_id", nullable = false)
+    private Long lastStatsId;
+
+    @Column(name = "pending_stats_id")
+    private Long pendingStatsId;
+
+    @Column(name = "pending_since")
+    private LocalDateTime pendingSince;
+}
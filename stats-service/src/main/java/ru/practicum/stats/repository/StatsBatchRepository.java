@@ -0,0 +1,9 @@
+package ru.practicum.stats.repository;
+
+import ru.practicum.stats.model.Stats;
+
+import java.util.List;
+
+public interface StatsBatchRepository {
+    void insertAll(List<Stats> stats);
+}
@@ -0,0 +1,16 @@
+package ru.practicum.stats.repository;
+
+import ru.practicum.stats.model.StatsPartition;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface StatsPartitionRepository {
+    List<StatsPartition> findPartitions();
+
+    void createPartition(LocalDate day);
+
+    boolean isRolledUp(String partition);
+
+    void dropPartition(String partition);
+}
@@ -0,0 +1,89 @@
+package ru.practicum.stats.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.stats.model.StatsPartition;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@RequiredArgsConstructor
+public class StatsPartitionRepositoryImpl implements StatsPartitionRepository {
+    private static final String DEFAULT_PARTITION = "stats_default";
+
+    private static final Pattern RANGE_BOUND =
+            Pattern.compile("FROM \\((?:'([^']+)'|MINVALUE)\\) TO \\((?:'([^']+)'|MAXVALUE)\\)");
+
+    private static final DateTimeFormatter NAME_SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private static final String FIND_PARTITIONS_SQL =
+            "SELECT c.relname AS name, pg_get_expr(c.relpartbound, c.oid) AS bound " +
+            "FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+            "WHERE i.inhparent = 'stats'::regclass AND c.relname <> '" + DEFAULT_PARTITION + "'";
+
+    private static final String DISPLACED_ROWS_SQL =
+            "SELECT EXISTS (SELECT 1 FROM " + DEFAULT_PARTITION + " WHERE timestamp >= ? AND timestamp < ?)";
+
+    private static final String MOVE_DISPLACED_ROWS_SQL =
+            "INSERT INTO stats (id, app, uri, ip, timestamp) " +
+            "SELECT id, app, uri, ip, timestamp FROM " + DEFAULT_PARTITION + " WHERE timestamp >= ? AND timestamp < ?";
+
+    private static final String DELETE_DISPLACED_ROWS_SQL =
+            "DELETE FROM " + DEFAULT_PARTITION + " WHERE timestamp >= ? AND timestamp < ?";
+
+    private static final String WATERMARK_SQL =
+            "COALESCE((SELECT last_stats_id FROM stats_rollup_state WHERE id = 1), 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<StatsPartition> findPartitions() {
+        return jdbcTemplate.query(FIND_PARTITIONS_SQL, (rs, rowNum) -> {
+            Matcher bound = RANGE_BOUND.matcher(rs.getString("bound"));
+            if (!bound.find()) {
+                throw new IllegalStateException("Unexpected bound of partition " + rs.getString("name"));
+            }
+            return new StatsPartition(rs.getString("name"), parseBound(bound.group(1)), parseBound(bound.group(2)));
+        });
+    }
+
+    @Override
+    public void createPartition(LocalDate day) {
+        Timestamp from = Timestamp.valueOf(day.atStartOfDay());
+        Timestamp to = Timestamp.valueOf(day.plusDays(1).atStartOfDay());
+        String createSql = String.format("CREATE TABLE stats_p%s PARTITION OF stats FOR VALUES FROM ('%s') TO ('%s')",
+                day.format(NAME_SUFFIX), from, to);
+
+        // Postgres refuses a new range while the default partition holds rows for it, so move them over
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(DISPLACED_ROWS_SQL, Boolean.class, from, to))) {
+            jdbcTemplate.execute("ALTER TABLE stats DETACH PARTITION " + DEFAULT_PARTITION);
+            jdbcTemplate.execute(createSql);
+            jdbcTemplate.update(MOVE_DISPLACED_ROWS_SQL, from, to);
+            jdbcTemplate.update(DELETE_DISPLACED_ROWS_SQL, from, to);
+            jdbcTemplate.execute("ALTER TABLE stats ATTACH PARTITION " + DEFAULT_PARTITION + " DEFAULT");
+        } else {
+            jdbcTemplate.execute(createSql);
+        }
+    }
+
+    @Override
+    public boolean isRolledUp(String partition) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT NOT EXISTS (SELECT 1 FROM " + partition + " WHERE id > " + WATERMARK_SQL + ")",
+                Boolean.class));
+    }
+
+    @Override
+    public void dropPartition(String partition) {
+        jdbcTemplate.execute("DROP TABLE " + partition);
+    }
+
+    private static LocalDateTime parseBound(String value) {
+        return value == null ? null : Timestamp.valueOf(value).toLocalDateTime();
+    }
+}
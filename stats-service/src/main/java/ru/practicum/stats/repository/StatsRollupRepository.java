@@ -0,0 +1,16 @@
+package ru.practicum.stats.repository;
+
+import ru.practicum.dto.ViewStats;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface StatsRollupRepository {
+    int rollUp(int maxRows, int sketchPrecision, Duration commitLag);
+
+    List<ViewStats> getRolledUpStats(LocalDateTime start, LocalDateTime end, List<String> uris);
+
+    List<ViewStats> getApproximateUniqueStats(LocalDateTime start, LocalDateTime end, List<String> uris,
+                                              int sketchPrecision);
+}
@@ -0,0 +1,365 @@
+package ru.practicum.stats.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import ru.practicum.dto.ViewStats;
+import ru.practicum.stats.model.RollupGranularity;
+import ru.practicum.stats.sketch.HyperLogLog;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+public class StatsRollupRepositoryImpl implements StatsRollupRepository {
+    private static final long STATE_ID = 1L;
+
+    private static final String WATERMARK_SQL =
+            "COALESCE((SELECT last_stats_id FROM stats_rollup_state WHERE id = " + STATE_ID + "), 0)";
+
+    private static final String LOCK_STATE_SQL =
+            "SELECT last_stats_id, pending_stats_id, pending_since FROM stats_rollup_state " +
+            "WHERE id = :id FOR UPDATE";
+
+    private static final String INSERT_STATE_SQL =
+            "INSERT INTO stats_rollup_state (id, last_stats_id) VALUES (:id, 0)";
+
+    private static final String UPDATE_STATE_SQL =
+            "UPDATE stats_rollup_state SET last_stats_id = :lastStatsId WHERE id = :id";
+
+    private static final String UPDATE_PENDING_SQL =
+            "UPDATE stats_rollup_state SET pending_stats_id = :pendingStatsId, pending_since = :pendingSince " +
+            "WHERE id = :id";
+
+    private static final String NOW_SQL = "SELECT LOCALTIMESTAMP";
+
+    private static final String MAX_ID_SQL = "SELECT MAX(id) FROM stats WHERE id > :lastStatsId";
+
+    private static final String UPPER_BOUND_SQL =
+            "SELECT MAX(id) FROM (SELECT id FROM stats WHERE id > :lastStatsId AND id <= :pendingStatsId " +
+            "ORDER BY id LIMIT :maxRows) s";
+
+    private static final String AGGREGATE_SQL =
+            "SELECT app, uri, DATE_TRUNC('MINUTE', timestamp) AS bucket_start, COUNT(*) AS hits " +
+            "FROM stats " +
+            "WHERE id > :from AND id <= :to " +
+            "GROUP BY app, uri, DATE_TRUNC('MINUTE', timestamp)";
+
+    private static final String UPDATE_ROLLUP_SQL =
+            "UPDATE stats_rollup SET hits = hits + :hits " +
+            "WHERE granularity = :granularity AND bucket_start = :bucketStart AND app = :app AND uri = :uri";
+
+    private static final String VISITORS_SQL =
+            "SELECT DISTINCT app, uri, DATE_TRUNC('HOUR', timestamp) AS bucket_start, ip " +
+            "FROM stats " +
+            "WHERE id > :from AND id <= :to";
+
+    private static final String INSERT_ROLLUP_SQL =
+            "INSERT INTO stats_rollup (granularity, bucket_start, app, uri, hits, sketch) " +
+            "VALUES (:granularity, :bucketStart, :app, :uri, :hits, :sketch)";
+
+    private static final String SELECT_SKETCHES_SQL =
+            "SELECT app, uri, sketch FROM stats_rollup " +
+            "WHERE granularity = :granularity AND bucket_start = :bucketStart AND uri IN (:uris)";
+
+    private static final String UPDATE_SKETCH_SQL =
+            "UPDATE stats_rollup SET sketch = :sketch " +
+            "WHERE granularity = :granularity AND bucket_start = :bucketStart AND app = :app AND uri = :uri";
+
+    private static final int IN_LIST_SIZE = 1000;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public int rollUp(int maxRows, int sketchPrecision, Duration commitLag) {
+        MapSqlParameterSource stateParams = new MapSqlParameterSource("id", STATE_ID);
+        List<RollupState> states = jdbcTemplate.query(LOCK_STATE_SQL, stateParams, RollupState.MAPPER);
+        if (states.isEmpty()) {
+            jdbcTemplate.update(INSERT_STATE_SQL, stateParams);
+            states = jdbcTemplate.query(LOCK_STATE_SQL, stateParams, RollupState.MAPPER);
+        }
+        RollupState state = states.get(0);
+        long lastStatsId = state.lastStatsId();
+
+        // ids are taken before commit, so a row may become visible after higher ids were rolled up; only roll up
+        // to the highest id seen at least commitLag ago, when every transaction holding a lower id has finished
+        LocalDateTime now = jdbcTemplate.queryForObject(NOW_SQL, Map.of(), LocalDateTime.class);
+        Long pendingStatsId = state.pendingStatsId();
+        LocalDateTime pendingSince = state.pendingSince();
+        if (pendingStatsId == null || pendingStatsId <= lastStatsId) {
+            pendingStatsId = jdbcTemplate.queryForObject(MAX_ID_SQL,
+                    new MapSqlParameterSource("lastStatsId", lastStatsId), Long.class);
+            if (pendingStatsId == null) {
+                return 0;
+            }
+            pendingSince = now;
+            jdbcTemplate.update(UPDATE_PENDING_SQL, new MapSqlParameterSource("id", STATE_ID)
+                    .addValue("pendingStatsId", pendingStatsId)
+                    .addValue("pendingSince", Timestamp.valueOf(pendingSince)));
+        }
+        if (pendingSince.plus(commitLag).isAfter(now)) {
+            return 0;
+        }
+
+        Long upperBound = jdbcTemplate.queryForObject(UPPER_BOUND_SQL, new MapSqlParameterSource()
+                .addValue("lastStatsId", lastStatsId)
+                .addValue("pendingStatsId", pendingStatsId)
+                .addValue("maxRows", maxRows), Long.class);
+        if (upperBound == null) {
+            return 0;
+        }
+
+        Map<RollupKey, Long> deltas = new HashMap<>();
+        jdbcTemplate.query(AGGREGATE_SQL, new MapSqlParameterSource()
+                .addValue("from", lastStatsId)
+                .addValue("to", upperBound), rs -> {
+                    String app = rs.getString("app");
+                    String uri = rs.getString("uri");
+                    LocalDateTime minute = rs.getTimestamp("bucket_start").toLocalDateTime();
+                    long hits = rs.getLong("hits");
+                    for (RollupGranularity granularity : RollupGranularity.values()) {
+                        deltas.merge(new RollupKey(granularity, granularity.floor(minute), app, uri), hits, Long::sum);
+                    }
+                });
+
+        Map<RollupKey, HyperLogLog> sketches = new HashMap<>();
+        jdbcTemplate.query(VISITORS_SQL, new MapSqlParameterSource()
+                .addValue("from", lastStatsId)
+                .addValue("to", upperBound), rs -> {
+                    String app = rs.getString("app");
+                    String uri = rs.getString("uri");
+                    LocalDateTime hour = rs.getTimestamp("bucket_start").toLocalDateTime();
+                    String ip = rs.getString("ip");
+                    for (RollupGranularity granularity : List.of(RollupGranularity.HOUR, RollupGranularity.DAY)) {
+                        sketches.computeIfAbsent(new RollupKey(granularity, granularity.floor(hour), app, uri),
+                                key -> new HyperLogLog(sketchPrecision)).add(ip);
+                    }
+                });
+
+        List<RollupKey> updated = upsert(deltas, sketches);
+        mergeSketches(updated, sketches);
+        jdbcTemplate.update(UPDATE_STATE_SQL, stateParams.addValue("lastStatsId", upperBound));
+        return (int) deltas.entrySet().stream()
+                .filter(entry -> entry.getKey().granularity() == RollupGranularity.MINUTE)
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+    }
+
+    @Override
+    public List<ViewStats> getRolledUpStats(LocalDateTime start, LocalDateTime end, List<String> uris) {
+        if (uris != null && uris.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime innerFrom = RollupGranularity.MINUTE.ceil(start);
+        LocalDateTime innerTo = RollupGranularity.MINUTE.floor(end.plusNanos(1));
+        if (!innerFrom.isBefore(innerTo)) {
+            innerFrom = start;
+            innerTo = start;
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("start", Timestamp.valueOf(start))
+                .addValue("end", Timestamp.valueOf(end))
+                .addValue("innerFrom", Timestamp.valueOf(innerFrom))
+                .addValue("innerTo", Timestamp.valueOf(innerTo))
+                .addValue("uris", uris);
+        String uriFilter = uris == null ? "" : " AND uri IN (:uris)";
+
+        List<String> parts = new ArrayList<>();
+        List<Segment> segments = new ArrayList<>();
+        addSegments(segments, RollupGranularity.DAY, RollupGranularity.MINUTE, innerFrom, innerTo);
+        for (int i = 0; i < segments.size(); i++) {
+            Segment segment = segments.get(i);
+            params.addValue("granularity" + i, segment.granularity().name())
+                    .addValue("from" + i, Timestamp.valueOf(segment.from()))
+                    .addValue("to" + i, Timestamp.valueOf(segment.to()));
+            parts.add("SELECT app, uri, hits FROM stats_rollup " +
+                    "WHERE granularity = :granularity" + i +
+                    " AND bucket_start >= :from" + i + " AND bucket_start < :to" + i + uriFilter);
+        }
+        parts.add("SELECT app, uri, COUNT(*) AS hits FROM stats " +
+                "WHERE timestamp >= :start AND timestamp < :innerFrom" + uriFilter + " GROUP BY app, uri");
+        parts.add("SELECT app, uri, COUNT(*) AS hits FROM stats " +
+                "WHERE timestamp >= :innerTo AND timestamp <= :end" + uriFilter + " GROUP BY app, uri");
+        parts.add("SELECT app, uri, COUNT(*) AS hits FROM stats " +
+                "WHERE id > " + WATERMARK_SQL +
+                " AND timestamp >= :innerFrom AND timestamp < :innerTo" + uriFilter + " GROUP BY app, uri");
+
+        String sql = "SELECT app, uri, SUM(hits) AS hits FROM (" + String.join(" UNION ALL ", parts) + ") r " +
+                "GROUP BY app, uri " +
+                "ORDER BY SUM(hits) DESC";
+        return jdbcTemplate.query(sql, params, (rs, rowNum) ->
+                new ViewStats(rs.getString("app"), rs.getString("uri"), rs.getLong("hits")));
+    }
+
+    @Override
+    public List<ViewStats> getApproximateUniqueStats(LocalDateTime start, LocalDateTime end, List<String> uris,
+                                                     int sketchPrecision) {
+        if (uris != null && uris.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime innerFrom = RollupGranularity.HOUR.ceil(start);
+        LocalDateTime innerTo = RollupGranularity.HOUR.floor(end.plusNanos(1));
+        if (!innerFrom.isBefore(innerTo)) {
+            innerFrom = start;
+            innerTo = start;
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("start", Timestamp.valueOf(start))
+                .addValue("end", Timestamp.valueOf(end))
+                .addValue("innerFrom", Timestamp.valueOf(innerFrom))
+                .addValue("innerTo", Timestamp.valueOf(innerTo))
+                .addValue("uris", uris);
+        String uriFilter = uris == null ? "" : " AND uri IN (:uris)";
+
+        Map<AppUri, HyperLogLog> sketches = new HashMap<>();
+        List<Segment> segments = new ArrayList<>();
+        addSegments(segments, RollupGranularity.DAY, RollupGranularity.HOUR, innerFrom, innerTo);
+        for (Segment segment : segments) {
+            MapSqlParameterSource segmentParams = new MapSqlParameterSource()
+                    .addValue("granularity", segment.granularity().name())
+                    .addValue("from", Timestamp.valueOf(segment.from()))
+                    .addValue("to", Timestamp.valueOf(segment.to()))
+                    .addValue("uris", uris);
+            jdbcTemplate.query("SELECT app, uri, sketch FROM stats_rollup " +
+                    "WHERE granularity = :granularity AND bucket_start >= :from AND bucket_start < :to" + uriFilter,
+                    segmentParams, rs -> {
+                        byte[] sketch = rs.getBytes("sketch");
+                        if (sketch != null) {
+                            sketches.merge(new AppUri(rs.getString("app"), rs.getString("uri")),
+                                    HyperLogLog.fromBytes(sketch), HyperLogLog::merge);
+                        }
+                    });
+        }
+
+        String rawSql = "SELECT app, uri, ip FROM stats " +
+                "WHERE timestamp >= :start AND timestamp < :innerFrom" + uriFilter +
+                " UNION SELECT app, uri, ip FROM stats " +
+                "WHERE timestamp >= :innerTo AND timestamp <= :end" + uriFilter +
+                " UNION SELECT app, uri, ip FROM stats " +
+                "WHERE id > " + WATERMARK_SQL +
+                " AND timestamp >= :innerFrom AND timestamp < :innerTo" + uriFilter;
+        jdbcTemplate.query(rawSql, params, rs -> {
+            sketches.computeIfAbsent(new AppUri(rs.getString("app"), rs.getString("uri")),
+                    key -> new HyperLogLog(sketchPrecision)).add(rs.getString("ip"));
+        });
+
+        return sketches.entrySet().stream()
+                .map(entry -> new ViewStats(entry.getKey().app(), entry.getKey().uri(), entry.getValue().estimate()))
+                .sorted(Comparator.comparing(ViewStats::getHits).reversed())
+                .toList();
+    }
+
+    private List<RollupKey> upsert(Map<RollupKey, Long> deltas, Map<RollupKey, HyperLogLog> sketches) {
+        List<RollupKey> keys = new ArrayList<>(deltas.keySet());
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_ROLLUP_SQL, keys.stream()
+                .map(key -> keyParams(key).addValue("hits", deltas.get(key)))
+                .toArray(MapSqlParameterSource[]::new));
+        List<RollupKey> existing = new ArrayList<>();
+        List<MapSqlParameterSource> missing = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            RollupKey key = keys.get(i);
+            if (updated[i] == 0) {
+                HyperLogLog sketch = sketches.get(key);
+                missing.add(keyParams(key)
+                        .addValue("hits", deltas.get(key))
+                        .addValue("sketch", sketch == null ? null : sketch.toBytes(), Types.VARBINARY));
+            } else if (sketches.containsKey(key)) {
+                existing.add(key);
+            }
+        }
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ROLLUP_SQL, missing.toArray(MapSqlParameterSource[]::new));
+        }
+        return existing;
+    }
+
+    private void mergeSketches(List<RollupKey> keys, Map<RollupKey, HyperLogLog> sketches) {
+        Map<Bucket, List<RollupKey>> byBucket = keys.stream()
+                .collect(Collectors.groupingBy(key -> new Bucket(key.granularity(), key.bucketStart())));
+        List<MapSqlParameterSource> batch = new ArrayList<>();
+        byBucket.forEach((bucket, bucketKeys) -> {
+            for (int from = 0; from < bucketKeys.size(); from += IN_LIST_SIZE) {
+                List<RollupKey> chunk = bucketKeys.subList(from, Math.min(from + IN_LIST_SIZE, bucketKeys.size()));
+                MapSqlParameterSource params = new MapSqlParameterSource()
+                        .addValue("granularity", bucket.granularity().name())
+                        .addValue("bucketStart", Timestamp.valueOf(bucket.bucketStart()))
+                        .addValue("uris", chunk.stream().map(RollupKey::uri).distinct().toList());
+                jdbcTemplate.query(SELECT_SKETCHES_SQL, params, rs -> {
+                    RollupKey key = new RollupKey(bucket.granularity(), bucket.bucketStart(),
+                            rs.getString("app"), rs.getString("uri"));
+                    HyperLogLog delta = sketches.get(key);
+                    byte[] stored = rs.getBytes("sketch");
+                    if (delta != null) {
+                        HyperLogLog merged = stored == null ? delta : HyperLogLog.fromBytes(stored).merge(delta);
+                        batch.add(keyParams(key).addValue("sketch", merged.toBytes()));
+                    }
+                });
+            }
+        });
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SKETCH_SQL, batch.toArray(MapSqlParameterSource[]::new));
+        }
+    }
+
+    private static MapSqlParameterSource keyParams(RollupKey key) {
+        return new MapSqlParameterSource()
+                .addValue("granularity", key.granularity().name())
+                .addValue("bucketStart", Timestamp.valueOf(key.bucketStart()))
+                .addValue("app", key.app())
+                .addValue("uri", key.uri());
+    }
+
+    private static void addSegments(List<Segment> segments, RollupGranularity granularity,
+                                    RollupGranularity finest, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            return;
+        }
+        if (granularity == finest) {
+            segments.add(new Segment(granularity, from, to));
+            return;
+        }
+        RollupGranularity finer = granularity.finer();
+        LocalDateTime first = granularity.ceil(from);
+        LocalDateTime last = granularity.floor(to);
+        if (first.isBefore(last)) {
+            segments.add(new Segment(granularity, first, last));
+            addSegments(segments, finer, finest, from, first);
+            addSegments(segments, finer, finest, last, to);
+        } else {
+            addSegments(segments, finer, finest, from, to);
+        }
+    }
+
+    private record RollupState(long lastStatsId, Long pendingStatsId, LocalDateTime pendingSince) {
+        private static final RowMapper<RollupState> MAPPER = (rs, rowNum) -> new RollupState(
+                rs.getLong("last_stats_id"),
+                rs.getObject("pending_stats_id", Long.class),
+                rs.getObject("pending_since", LocalDateTime.class));
+    }
+
+    private record RollupKey(RollupGranularity granularity, LocalDateTime bucketStart, String app, String uri) {
+    }
+
+    private record Bucket(RollupGranularity granularity, LocalDateTime bucketStart) {
+    }
+
+    private record AppUri(String app, String uri) {
+    }
+
+    private record Segment(RollupGranularity granularity, LocalDateTime from, LocalDateTime to) {
+    }
+}
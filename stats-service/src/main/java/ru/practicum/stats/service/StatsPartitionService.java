@@ -0,0 +1,65 @@
+package ru.practicum.stats.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.stats.model.StatsPartition;
+import ru.practicum.stats.repository.StatsRepository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@ConditionalOnProperty(name = "stats.partitions.enabled", havingValue = "true")
+public class StatsPartitionService {
+    private final StatsRepository statsRepository;
+
+    private final int daysAhead;
+
+    private final Duration retention;
+
+    private final Clock clock;
+
+    @Autowired
+    public StatsPartitionService(StatsRepository statsRepository,
+                                 @Value("${stats.partitions.days-ahead:7}") int daysAhead,
+                                 @Value("${stats.partitions.retention:90d}") Duration retention) {
+        this(statsRepository, daysAhead, retention, Clock.systemDefaultZone());
+    }
+
+    StatsPartitionService(StatsRepository statsRepository, int daysAhead, Duration retention, Clock clock) {
+        this.statsRepository = statsRepository;
+        this.daysAhead = daysAhead;
+        this.retention = retention;
+        this.clock = clock;
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${stats.partitions.maintenance-interval:PT1H}")
+    public void maintainPartitions() {
+        LocalDate today = LocalDate.now(clock);
+        List<StatsPartition> partitions = statsRepository.findPartitions();
+
+        for (int i = 0; i <= daysAhead; i++) {
+            LocalDate day = today.plusDays(i);
+            if (partitions.stream().noneMatch(p -> p.overlaps(day.atStartOfDay(), day.plusDays(1).atStartOfDay()))) {
+                statsRepository.createPartition(day);
+            }
+        }
+
+        // raw hits are only dropped once the rollup has consumed every row of the partition
+        LocalDateTime cutoff = today.atStartOfDay().minus(retention);
+        for (StatsPartition partition : partitions) {
+            if (partition.to() != null && !partition.to().isAfter(cutoff)
+                    && statsRepository.isRolledUp(partition.name())) {
+                statsRepository.dropPartition(partition.name());
+            }
+        }
+    }
+}
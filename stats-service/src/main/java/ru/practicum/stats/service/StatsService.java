@@ -9,5 +9,10 @@ import java.util.List;
 public interface StatsService {
     void addHit(EndpointHit endpointHit);
 
-    List<ViewStats> getStats(LocalDateTime start, LocalDateTime end, List<String> uris, boolean unique);
+    void addHits(List<EndpointHit> endpointHits);
+
+    void rollUpStats();
+
+    List<ViewStats> getStats(LocalDateTime start, LocalDateTime end, List<String> uris, boolean unique,
+                             boolean approximate);
 }
\ No newline at end of file
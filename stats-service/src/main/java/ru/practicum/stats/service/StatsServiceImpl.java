@@ -1,15 +1,20 @@
 package ru.practicum.stats.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.dto.EndpointHit;
 import ru.practicum.dto.ViewStats;
 import ru.practicum.stats.mapper.StatsMapper;
 import ru.practicum.stats.model.Stats;
 import ru.practicum.stats.repository.StatsRepository;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -18,6 +23,15 @@ public class StatsServiceImpl implements StatsService {
 
     private final StatsMapper statsMapper;
 
+    @Value("${stats.rollup.chunk-size:50000}")
+    private int rollupChunkSize;
+
+    @Value("${stats.rollup.commit-lag:PT1M}")
+    private Duration rollupCommitLag;
+
+    @Value("${stats.hll.precision:12}")
+    private int sketchPrecision;
+
     @Override
     public void addHit(EndpointHit endpointHit) {
         Stats stats = statsMapper.toStats(endpointHit);
@@ -25,11 +39,30 @@ public class StatsServiceImpl implements StatsService {
     }
 
     @Override
-    public List<ViewStats> getStats(LocalDateTime start, LocalDateTime end, List<String> uris, boolean unique) {
-        if (unique) {
+    @Transactional
+    public void addHits(List<EndpointHit> endpointHits) {
+        List<Stats> stats = endpointHits.stream()
+                .map(statsMapper::toStats)
+                .collect(Collectors.toList());
+        statsRepository.insertAll(stats);
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${stats.rollup.interval:PT10S}")
+    public void rollUpStats() {
+        statsRepository.rollUp(rollupChunkSize, sketchPrecision, rollupCommitLag);
+    }
+
+    @Override
+    public List<ViewStats> getStats(LocalDateTime start, LocalDateTime end, List<String> uris, boolean unique,
+                                    boolean approximate) {
+        if (unique && approximate) {
+            return statsRepository.getApproximateUniqueStats(start, end, uris, sketchPrecision);
+        } else if (unique) {
             return statsRepository.getUniqueStats(start, end, uris);
         } else {
-            return statsRepository.getStats(start, end, uris);
+            return statsRepository.getRolledUpStats(start, end, uris);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+CREATE TABLE IF NOT EXISTS stats (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    app VARCHAR(255) NOT NULL,
+    uri VARCHAR(255) NOT NULL,
+    ip VARCHAR(255) NOT NULL,
+    timestamp TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT pk_stats PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS ix_stats_timestamp ON stats (timestamp);
+
+CREATE TABLE IF NOT EXISTS stats_rollup (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    granularity VARCHAR(16) NOT NULL,
+    bucket_start TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    app VARCHAR(255) NOT NULL,
+    uri VARCHAR(255) NOT NULL,
+    hits BIGINT NOT NULL,
+    sketch BYTEA,
+    CONSTRAINT pk_stats_rollup PRIMARY KEY (id),
+    CONSTRAINT uq_stats_rollup_bucket UNIQUE (granularity, bucket_start, app, uri)
+);
+
+CREATE TABLE IF NOT EXISTS stats_rollup_state (
+    id BIGINT NOT NULL,
+    last_stats_id BIGINT NOT NULL,
+    CONSTRAINT pk_stats_rollup_state PRIMARY KEY (id)
+);
@@ -0,0 +1,33 @@
+ALTER TABLE stats RENAME TO stats_legacy;
+ALTER INDEX IF EXISTS pk_stats RENAME TO pk_stats_legacy;
+DROP INDEX IF EXISTS ix_stats_timestamp;
+ALTER TABLE stats_legacy ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE TABLE stats (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    app VARCHAR(255) NOT NULL,
+    uri VARCHAR(255) NOT NULL,
+    ip VARCHAR(255) NOT NULL,
+    timestamp TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT pk_stats PRIMARY KEY (id, timestamp)
+) PARTITION BY RANGE (timestamp);
+
+CREATE INDEX ix_stats_timestamp_uri ON stats (timestamp, uri);
+CREATE INDEX ix_stats_uri_timestamp ON stats (uri, timestamp);
+
+CREATE TABLE stats_default PARTITION OF stats DEFAULT;
+
+DO $$
+DECLARE
+    legacy_to TIMESTAMP;
+BEGIN
+    PERFORM setval(pg_get_serial_sequence('stats', 'id'),
+                   (SELECT COALESCE(MAX(id), 0) + 1 FROM stats_legacy), false);
+    SELECT date_trunc('day', MAX(timestamp)) + INTERVAL '1 day' INTO legacy_to FROM stats_legacy;
+    IF legacy_to IS NULL THEN
+        DROP TABLE stats_legacy;
+    ELSE
+        EXECUTE format('ALTER TABLE stats ATTACH PARTITION stats_legacy FOR VALUES FROM (MINVALUE) TO (%L)',
+                       legacy_to);
+    END IF;
+END $$;
@@ -0,0 +1,2 @@
+ALTER TABLE stats_rollup_state ADD COLUMN IF NOT EXISTS pending_stats_id BIGINT;
+ALTER TABLE stats_rollup_state ADD COLUMN IF NOT EXISTS pending_since TIMESTAMP WITHOUT TIME ZONE;
@@ -8,6 +8,8 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.dto.EndpointHit;
+import ru.practicum.dto.EndpointHitBinaryFormat;
+import ru.practicum.dto.EndpointHitEncoder;
 import ru.practicum.dto.ViewStats;
 import ru.practicum.stats.service.StatsService;
 
@@ -15,9 +17,12 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.anyBoolean;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -50,13 +55,90 @@ class StatsControllerTest {
         verify(statsService).addHit(any());
     }
 
+    @Test
+    void addHits_shouldAcceptJsonArray() throws Exception {
+        List<EndpointHit> hits = List.of(
+                new EndpointHit(null, "app", "/uri/1", "192.168.1.1", LocalDateTime.now()),
+                new EndpointHit(null, "app", "/uri/2", "192.168.1.2", LocalDateTime.now()));
+
+        mockMvc.perform(post("/hits")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(hits)))
+                .andExpect(status().isCreated());
+
+        verify(statsService).addHits(argThat(list -> list.size() == 2));
+    }
+
+    @Test
+    void addHits_shouldAcceptNdjsonStream() throws Exception {
+        EndpointHit hit1 = new EndpointHit(null, "app", "/uri/1", "192.168.1.1", LocalDateTime.now());
+        EndpointHit hit2 = new EndpointHit(null, "app", "/uri/2", "192.168.1.2", LocalDateTime.now());
+        String body = objectMapper.writeValueAsString(hit1) + "\n" + objectMapper.writeValueAsString(hit2) + "\n";
+
+        mockMvc.perform(post("/hits")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isCreated());
+
+        verify(statsService).addHits(argThat(list -> list.size() == 2
+                && "/uri/2".equals(list.get(1).getUri())));
+    }
+
+    @Test
+    void addHits_shouldReportStoredHitsWhenNdjsonLineIsMalformed() throws Exception {
+        EndpointHit hit1 = new EndpointHit(null, "app", "/uri/1", "192.168.1.1", LocalDateTime.now());
+        EndpointHit hit2 = new EndpointHit(null, "app", "/uri/2", "192.168.1.2", LocalDateTime.now());
+        String body = objectMapper.writeValueAsString(hit1) + "\n" + objectMapper.writeValueAsString(hit2) +
+                "\n{\"app\": \"app\", \"uri\": \n";
+
+        mockMvc.perform(post("/hits")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(startsWith("Malformed hit 3, the first 2 hits were stored")));
+
+        verify(statsService).addHits(argThat(list -> list.size() == 2));
+    }
+
+    @Test
+    void addHits_shouldAcceptBinaryBatch() throws Exception {
+        List<EndpointHit> hits = List.of(
+                new EndpointHit(null, "app", "/uri/1", "192.168.1.1", LocalDateTime.of(2025, 3, 10, 12, 0)),
+                new EndpointHit(null, "app", "/uri/2", "0:0:0:0:0:0:0:1", LocalDateTime.of(2025, 3, 10, 12, 1)));
+
+        mockMvc.perform(post("/hits")
+                        .contentType(EndpointHitBinaryFormat.CONTENT_TYPE)
+                        .content(new EndpointHitEncoder().encode(hits)))
+                .andExpect(status().isCreated());
+
+        verify(statsService).addHits(hits);
+    }
+
+    @Test
+    void addHits_shouldRejectMalformedBinaryBatch() throws Exception {
+        mockMvc.perform(post("/hits")
+                        .contentType(EndpointHitBinaryFormat.CONTENT_TYPE)
+                        .content(new byte[] {'E', 'H', 1, 5}))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(statsService);
+    }
+
+    @Test
+    void addHits_shouldReturn415ForUnknownContentType() throws Exception {
+        mockMvc.perform(post("/hits")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(new byte[] {1, 2, 3}))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+
     @Test
     void getStats_shouldReturn200() throws Exception {
         LocalDateTime start = LocalDateTime.now().minusDays(1);
         LocalDateTime end = LocalDateTime.now();
         ViewStats viewStats = new ViewStats("app", "/uri", 10L);
 
-        when(statsService.getStats(any(), any(), any(), anyBoolean()))
+        when(statsService.getStats(any(), any(), any(), anyBoolean(), anyBoolean()))
                 .thenReturn(List.of(viewStats));
 
         mockMvc.perform(get("/stats")
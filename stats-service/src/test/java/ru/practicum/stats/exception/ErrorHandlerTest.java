@@ -5,6 +5,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -52,6 +53,19 @@ class ErrorHandlerTest {
         assertDoesNotThrow(() -> LocalDateTime.parse(response.getTimestamp(), FORMATTER));
     }
 
+    @Test
+    void handleUnsupportedMediaType_shouldReturnCorrectErrorResponse() {
+        HttpMediaTypeNotSupportedException exception = new HttpMediaTypeNotSupportedException("Unsupported");
+
+        ErrorResponse response = errorHandler.handleUnsupportedMediaType(exception);
+
+        assertNotNull(response);
+        assertEquals("UNSUPPORTED_MEDIA_TYPE", response.getError());
+        assertEquals("Request body format is not supported.", response.getReason());
+        assertEquals(HttpStatus.UNSUPPORTED_MEDIA_TYPE.name(), response.getStatus());
+        assertDoesNotThrow(() -> LocalDateTime.parse(response.getTimestamp(), FORMATTER));
+    }
+
     @Test
     void handleIllegalArgumentException_shouldHandleNullMessage() {
         IllegalArgumentException exception = new IllegalArgumentException();
@@ -0,0 +1,112 @@
+package ru.practicum.stats.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.stats.model.Stats;
+import ru.practicum.stats.model.StatsPartition;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {"spring.flyway.enabled=true", "spring.jpa.hibernate.ddl-auto=validate"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class StatsPartitionRepositoryTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 1, 1);
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    @Autowired
+    private StatsRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Test
+    void createPartition_shouldRouteHitsOfThatDay() {
+        repository.createPartition(DAY);
+        repository.insertAll(List.of(hit("/events/1", DAY.atTime(10, 0)), hit("/events/1", DAY.atTime(23, 59))));
+
+        assertEquals(List.of(new StatsPartition("stats_p20250101", DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay())),
+                repository.findPartitions());
+        assertEquals(2, count("stats_p20250101"));
+        assertEquals(0, count("stats_default"));
+    }
+
+    @Test
+    void createPartition_shouldMoveRowsOutOfDefaultPartition() {
+        repository.insertAll(List.of(hit("/events/1", DAY.atTime(10, 0)),
+                hit("/events/1", DAY.plusDays(1).atTime(1, 0))));
+
+        repository.createPartition(DAY);
+
+        assertEquals(1, count("stats_p20250101"));
+        assertEquals(1, count("stats_default"));
+        assertEquals(2L, repository.getStats(DAY.atStartOfDay(), DAY.plusDays(2).atStartOfDay(), List.of("/events/1"))
+                .get(0).getHits());
+    }
+
+    @Test
+    void isRolledUp_shouldFollowRollupWatermark() {
+        repository.createPartition(DAY);
+        repository.insertAll(List.of(hit("/events/1", DAY.atTime(10, 0))));
+
+        assertFalse(repository.isRolledUp("stats_p20250101"));
+        repository.rollUp(1000, 12, Duration.ZERO);
+        assertTrue(repository.isRolledUp("stats_p20250101"));
+
+        repository.dropPartition("stats_p20250101");
+
+        assertEquals(List.of(), repository.findPartitions());
+        assertEquals(1L, repository.getRolledUpStats(DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay(), null)
+                .get(0).getHits());
+    }
+
+    @Test
+    void statsQuery_shouldPruneToOnePartitionAndUseIndex() {
+        repository.createPartition(DAY);
+        repository.createPartition(DAY.plusDays(1));
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN SELECT app, uri, COUNT(ip) FROM stats " +
+                "WHERE timestamp BETWEEN '2025-01-01 00:00:00' AND '2025-01-01 12:00:00' " +
+                "AND uri IN ('/events/1') GROUP BY app, uri", String.class));
+
+        assertTrue(plan.contains("stats_p20250101"), plan);
+        assertFalse(plan.contains("stats_p20250102"), plan);
+        assertFalse(plan.contains("stats_default"), plan);
+        assertTrue(plan.contains("stats_p20250101_uri_timestamp_idx")
+                || plan.contains("stats_p20250101_timestamp_uri_idx"), plan);
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+
+    private static Stats hit(String uri, LocalDateTime timestamp) {
+        return Stats.builder().app("ewm-main-service").uri(uri).ip("10.0.0.1").timestamp(timestamp).build();
+    }
+}
@@ -5,8 +5,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.test.context.jdbc.Sql;
 import ru.practicum.dto.ViewStats;
+import ru.practicum.stats.model.Stats;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -15,6 +18,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 @Sql(scripts = "classpath:test-data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
 class StatsRepositoryTest {
 
+    private static final int PRECISION = 12;
+
     @Autowired
     private StatsRepository repository;
 
@@ -29,6 +34,23 @@ class StatsRepositoryTest {
         assertEquals(2L, result.get(0).getHits());
     }
 
+    @Test
+    void insertAll_shouldPersistAllHits() {
+        LocalDateTime timestamp = LocalDateTime.of(2025, 2, 1, 10, 0);
+        List<Stats> hits = List.of(
+                Stats.builder().app("ewm-main-service").uri("/events/3").ip("10.0.0.1").timestamp(timestamp).build(),
+                Stats.builder().app("ewm-main-service").uri("/events/3").ip("10.0.0.2").timestamp(timestamp).build(),
+                Stats.builder().app("ewm-main-service").uri("/events/4").ip("10.0.0.1").timestamp(timestamp).build());
+
+        repository.insertAll(hits);
+
+        List<ViewStats> result = repository.getStats(timestamp.minusHours(1), timestamp.plusHours(1), null);
+
+        assertEquals(2, result.size());
+        assertEquals("/events/3", result.get(0).getUri());
+        assertEquals(2L, result.get(0).getHits());
+    }
+
     @Test
     void getUniqueStats_shouldReturnUniqueCount() {
         LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
@@ -39,4 +61,88 @@ class StatsRepositoryTest {
         assertEquals(1, result.size());
         assertEquals(1L, result.get(0).getHits());
     }
+
+    @Test
+    void getRolledUpStats_shouldMatchRawStatsForWholeDay() {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2025, 1, 2, 0, 0);
+
+        assertEquals(3, repository.rollUp(1000, PRECISION, Duration.ZERO));
+
+        List<ViewStats> result = repository.getRolledUpStats(start, end, null);
+
+        assertEquals(repository.getStats(start, end, null), result);
+        assertEquals(2L, result.get(0).getHits());
+        assertEquals(1L, result.get(1).getHits());
+    }
+
+    @Test
+    void getRolledUpStats_shouldUseRawRowsForPartialEdges() {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 10, 0, 30);
+        LocalDateTime end = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+        repository.rollUp(1000, PRECISION, Duration.ZERO);
+
+        List<ViewStats> result = repository.getRolledUpStats(start, end, null);
+
+        assertEquals(2, result.size());
+        assertEquals(1L, result.get(0).getHits());
+        assertEquals(1L, result.get(1).getHits());
+    }
+
+    @Test
+    void getRolledUpStats_shouldAccumulateChunksAndCountPendingHits() {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2025, 1, 1, 23, 59, 59);
+
+        assertEquals(2, repository.rollUp(2, PRECISION, Duration.ZERO));
+        assertEquals(1, repository.rollUp(2, PRECISION, Duration.ZERO));
+        assertEquals(0, repository.rollUp(2, PRECISION, Duration.ZERO));
+        repository.insertAll(List.of(Stats.builder().app("ewm-main-service").uri("/events/1").ip("10.0.0.1")
+                .timestamp(LocalDateTime.of(2025, 1, 1, 11, 30)).build()));
+
+        List<ViewStats> result = repository.getRolledUpStats(start, end, List.of("/events/1"));
+
+        assertEquals(1, result.size());
+        assertEquals(3L, result.get(0).getHits());
+        assertEquals(2L, repository.getApproximateUniqueStats(start, end, List.of("/events/1"), PRECISION)
+                .get(0).getHits());
+    }
+
+    @Test
+    void rollUp_shouldWaitForCommitLagBeforeAdvancingWatermark() {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2025, 1, 2, 0, 0);
+
+        assertEquals(0, repository.rollUp(1000, PRECISION, Duration.ofHours(1)));
+        repository.insertAll(List.of(Stats.builder().app("ewm-main-service").uri("/events/1").ip("10.0.0.3")
+                .timestamp(LocalDateTime.of(2025, 1, 1, 11, 30)).build()));
+        assertEquals(0, repository.rollUp(1000, PRECISION, Duration.ofHours(1)));
+
+        assertEquals(3L, repository.getRolledUpStats(start, end, List.of("/events/1")).get(0).getHits());
+        assertEquals(3, repository.rollUp(1000, PRECISION, Duration.ZERO));
+        assertEquals(1, repository.rollUp(1000, PRECISION, Duration.ZERO));
+        assertEquals(3L, repository.getRolledUpStats(start, end, List.of("/events/1")).get(0).getHits());
+    }
+
+    @Test
+    void getApproximateUniqueStats_shouldMergeStoredSketchesWithRawEdges() {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2025, 1, 3, 0, 30);
+        List<Stats> hits = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            hits.add(Stats.builder().app("ewm-main-service").uri("/events/5").ip("10.0." + (i % 150) + ".1")
+                    .timestamp(LocalDateTime.of(2025, 1, 2, i % 24, 0)).build());
+        }
+        hits.add(Stats.builder().app("ewm-main-service").uri("/events/5").ip("10.1.0.1")
+                .timestamp(LocalDateTime.of(2025, 1, 3, 0, 10)).build());
+        repository.insertAll(hits);
+        repository.rollUp(1000, PRECISION, Duration.ZERO);
+
+        List<ViewStats> result = repository.getApproximateUniqueStats(start, end, List.of("/events/5", "/events/1"),
+                PRECISION);
+
+        assertEquals(repository.getUniqueStats(start, end, List.of("/events/5", "/events/1")), result);
+        assertEquals(151L, result.get(0).getHits());
+    }
 }
@@ -0,0 +1,86 @@
+package ru.practicum.stats.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.stats.model.StatsPartition;
+import ru.practicum.stats.repository.StatsRepository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StatsPartitionServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 10);
+
+    @Mock
+    private StatsRepository repository;
+
+    private StatsPartitionService service;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2025-03-10T12:00:00Z"), ZoneOffset.UTC);
+        service = new StatsPartitionService(repository, 2, Duration.ofDays(30), clock);
+    }
+
+    @Test
+    void maintainPartitions_shouldCreateMissingDaysAhead() {
+        when(repository.findPartitions()).thenReturn(List.of(day(TODAY)));
+
+        service.maintainPartitions();
+
+        verify(repository, never()).createPartition(TODAY);
+        verify(repository).createPartition(TODAY.plusDays(1));
+        verify(repository).createPartition(TODAY.plusDays(2));
+        verify(repository, never()).createPartition(TODAY.plusDays(3));
+    }
+
+    @Test
+    void maintainPartitions_shouldSkipDaysCoveredByLegacyPartition() {
+        when(repository.findPartitions()).thenReturn(List.of(
+                new StatsPartition("stats_legacy", null, TODAY.plusDays(3).atStartOfDay())));
+
+        service.maintainPartitions();
+
+        verify(repository, never()).createPartition(any());
+        verify(repository, never()).dropPartition(anyString());
+    }
+
+    @Test
+    void maintainPartitions_shouldDropOnlyExpiredRolledUpPartitions() {
+        StatsPartition expired = day(TODAY.minusDays(40));
+        StatsPartition pending = day(TODAY.minusDays(35));
+        StatsPartition recent = day(TODAY.minusDays(5));
+        when(repository.findPartitions()).thenReturn(List.of(expired, pending, recent,
+                day(TODAY), day(TODAY.plusDays(1)), day(TODAY.plusDays(2))));
+        when(repository.isRolledUp(expired.name())).thenReturn(true);
+        when(repository.isRolledUp(pending.name())).thenReturn(false);
+
+        service.maintainPartitions();
+
+        verify(repository).dropPartition(expired.name());
+        verify(repository, never()).dropPartition(pending.name());
+        verify(repository, never()).dropPartition(recent.name());
+        verify(repository, never()).isRolledUp(recent.name());
+    }
+
+    private static StatsPartition day(LocalDate day) {
+        LocalDateTime from = day.atStartOfDay();
+        return new StatsPartition("stats_p" + day.toString().replace("-", ""), from, from.plusDays(1));
+    }
+}
@@ -15,6 +15,9 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -42,15 +45,37 @@ class StatsServiceImplTest {
         verify(repository).save(stats);
     }
 
+    @Test
+    void addHits_shouldInsertAllInOneBatch() {
+        EndpointHit hit1 = new EndpointHit(null, "app", "/uri/1", "192.168.1.1", LocalDateTime.now());
+        EndpointHit hit2 = new EndpointHit(null, "app", "/uri/2", "192.168.1.2", LocalDateTime.now());
+        Stats stats1 = new Stats();
+        Stats stats2 = new Stats();
+
+        when(mapper.toStats(hit1)).thenReturn(stats1);
+        when(mapper.toStats(hit2)).thenReturn(stats2);
+
+        service.addHits(List.of(hit1, hit2));
+
+        verify(repository).insertAll(List.of(stats1, stats2));
+    }
+
+    @Test
+    void rollUpStats_shouldRollUpPendingHits() {
+        service.rollUpStats();
+
+        verify(repository).rollUp(anyInt(), anyInt(), any());
+    }
+
     @Test
     void getStats_whenUniqueFalse_shouldCallCorrectMethod() {
         LocalDateTime start = LocalDateTime.now().minusDays(1);
         LocalDateTime end = LocalDateTime.now();
         List<ViewStats> expected = List.of(new ViewStats("app", "/uri", 10L));
 
-        when(repository.getStats(start, end, null)).thenReturn(expected);
+        when(repository.getRolledUpStats(start, end, null)).thenReturn(expected);
 
-        List<ViewStats> result = service.getStats(start, end, null, false);
+        List<ViewStats> result = service.getStats(start, end, null, false, false);
 
         assertEquals(expected, result);
     }
@@ -63,8 +88,21 @@ class StatsServiceImplTest {
 
         when(repository.getUniqueStats(start, end, null)).thenReturn(expected);
 
-        List<ViewStats> result = service.getStats(start, end, null, true);
+        List<ViewStats> result = service.getStats(start, end, null, true, false);
+
+        assertEquals(expected, result);
+    }
+
+    @Test
+    void getStats_whenUniqueAndApproximate_shouldUseSketches() {
+        LocalDateTime start = LocalDateTime.now().minusDays(1);
+        LocalDateTime end = LocalDateTime.now();
+        List<ViewStats> expected = List.of(new ViewStats("app", "/uri", 5L));
+
+        when(repository.getApproximateUniqueStats(eq(start), eq(end), eq(null), anyInt())).thenReturn(expected);
+
+        List<ViewStats> result = service.getStats(start, end, null, true, true);
 
         assertEquals(expected, result);
     }
-}
\ No newline at end of file
+}
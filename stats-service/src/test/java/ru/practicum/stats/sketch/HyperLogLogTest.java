@@ -0,0 +1,99 @@
+package ru.practicum.stats.sketch;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HyperLogLogTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "10, 100", "10, 10000", "10, 200000",
+            "12, 100", "12, 10000", "12, 200000",
+            "14, 100", "14, 10000", "14, 200000"
+    })
+    void estimate_shouldStayWithinErrorBound(int precision, int cardinality) {
+        HyperLogLog sketch = new HyperLogLog(precision);
+        for (int i = 0; i < cardinality; i++) {
+            sketch.add(ip(i));
+            sketch.add(ip(i));
+        }
+
+        assertWithinBound(precision, cardinality, sketch.estimate());
+    }
+
+    @Test
+    void estimate_whenEmpty_shouldReturnZero() {
+        assertEquals(0L, new HyperLogLog(12).estimate());
+    }
+
+    @Test
+    void merge_shouldEstimateUnionOfOverlappingSets() {
+        HyperLogLog first = new HyperLogLog(12);
+        HyperLogLog second = new HyperLogLog(12);
+        for (int i = 0; i < 30000; i++) {
+            first.add(ip(i));
+        }
+        for (int i = 20000; i < 50000; i++) {
+            second.add(ip(i));
+        }
+
+        assertWithinBound(12, 50000, first.merge(second).estimate());
+    }
+
+    @Test
+    void merge_whenPrecisionsDiffer_shouldFoldToLowerPrecision() {
+        HyperLogLog coarse = new HyperLogLog(10);
+        HyperLogLog fine = new HyperLogLog(14);
+        for (int i = 0; i < 20000; i++) {
+            coarse.add(ip(i));
+            fine.add(ip(i + 20000));
+        }
+
+        HyperLogLog merged = fine.merge(coarse);
+
+        assertEquals(10, merged.getPrecision());
+        assertWithinBound(10, 40000, merged.estimate());
+    }
+
+    @Test
+    void toBytes_shouldRoundTripSparseAndDenseSketches() {
+        HyperLogLog sparse = new HyperLogLog(12);
+        HyperLogLog dense = new HyperLogLog(12);
+        for (int i = 0; i < 10; i++) {
+            sparse.add(ip(i));
+        }
+        for (int i = 0; i < 100000; i++) {
+            dense.add(ip(i));
+        }
+
+        byte[] sparseBytes = sparse.toBytes();
+        byte[] denseBytes = dense.toBytes();
+
+        assertTrue(sparseBytes.length < 64);
+        assertEquals(2 + 4096, denseBytes.length);
+        assertEquals(sparse.estimate(), HyperLogLog.fromBytes(sparseBytes).estimate());
+        assertEquals(dense.estimate(), HyperLogLog.fromBytes(denseBytes).estimate());
+    }
+
+    @Test
+    void constructor_whenPrecisionOutOfRange_shouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(3));
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(17));
+    }
+
+    private static void assertWithinBound(int precision, long exact, long estimate) {
+        double standardError = 1.04 / Math.sqrt(1 << precision);
+        double error = Math.abs(estimate - exact) / (double) exact;
+        assertTrue(error <= 4 * standardError,
+                "estimate " + estimate + " for " + exact + " is off by " + error);
+    }
+
+    private static String ip(int i) {
+        return (i >>> 24 & 0xff) + "." + (i >>> 16 & 0xff) + "." + (i >>> 8 & 0xff) + "." + (i & 0xff);
+    }
+}